@@ -0,0 +1,92 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The jmh benchmark class for the throughput of the {@link UuidV7Generator} and the
+ * {@link UlidGenerator} with and without allocation of the ids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidGeneratorBenchmark
+{
+
+	/** The reused array for the bytes of the ids. */
+	private final byte[] bytes = new byte[16];
+
+	/** The reused array for the textual form of the ids. */
+	private final char[] chars = new char[UuidV7Generator.STRING_LENGTH];
+
+	@Benchmark
+	public String ulidAsString()
+	{
+		return UlidGenerator.getInstance().getNextIdAsString();
+	}
+
+	@Benchmark
+	public char[] ulidIntoChars()
+	{
+		UlidGenerator.getInstance().getNextId(chars, 0);
+		return chars;
+	}
+
+	@Benchmark
+	public UUID uuidV7()
+	{
+		return UuidV7Generator.getInstance().getNextId();
+	}
+
+	@Benchmark
+	public byte[] uuidV7IntoBytes()
+	{
+		UuidV7Generator.getInstance().getNextId(bytes, 0);
+		return bytes;
+	}
+
+	@Benchmark
+	public char[] uuidV7IntoChars()
+	{
+		UuidV7Generator.getInstance().getNextId(chars, 0);
+		return chars;
+	}
+
+}
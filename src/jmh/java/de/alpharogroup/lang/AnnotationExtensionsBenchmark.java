@@ -0,0 +1,145 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The jmh benchmark class for the cached and the uncached annotation lookup of the class
+ * {@link AnnotationExtensions} on a deep class hierarchy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationExtensionsBenchmark
+{
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	public @interface Marker
+	{
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	public @interface Missing
+	{
+	}
+
+	@Marker
+	public interface Root
+	{
+	}
+
+	public interface Level1 extends Root
+	{
+	}
+
+	public interface Level2 extends Level1
+	{
+	}
+
+	public static class Base implements Level2
+	{
+	}
+
+	public static class Sub1 extends Base
+	{
+	}
+
+	public static class Sub2 extends Sub1
+	{
+	}
+
+	public static class Sub3 extends Sub2
+	{
+	}
+
+	public static class Sub4 extends Sub3
+	{
+	}
+
+	public static class Sub5 extends Sub4
+	{
+	}
+
+	public static class Sub6 extends Sub5
+	{
+	}
+
+	public static class Sub7 extends Sub6
+	{
+	}
+
+	public static class Sub8 extends Sub7
+	{
+	}
+
+	public static class Leaf extends Sub8
+	{
+	}
+
+	@Benchmark
+	public Marker cachedHit()
+	{
+		return AnnotationExtensions.getAnnotation(Leaf.class, Marker.class);
+	}
+
+	@Benchmark
+	public Missing cachedMiss()
+	{
+		return AnnotationExtensions.getAnnotation(Leaf.class, Missing.class);
+	}
+
+	@Benchmark
+	public Marker uncachedHit()
+	{
+		return AnnotationExtensions.findAnnotation(Leaf.class, Marker.class);
+	}
+
+	@Benchmark
+	public Missing uncachedMiss()
+	{
+		return AnnotationExtensions.findAnnotation(Leaf.class, Missing.class);
+	}
+
+}
@@ -0,0 +1,249 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.alpharogroup.lang.scan.ScanIndex;
+
+/**
+ * The jmh benchmark class for the method
+ * {@link ScanPackageExtensions#scanClassNames(String, boolean, boolean, List, ScanIndex)} over a
+ * synthetic directory or jar file with the given count of generated class files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScanPackageExtensionsBenchmark
+{
+
+	/** The package name of the generated classes. */
+	private static final String PACKAGE_NAME = "de.alpharogroup.lang.synthetic";
+
+	/** The count of generated classes in every subpackage. */
+	private static final int CLASSES_PER_PACKAGE = 500;
+
+	/** The count of generated classes. */
+	@Param({ "1000", "10000", "100000" })
+	public int classCount;
+
+	/** The layout of the classpath root, a directory or a jar file. */
+	@Param({ "directory", "jar" })
+	public String layout;
+
+	/** The class loaders with the generated classpath root. */
+	private List<ClassLoader> classLoaders;
+
+	/** The scan index that is warmed in the setup. */
+	private ScanIndex scanIndex;
+
+	/** The temporary directory with the generated classpath root and the scan index. */
+	private Path tempDirectory;
+
+	/**
+	 * Creates a minimal class file of a public class with the given internal name that extends
+	 * {@link Object} and has no members.
+	 *
+	 * @param internalName
+	 *            the internal name of the class
+	 * @return the bytes of the class file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static byte[] newClassFile(final String internalName) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			out.writeShort(52);
+			out.writeShort(5);
+			out.writeByte(1);
+			out.writeUTF(internalName);
+			out.writeByte(7);
+			out.writeShort(1);
+			out.writeByte(1);
+			out.writeUTF("java/lang/Object");
+			out.writeByte(7);
+			out.writeShort(3);
+			out.writeShort(0x0021);
+			out.writeShort(2);
+			out.writeShort(4);
+			out.writeShort(0);
+			out.writeShort(0);
+			out.writeShort(0);
+			out.writeShort(0);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Gets the relative path of the generated class with the given index.
+	 *
+	 * @param index
+	 *            the index of the class
+	 * @return the relative path without the class file extension
+	 */
+	private static String getInternalName(final int index)
+	{
+		return PACKAGE_NAME.replace('.', '/') + "/p" + index / CLASSES_PER_PACKAGE + "/Synthetic"
+			+ index;
+	}
+
+	/**
+	 * Generates the classpath root and warms the scan index.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		tempDirectory = Files.createTempDirectory("scan-benchmark");
+		final Path root;
+		if ("jar".equals(layout))
+		{
+			root = tempDirectory.resolve("synthetic.jar");
+			try (OutputStream fileOut = Files.newOutputStream(root);
+				ZipOutputStream zipOut = new ZipOutputStream(fileOut))
+			{
+				String directory = "";
+				for (final String name : PACKAGE_NAME.split("\\."))
+				{
+					directory += name + "/";
+					zipOut.putNextEntry(new ZipEntry(directory));
+					zipOut.closeEntry();
+				}
+				for (int i = 0; i < classCount; i++)
+				{
+					final String internalName = getInternalName(i);
+					if (i % CLASSES_PER_PACKAGE == 0)
+					{
+						zipOut.putNextEntry(new ZipEntry(
+							internalName.substring(0, internalName.lastIndexOf('/') + 1)));
+						zipOut.closeEntry();
+					}
+					zipOut.putNextEntry(new ZipEntry(internalName + ".class"));
+					zipOut.write(newClassFile(internalName));
+					zipOut.closeEntry();
+				}
+			}
+		}
+		else
+		{
+			root = tempDirectory.resolve("classes");
+			for (int i = 0; i < classCount; i++)
+			{
+				final String internalName = getInternalName(i);
+				final Path classFile = root.resolve(internalName + ".class");
+				Files.createDirectories(classFile.getParent());
+				Files.write(classFile, newClassFile(internalName));
+			}
+		}
+		classLoaders = Collections.singletonList(
+			new URLClassLoader(new URL[] { root.toUri().toURL() }, null));
+		scanIndex = new ScanIndex(tempDirectory.resolve(ScanIndex.DEFAULT_FILE_NAME).toFile());
+		ScanPackageExtensions.scanClassNames(PACKAGE_NAME, true, true, classLoaders, scanIndex);
+	}
+
+	/**
+	 * Closes the class loader and deletes the generated files.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		((URLClassLoader)classLoaders.get(0)).close();
+		Files.walkFileTree(tempDirectory, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult postVisitDirectory(final Path dir, final IOException exc)
+				throws IOException
+			{
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs)
+				throws IOException
+			{
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	@Benchmark
+	public Set<String> scanClassNames() throws IOException
+	{
+		return ScanPackageExtensions.scanClassNames(PACKAGE_NAME, true, true, classLoaders,
+			null);
+	}
+
+	@Benchmark
+	public Set<String> scanClassNamesIndexed() throws IOException
+	{
+		return ScanPackageExtensions.scanClassNames(PACKAGE_NAME, true, true, classLoaders,
+			scanIndex);
+	}
+
+}
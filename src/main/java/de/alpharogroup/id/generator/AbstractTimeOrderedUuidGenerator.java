@@ -0,0 +1,169 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The class {@link AbstractTimeOrderedUuidGenerator} is the base class for the generators of 128
+ * bit ids that start with a 48 bit timestamp in milliseconds followed by a counter per
+ * millisecond. The timestamp and the counter of the last id are held together in one
+ * {@link AtomicLong}, so the ids of one generator are strictly increasing and minted with a single
+ * compare and set without locks. If the counter of a millisecond is exhausted or the clock goes
+ * backwards the following milliseconds are borrowed. The random bits come from the
+ * {@link ThreadLocalRandom} that does not block, so the ids are unique but not unpredictable and
+ * must not be used as security tokens.
+ */
+abstract class AbstractTimeOrderedUuidGenerator implements UuidGenerator
+{
+
+	/** The clock that returns the current time in milliseconds. */
+	private final LongSupplier clock;
+
+	/** The count of bits of the counter per millisecond. */
+	private final int counterBits;
+
+	/** The timestamp and the counter of the last id. */
+	private final AtomicLong lastTimeCounter = new AtomicLong(-1);
+
+	/**
+	 * Instantiates a new {@link AbstractTimeOrderedUuidGenerator} with the given clock and count of
+	 * counter bits.
+	 *
+	 * @param clock
+	 *            the clock that returns the current time in milliseconds
+	 * @param counterBits
+	 *            the count of bits of the counter per millisecond
+	 */
+	AbstractTimeOrderedUuidGenerator(final LongSupplier clock, final int counterBits)
+	{
+		this.clock = clock;
+		this.counterBits = counterBits;
+	}
+
+	/**
+	 * Gets the most significant bits of the id with the given timestamp and counter.
+	 *
+	 * @param timestamp
+	 *            the timestamp in milliseconds
+	 * @param counter
+	 *            the counter
+	 * @return the most significant bits
+	 */
+	abstract long getMostSignificantBits(long timestamp, long counter);
+
+	/**
+	 * Gets the least significant bits of the id from the given random value.
+	 *
+	 * @param random
+	 *            the random value
+	 * @return the least significant bits
+	 */
+	abstract long getLeastSignificantBits(long random);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public UUID getNextId()
+	{
+		final long timeCounter = nextTimeCounter();
+		return new UUID(
+			getMostSignificantBits(timeCounter >>> counterBits,
+				timeCounter & ((1L << counterBits) - 1)),
+			getLeastSignificantBits(ThreadLocalRandom.current().nextLong()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void getNextId(final byte[] dst, final int off)
+	{
+		if (off < 0 || off > dst.length - 16)
+		{
+			throw new IndexOutOfBoundsException("The offset " + off
+				+ " and the length 16 are out of bounds for the length " + dst.length);
+		}
+		final long timeCounter = nextTimeCounter();
+		final long mostSignificantBits = getMostSignificantBits(timeCounter >>> counterBits,
+			timeCounter & ((1L << counterBits) - 1));
+		final long leastSignificantBits = getLeastSignificantBits(
+			ThreadLocalRandom.current().nextLong());
+		for (int i = 0; i < 8; i++)
+		{
+			dst[off + i] = (byte)(mostSignificantBits >>> (56 - i * 8));
+			dst[off + 8 + i] = (byte)(leastSignificantBits >>> (56 - i * 8));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void getNextId(final char[] dst, final int off)
+	{
+		if (off < 0 || off > dst.length - getStringLength())
+		{
+			throw new IndexOutOfBoundsException("The offset " + off + " and the length "
+				+ getStringLength() + " are out of bounds for the length " + dst.length);
+		}
+		final long timeCounter = nextTimeCounter();
+		toChars(
+			getMostSignificantBits(timeCounter >>> counterBits,
+				timeCounter & ((1L << counterBits) - 1)),
+			getLeastSignificantBits(ThreadLocalRandom.current().nextLong()), dst, off);
+	}
+
+	/**
+	 * Gets the timestamp and the counter of the next id.
+	 *
+	 * @return the timestamp shifted by the counter bits plus the counter
+	 */
+	private long nextTimeCounter()
+	{
+		final long timeCounter = Math.max(clock.getAsLong(), 0) << counterBits;
+		return lastTimeCounter.updateAndGet(last -> Math.max(timeCounter, last + 1));
+	}
+
+	/**
+	 * Writes the textual form of the id with the given bits into the given array.
+	 *
+	 * @param mostSignificantBits
+	 *            the most significant bits
+	 * @param leastSignificantBits
+	 *            the least significant bits
+	 * @param dst
+	 *            the array for the characters
+	 * @param off
+	 *            the offset of the first character in the array
+	 */
+	abstract void toChars(long mostSignificantBits, long leastSignificantBits, char[] dst,
+		int off);
+
+}
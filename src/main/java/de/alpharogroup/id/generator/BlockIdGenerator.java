@@ -0,0 +1,183 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The class {@link BlockIdGenerator} reserves contiguous blocks of ids from a shared counter into
+ * a buffer of the current thread, so only the first id of a block needs an atomic operation on the
+ * shared counter and all other ids are a plain increment of the thread local buffer. The ids of
+ * one thread are strictly increasing, but the ids of different threads interleave and ids of
+ * blocks that are not used up are never handed out.
+ */
+public class BlockIdGenerator implements LongIdGenerator
+{
+
+	/**
+	 * The class {@link Block} holds the next id and the exclusive limit of the block that is
+	 * reserved for a thread.
+	 */
+	private static final class Block
+	{
+
+		/** The exclusive limit of the block. */
+		long limit;
+
+		/** The next id of the block. */
+		long next;
+
+	}
+
+	/** The default count of ids that are reserved at once. */
+	public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+	/** The count of ids that are reserved at once. */
+	private final int blockSize;
+
+	/** The blocks of the threads. */
+	private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+	/** The shared counter with the first id of the next block. */
+	private final AtomicLong counter;
+
+	/**
+	 * Instantiates a new {@link BlockIdGenerator} that starts with the id 0 and reserves blocks of
+	 * the default block size.
+	 */
+	public BlockIdGenerator()
+	{
+		this(0, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link BlockIdGenerator} that starts with the given id and reserves blocks
+	 * of the given size.
+	 *
+	 * @param initialValue
+	 *            the first id
+	 * @param blockSize
+	 *            the count of ids that are reserved at once
+	 */
+	public BlockIdGenerator(final long initialValue, final int blockSize)
+	{
+		if (initialValue < 0)
+		{
+			throw new IllegalArgumentException(
+				"The initial value " + initialValue + " is negative");
+		}
+		if (blockSize < 1)
+		{
+			throw new IllegalArgumentException("The block size " + blockSize + " is not positive");
+		}
+		this.counter = new AtomicLong(initialValue);
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The range is taken from the block of the current thread if it has enough ids left. Otherwise
+	 * the rest of the block is dropped, so the ids of the thread are still strictly increasing, and
+	 * a new block is reserved for the range, or the whole range is reserved from the shared
+	 * counter with a single atomic operation if it is larger than the block size.
+	 *
+	 * @throws IllegalStateException
+	 *             if all positive ids are reserved
+	 */
+	@Override
+	public void fillIds(final long[] dst, final int off, final int len)
+	{
+		IdRanges.checkRange(dst, off, len);
+		final Block block = blocks.get();
+		final long first;
+		if (len <= block.limit - block.next)
+		{
+			first = block.next;
+			block.next += len;
+		}
+		else if (len <= blockSize)
+		{
+			first = reserve(blockSize);
+			block.next = first + len;
+			block.limit = first + blockSize;
+		}
+		else
+		{
+			first = reserve(len);
+			block.next = block.limit;
+		}
+		for (int i = 0; i < len; i++)
+		{
+			dst[off + i] = first + i;
+		}
+	}
+
+	/**
+	 * Gets the count of ids that are reserved at once.
+	 *
+	 * @return the block size
+	 */
+	public int getBlockSize()
+	{
+		return blockSize;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IllegalStateException
+	 *             if all positive ids are reserved
+	 */
+	@Override
+	public long getNextId()
+	{
+		final Block block = blocks.get();
+		if (block.next == block.limit)
+		{
+			block.next = reserve(blockSize);
+			block.limit = block.next + blockSize;
+		}
+		return block.next++;
+	}
+
+	/**
+	 * Reserves the given count of ids from the shared counter.
+	 *
+	 * @param count
+	 *            the count of ids
+	 * @return the first reserved id
+	 */
+	private long reserve(final int count)
+	{
+		final long first = counter.getAndAdd(count);
+		if (first < 0 || first + count < 0)
+		{
+			throw new IllegalStateException("All positive ids are reserved");
+		}
+		return first;
+	}
+
+}
@@ -0,0 +1,197 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.Arrays;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link CrockfordBase32} provides methods for encode and decode values with the base32
+ * alphabet of Douglas Crockford, that excludes the letters I, L, O and U. The decoding is case
+ * insensitive, maps the letters I and L to 1 and the letter O to 0 and ignores hyphens.
+ */
+@UtilityClass
+public final class CrockfordBase32
+{
+
+	/** The alphabet of the encoding. */
+	public static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+	/** The count of characters of an encoded 128 bit value. */
+	public static final int ENCODED_128_BIT_LENGTH = 26;
+
+	/** The characters of the alphabet. */
+	private static final char[] ENCODING = ALPHABET.toCharArray();
+
+	/** The values of the ascii characters or -1 if a character is not part of the alphabet. */
+	private static final byte[] DECODING = new byte[128];
+
+	static
+	{
+		Arrays.fill(DECODING, (byte)-1);
+		for (int i = 0; i < ENCODING.length; i++)
+		{
+			DECODING[ENCODING[i]] = (byte)i;
+			DECODING[Character.toLowerCase(ENCODING[i])] = (byte)i;
+		}
+		DECODING['I'] = 1;
+		DECODING['i'] = 1;
+		DECODING['L'] = 1;
+		DECODING['l'] = 1;
+		DECODING['O'] = 0;
+		DECODING['o'] = 0;
+	}
+
+	/**
+	 * Decodes the given characters to a byte array. Trailing bits that do not fill a whole byte
+	 * are dropped.
+	 *
+	 * @param chars
+	 *            the encoded characters
+	 * @return the decoded bytes
+	 * @throws IllegalArgumentException
+	 *             if the given characters contains a character that is not part of the alphabet
+	 */
+	public static byte[] decode(final CharSequence chars)
+	{
+		final byte[] buffer = new byte[chars.length() * 5 / 8];
+		int length = 0;
+		int bits = 0;
+		int bitCount = 0;
+		for (int i = 0; i < chars.length(); i++)
+		{
+			final char c = chars.charAt(i);
+			if (c == '-')
+			{
+				continue;
+			}
+			bits = (bits << 5) | decode(c);
+			bitCount += 5;
+			if (bitCount >= 8)
+			{
+				bitCount -= 8;
+				buffer[length++] = (byte)(bits >>> bitCount);
+			}
+		}
+		return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+	}
+
+	/**
+	 * Decodes the given character to its value.
+	 *
+	 * @param c
+	 *            the encoded character
+	 * @return the value between 0 and 31
+	 * @throws IllegalArgumentException
+	 *             if the given character is not part of the alphabet
+	 */
+	public static int decode(final char c)
+	{
+		final int value = c < DECODING.length ? DECODING[c] : -1;
+		if (value < 0)
+		{
+			throw new IllegalArgumentException(
+				"The character '" + c + "' is not part of the base32 alphabet");
+		}
+		return value;
+	}
+
+	/**
+	 * Encodes the given bytes. The last character is filled up with zero bits if the bits of the
+	 * given bytes are not a multiple of 5.
+	 *
+	 * @param bytes
+	 *            the bytes
+	 * @return the encoded string
+	 */
+	public static String encode(final byte[] bytes)
+	{
+		final char[] chars = new char[(bytes.length * 8 + 4) / 5];
+		int length = 0;
+		int bits = 0;
+		int bitCount = 0;
+		for (final byte b : bytes)
+		{
+			bits = (bits << 8) | (b & 0xFF);
+			bitCount += 8;
+			while (bitCount >= 5)
+			{
+				bitCount -= 5;
+				chars[length++] = ENCODING[(bits >>> bitCount) & 31];
+			}
+		}
+		if (bitCount > 0)
+		{
+			chars[length] = ENCODING[(bits << (5 - bitCount)) & 31];
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Encodes the 128 bit value of the given most and least significant bits into the given array
+	 * without allocation. The value is encoded in {@value #ENCODED_128_BIT_LENGTH} characters and
+	 * the first character holds the 3 highest bits.
+	 *
+	 * @param mostSignificantBits
+	 *            the most significant bits
+	 * @param leastSignificantBits
+	 *            the least significant bits
+	 * @param dst
+	 *            the array for the encoded characters
+	 * @param off
+	 *            the offset of the first character in the array
+	 * @throws IndexOutOfBoundsException
+	 *             if the characters do not fit in the given array
+	 */
+	public static void encode(final long mostSignificantBits, final long leastSignificantBits,
+		final char[] dst, final int off)
+	{
+		if (off < 0 || off > dst.length - ENCODED_128_BIT_LENGTH)
+		{
+			throw new IndexOutOfBoundsException("The offset " + off + " and the length "
+				+ ENCODED_128_BIT_LENGTH + " are out of bounds for the length " + dst.length);
+		}
+		for (int i = 0; i < ENCODED_128_BIT_LENGTH; i++)
+		{
+			final int shift = 125 - i * 5;
+			final long value;
+			if (shift >= 64)
+			{
+				value = mostSignificantBits >>> (shift - 64);
+			}
+			else if (shift > 59)
+			{
+				value = (mostSignificantBits << (64 - shift)) | (leastSignificantBits >>> shift);
+			}
+			else
+			{
+				value = leastSignificantBits >>> shift;
+			}
+			dst[off + i] = ENCODING[(int)value & 31];
+		}
+	}
+
+}
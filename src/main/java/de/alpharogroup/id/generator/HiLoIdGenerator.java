@@ -0,0 +1,314 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.alpharogroup.config.ConfigurationExtensions;
+
+/**
+ * The class {@link HiLoIdGenerator} hands out ids from blocks that are reserved in a small memory
+ * mapped state file. The state file holds the high watermark, that is the exclusive limit of the
+ * last reserved block, and is forced to the storage device once per block and not once per id. A
+ * new instance resumes above the high watermark of the state file, so ids are never handed out
+ * twice after a restart, even if the system clock was changed. Ids of a block that was not used up
+ * before the restart are skipped. The state file is locked exclusively as long as the generator
+ * is not closed, so it can not be shared by two processes.
+ */
+public class HiLoIdGenerator implements LongIdGenerator, Closeable
+{
+
+	/** The default count of ids that are reserved at once. */
+	public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+	/** The default file name of the state file. */
+	public static final String DEFAULT_FILE_NAME = "hilo-id.bin";
+
+	/** The offset of the high watermark in the state file. */
+	private static final int HIGH_WATERMARK_OFFSET = 8;
+
+	/** The magic number of the state file. */
+	private static final int MAGIC = 0x4A434849;
+
+	/** The size of the state file. */
+	private static final int STATE_SIZE = 16;
+
+	/** The version of the state file format. */
+	private static final int VERSION = 1;
+
+	/**
+	 * Factory method for create a new {@link HiLoIdGenerator} with the default block size that
+	 * stores its state file in the user application directory of the given application name.
+	 *
+	 * @param applicationName
+	 *            the application name
+	 * @return the new {@link HiLoIdGenerator}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static HiLoIdGenerator of(final String applicationName) throws IOException
+	{
+		return new HiLoIdGenerator(new File(ConfigurationExtensions
+			.getUserApplicationConfigurationFilePath(applicationName, DEFAULT_FILE_NAME)),
+			DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Tries to lock the given channel of the given state file exclusively.
+	 *
+	 * @param channel
+	 *            the channel
+	 * @param file
+	 *            the state file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the state file is already locked
+	 */
+	private static void tryLock(final FileChannel channel, final File file)
+		throws IOException
+	{
+		FileLock lock;
+		try
+		{
+			lock = channel.tryLock();
+		}
+		catch (final OverlappingFileLockException e)
+		{
+			lock = null;
+		}
+		if (lock == null)
+		{
+			throw new IOException("The state file " + file + " is locked");
+		}
+	}
+
+	/** The count of ids that are reserved at once. */
+	private final int blockSize;
+
+	/** The channel of the state file. */
+	private final FileChannel channel;
+
+	/** The state file. */
+	private final File file;
+
+	/** The exclusive limit of the reserved ids that is the high watermark of the state file. */
+	private volatile long limit;
+
+	/** The next id. */
+	private final AtomicLong next;
+
+	/** The memory mapped state file. */
+	private final MappedByteBuffer state;
+
+	/**
+	 * Instantiates a new {@link HiLoIdGenerator} with the given state file and block size. If the
+	 * state file already exists the generator resumes above its high watermark.
+	 *
+	 * @param file
+	 *            the state file
+	 * @param blockSize
+	 *            the count of ids that are reserved at once
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred, the state file is corrupt or locked
+	 *             from another generator
+	 */
+	public HiLoIdGenerator(final File file, final int blockSize) throws IOException
+	{
+		if (blockSize < 1)
+		{
+			throw new IllegalArgumentException("The block size " + blockSize + " is not positive");
+		}
+		final File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null)
+		{
+			Files.createDirectories(parent.toPath());
+		}
+		this.file = file;
+		this.blockSize = blockSize;
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+			StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try
+		{
+			tryLock(channel, file);
+			final boolean created = channel.size() == 0;
+			this.state = channel.map(FileChannel.MapMode.READ_WRITE, 0, STATE_SIZE);
+			if (created)
+			{
+				state.putInt(0, MAGIC);
+				state.putInt(4, VERSION);
+				state.putLong(HIGH_WATERMARK_OFFSET, 0);
+				state.force();
+			}
+			else if (state.getInt(0) != MAGIC || state.getInt(4) != VERSION
+				|| state.getLong(HIGH_WATERMARK_OFFSET) < 0)
+			{
+				throw new IOException("The state file " + file + " is corrupt");
+			}
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			channel.close();
+			throw e;
+		}
+		this.limit = state.getLong(HIGH_WATERMARK_OFFSET);
+		this.next = new AtomicLong(limit);
+	}
+
+	/**
+	 * Releases the lock of the state file and closes it. The generator must not be used after it
+	 * is closed.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The whole range is taken from the current block with a single atomic operation and all
+	 * following blocks that the range needs are reserved at once if the range exceeds the high
+	 * watermark.
+	 *
+	 * @throws IllegalStateException
+	 *             if all positive ids are reserved
+	 */
+	@Override
+	public void fillIds(final long[] dst, final int off, final int len)
+	{
+		IdRanges.checkRange(dst, off, len);
+		if (len == 0)
+		{
+			return;
+		}
+		final long first = next.getAndAdd(len);
+		final long last = first + len - 1;
+		if (first < 0 || last < first)
+		{
+			throw new IllegalStateException("All positive ids are reserved");
+		}
+		if (last >= limit)
+		{
+			reserve(last);
+		}
+		for (int i = 0; i < len; i++)
+		{
+			dst[off + i] = first + i;
+		}
+	}
+
+	/**
+	 * Gets the count of ids that are reserved at once.
+	 *
+	 * @return the block size
+	 */
+	public int getBlockSize()
+	{
+		return blockSize;
+	}
+
+	/**
+	 * Gets the state file.
+	 *
+	 * @return the state file
+	 */
+	public File getFile()
+	{
+		return file;
+	}
+
+	/**
+	 * Gets the high watermark, that is the exclusive limit of the ids that are reserved in the
+	 * state file.
+	 *
+	 * @return the high watermark
+	 */
+	public long getHighWatermark()
+	{
+		return limit;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IllegalStateException
+	 *             if all positive ids are reserved
+	 */
+	@Override
+	public long getNextId()
+	{
+		final long id = next.getAndIncrement();
+		if (id >= limit)
+		{
+			reserve(id);
+		}
+		return id;
+	}
+
+	/**
+	 * Reserves the blocks in the state file that are needed for the given id. The new high
+	 * watermark is the next block boundary above the given id, so it is written and forced to the
+	 * storage device only once, regardless how many blocks are reserved.
+	 *
+	 * @param id
+	 *            the id that have to be reserved
+	 */
+	private synchronized void reserve(final long id)
+	{
+		if (id < 0)
+		{
+			throw new IllegalStateException("All positive ids are reserved");
+		}
+		if (id < limit)
+		{
+			return;
+		}
+		final long highWatermark;
+		try
+		{
+			highWatermark = Math.multiplyExact(id / blockSize + 1, (long)blockSize);
+		}
+		catch (final ArithmeticException e)
+		{
+			throw new IllegalStateException("All positive ids are reserved", e);
+		}
+		state.putLong(HIGH_WATERMARK_OFFSET, highWatermark);
+		state.force();
+		limit = highWatermark;
+	}
+
+}
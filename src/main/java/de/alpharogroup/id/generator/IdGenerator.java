@@ -24,6 +24,9 @@
  */
 package de.alpharogroup.id.generator;
 
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
 /**
  * The Interface IdGenerator.
  * @deprecated moved to ent-core repository
@@ -38,4 +41,44 @@ public interface IdGenerator
 	 */
 	int getNextId();
 
+	/**
+	 * Fills the given range of the given array with the next ids. The default implementation calls
+	 * {@link #getNextId()} for every id, implementations should reserve the whole range with a
+	 * single atomic operation.
+	 *
+	 * @param dst
+	 *            the array for the ids
+	 * @param off
+	 *            the offset of the first id in the array
+	 * @param len
+	 *            the count of ids
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is not inside of the given array
+	 */
+	default void fillIds(final long[] dst, final int off, final int len)
+	{
+		IdRanges.checkRange(dst, off, len);
+		for (int i = off; i < off + len; i++)
+		{
+			dst[i] = getNextId();
+		}
+	}
+
+	/**
+	 * Gets the given count of next ids as stream.
+	 *
+	 * @param count
+	 *            the count of ids
+	 * @return the stream of the ids
+	 * @throws IllegalArgumentException
+	 *             if the given count is negative
+	 */
+	default LongStream nextIds(final int count)
+	{
+		IdRanges.checkCount(count);
+		final long[] ids = new long[count];
+		fillIds(ids, 0, count);
+		return Arrays.stream(ids);
+	}
+
 }
@@ -0,0 +1,74 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+/**
+ * The class {@link IdRanges} provides the checks for the batch methods of the id generators.
+ */
+final class IdRanges
+{
+
+	/**
+	 * Checks that the given range is inside of the given array.
+	 *
+	 * @param dst
+	 *            the array
+	 * @param off
+	 *            the offset of the range
+	 * @param len
+	 *            the length of the range
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is not inside of the given array
+	 */
+	static void checkRange(final long[] dst, final int off, final int len)
+	{
+		if (off < 0 || len < 0 || off > dst.length - len)
+		{
+			throw new IndexOutOfBoundsException("The range [" + off + ", " + off + " + " + len
+				+ ") is out of bounds for the length " + dst.length);
+		}
+	}
+
+	/**
+	 * Checks that the given count is not negative.
+	 *
+	 * @param count
+	 *            the count of ids
+	 * @throws IllegalArgumentException
+	 *             if the given count is negative
+	 */
+	static void checkCount(final int count)
+	{
+		if (count < 0)
+		{
+			throw new IllegalArgumentException("The count " + count + " is negative");
+		}
+	}
+
+	private IdRanges()
+	{
+	}
+
+}
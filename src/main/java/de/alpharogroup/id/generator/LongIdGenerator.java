@@ -0,0 +1,84 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * The interface {@link LongIdGenerator} is the 64 bit counterpart of {@link IdGenerator} for
+ * generators that mint ids of the type long.
+ */
+public interface LongIdGenerator
+{
+
+	/**
+	 * Gets the next id.
+	 *
+	 * @return the next id
+	 */
+	long getNextId();
+
+	/**
+	 * Fills the given range of the given array with the next ids. The default implementation calls
+	 * {@link #getNextId()} for every id, implementations should reserve the whole range with a
+	 * single atomic operation.
+	 *
+	 * @param dst
+	 *            the array for the ids
+	 * @param off
+	 *            the offset of the first id in the array
+	 * @param len
+	 *            the count of ids
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is not inside of the given array
+	 */
+	default void fillIds(final long[] dst, final int off, final int len)
+	{
+		IdRanges.checkRange(dst, off, len);
+		for (int i = off; i < off + len; i++)
+		{
+			dst[i] = getNextId();
+		}
+	}
+
+	/**
+	 * Gets the given count of next ids as stream.
+	 *
+	 * @param count
+	 *            the count of ids
+	 * @return the stream of the ids
+	 * @throws IllegalArgumentException
+	 *             if the given count is negative
+	 */
+	default LongStream nextIds(final int count)
+	{
+		IdRanges.checkCount(count);
+		final long[] ids = new long[count];
+		fillIds(ids, 0, count);
+		return Arrays.stream(ids);
+	}
+
+}
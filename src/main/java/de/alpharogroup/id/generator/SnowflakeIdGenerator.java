@@ -0,0 +1,253 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The class {@link SnowflakeIdGenerator} mints unique and time ordered 64 bit ids without any
+ * coordination between the nodes of a cluster. An id is composed from the milliseconds since the
+ * configured epoch, the node id and a sequence per millisecond:
+ *
+ * <pre>
+ * | 0 | timestamp (63 - nodeBits - sequenceBits) | node id (nodeBits) | sequence (sequenceBits) |
+ * </pre>
+ *
+ * The timestamp and the sequence of the last id are held together in one {@link AtomicLong}, so
+ * an id is minted with a single compare and set without locks. If the sequence of a millisecond
+ * is exhausted or the clock goes backwards the generator continues with the following values of
+ * the last id and borrows the next millisecond instead of waiting for the clock, so the ids of one
+ * generator are always strictly increasing.
+ */
+public class SnowflakeIdGenerator implements LongIdGenerator
+{
+
+	/** The default epoch 2020-01-01T00:00:00Z in milliseconds. */
+	public static final long DEFAULT_EPOCH = 1577836800000L;
+
+	/** The default count of bits for the node id, that allows 1024 nodes. */
+	public static final int DEFAULT_NODE_BITS = 10;
+
+	/** The default count of bits for the sequence, that allows 4096 ids per millisecond. */
+	public static final int DEFAULT_SEQUENCE_BITS = 12;
+
+	/** The clock that returns the current time in milliseconds. */
+	private final LongSupplier clock;
+
+	/** The epoch in milliseconds. */
+	private final long epoch;
+
+	/** The timestamp and the sequence of the last id. */
+	private final AtomicLong lastTimeSequence = new AtomicLong(-1);
+
+	/** The maximum timestamp that fits in the timestamp bits. */
+	private final long maxTimestamp;
+
+	/** The count of bits for the node id. */
+	private final int nodeBits;
+
+	/** The node id. */
+	private final long nodeId;
+
+	/** The count of bits for the sequence. */
+	private final int sequenceBits;
+
+	/**
+	 * Instantiates a new {@link SnowflakeIdGenerator} with the given node id and the default epoch
+	 * and layout.
+	 *
+	 * @param nodeId
+	 *            the node id
+	 */
+	public SnowflakeIdGenerator(final long nodeId)
+	{
+		this(DEFAULT_EPOCH, DEFAULT_NODE_BITS, DEFAULT_SEQUENCE_BITS, nodeId);
+	}
+
+	/**
+	 * Instantiates a new {@link SnowflakeIdGenerator} with the given epoch, layout and node id.
+	 *
+	 * @param epoch
+	 *            the epoch in milliseconds that is subtracted from the current time
+	 * @param nodeBits
+	 *            the count of bits for the node id
+	 * @param sequenceBits
+	 *            the count of bits for the sequence per millisecond
+	 * @param nodeId
+	 *            the node id
+	 */
+	public SnowflakeIdGenerator(final long epoch, final int nodeBits, final int sequenceBits,
+		final long nodeId)
+	{
+		this(System::currentTimeMillis, epoch, nodeBits, sequenceBits, nodeId);
+	}
+
+	/**
+	 * Instantiates a new {@link SnowflakeIdGenerator} with the given clock, epoch, layout and node
+	 * id.
+	 *
+	 * @param clock
+	 *            the clock that returns the current time in milliseconds
+	 * @param epoch
+	 *            the epoch in milliseconds that is subtracted from the current time
+	 * @param nodeBits
+	 *            the count of bits for the node id
+	 * @param sequenceBits
+	 *            the count of bits for the sequence per millisecond
+	 * @param nodeId
+	 *            the node id
+	 */
+	SnowflakeIdGenerator(final LongSupplier clock, final long epoch, final int nodeBits,
+		final int sequenceBits, final long nodeId)
+	{
+		if (nodeBits < 0 || sequenceBits < 0 || nodeBits + sequenceBits > 62)
+		{
+			throw new IllegalArgumentException("The node bits " + nodeBits
+				+ " and the sequence bits " + sequenceBits + " leave no bits for the timestamp");
+		}
+		if (nodeId < 0 || nodeId >= 1L << nodeBits)
+		{
+			throw new IllegalArgumentException(
+				"The node id " + nodeId + " does not fit in " + nodeBits + " bits");
+		}
+		if (clock.getAsLong() < epoch)
+		{
+			throw new IllegalArgumentException("The epoch " + epoch + " is in the future");
+		}
+		this.clock = clock;
+		this.epoch = epoch;
+		this.nodeBits = nodeBits;
+		this.sequenceBits = sequenceBits;
+		this.nodeId = nodeId;
+		this.maxTimestamp = (1L << (63 - nodeBits - sequenceBits)) - 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IllegalStateException
+	 *             if the timestamp does not fit anymore in the timestamp bits of the layout
+	 */
+	@Override
+	public long getNextId()
+	{
+		final long timeSequence = currentTimeSequence();
+		return toId(lastTimeSequence.updateAndGet(last -> Math.max(timeSequence, last + 1)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The whole range is reserved with a single compare and set. If the range does not fit in the
+	 * sequence of the current millisecond the following milliseconds are borrowed.
+	 *
+	 * @throws IllegalStateException
+	 *             if the timestamp does not fit anymore in the timestamp bits of the layout
+	 */
+	@Override
+	public void fillIds(final long[] dst, final int off, final int len)
+	{
+		IdRanges.checkRange(dst, off, len);
+		if (len == 0)
+		{
+			return;
+		}
+		final long timeSequence = currentTimeSequence();
+		final long first = lastTimeSequence
+			.updateAndGet(last -> Math.max(timeSequence, last + 1) + len - 1) - len + 1;
+		for (int i = 0; i < len; i++)
+		{
+			dst[off + i] = toId(first + i);
+		}
+	}
+
+	/**
+	 * Gets the current timestamp shifted by the sequence bits.
+	 *
+	 * @return the current timestamp shifted by the sequence bits
+	 */
+	private long currentTimeSequence()
+	{
+		return Math.max(clock.getAsLong() - epoch, 0) << sequenceBits;
+	}
+
+	/**
+	 * Gets the node id of the given id.
+	 *
+	 * @param id
+	 *            the id
+	 * @return the node id
+	 */
+	public long getNodeId(final long id)
+	{
+		return (id >>> sequenceBits) & ((1L << nodeBits) - 1);
+	}
+
+	/**
+	 * Gets the sequence of the given id.
+	 *
+	 * @param id
+	 *            the id
+	 * @return the sequence
+	 */
+	public long getSequence(final long id)
+	{
+		return id & ((1L << sequenceBits) - 1);
+	}
+
+	/**
+	 * Gets the time in milliseconds of the given id. The time can be ahead of the clock if the
+	 * generator has borrowed milliseconds.
+	 *
+	 * @param id
+	 *            the id
+	 * @return the time in milliseconds
+	 */
+	public long getTimestamp(final long id)
+	{
+		return (id >>> (nodeBits + sequenceBits)) + epoch;
+	}
+
+	/**
+	 * Composes the id from the given timestamp and sequence and the node id of this generator.
+	 *
+	 * @param timeSequence
+	 *            the timestamp shifted by the sequence bits plus the sequence
+	 * @return the id
+	 */
+	private long toId(final long timeSequence)
+	{
+		final long timestamp = timeSequence >>> sequenceBits;
+		if (timestamp > maxTimestamp)
+		{
+			throw new IllegalStateException("The timestamp " + timestamp
+				+ " does not fit in the timestamp bits of the id layout");
+		}
+		return (timestamp << (nodeBits + sequenceBits)) | (nodeId << sequenceBits)
+			| (timeSequence & ((1L << sequenceBits) - 1));
+	}
+
+}
@@ -63,11 +63,34 @@ public class SystemTimeIdGenerator implements IdGenerator
 	@Override
 	public int getNextId()
 	{
-		int nextId = atomicId.getAndIncrement();
-		if (nextId < 0)
+		return toPositive(atomicId.getAndIncrement());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The whole range is reserved with a single atomic operation.
+	 */
+	@Override
+	public void fillIds(final long[] dst, final int off, final int len)
+	{
+		IdRanges.checkRange(dst, off, len);
+		final int first = atomicId.getAndAdd(len);
+		for (int i = 0; i < len; i++)
 		{
-			nextId *= -1;
+			dst[off + i] = toPositive(first + i);
 		}
-		return nextId;
+	}
+
+	/**
+	 * Flips the given id to a positive id if it is negative.
+	 *
+	 * @param id
+	 *            the id
+	 * @return the positive id
+	 */
+	private static int toPositive(final int id)
+	{
+		return id < 0 ? id * -1 : id;
 	}
 }
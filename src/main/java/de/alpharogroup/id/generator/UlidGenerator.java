@@ -0,0 +1,167 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * The class {@link UlidGenerator} mints time ordered ulids. The 48 bit timestamp in milliseconds
+ * is followed by 80 random bits whose highest 16 bits are used as counter per millisecond, so the
+ * ulids of one generator are strictly increasing. The textual form is the
+ * {@link CrockfordBase32} encoding with 26 characters, the 128 bit value is taken as {@link UUID}.
+ */
+public class UlidGenerator extends AbstractTimeOrderedUuidGenerator
+{
+
+	/** The count of bits of the counter per millisecond. */
+	private static final int COUNTER_BITS = 16;
+
+	/** The count of characters of the textual form. */
+	public static final int STRING_LENGTH = CrockfordBase32.ENCODED_128_BIT_LENGTH;
+
+	/** The instance. */
+	private static final UlidGenerator instance = new UlidGenerator();
+
+	/**
+	 * Gets the single instance of {@link UlidGenerator}.
+	 *
+	 * @return single instance of {@link UlidGenerator}
+	 */
+	public static UlidGenerator getInstance()
+	{
+		return instance;
+	}
+
+	/**
+	 * Gets the timestamp in milliseconds of the given ulid.
+	 *
+	 * @param ulid
+	 *            the ulid
+	 * @return the timestamp in milliseconds
+	 */
+	public static long getTimestamp(final UUID ulid)
+	{
+		return ulid.getMostSignificantBits() >>> 16;
+	}
+
+	/**
+	 * Parses the given textual form of an ulid.
+	 *
+	 * @param ulid
+	 *            the textual form of the ulid
+	 * @return the 128 bit value of the ulid
+	 * @throws IllegalArgumentException
+	 *             if the given string is not a valid ulid
+	 */
+	public static UUID parse(final CharSequence ulid)
+	{
+		if (ulid.length() != STRING_LENGTH || CrockfordBase32.decode(ulid.charAt(0)) > 7)
+		{
+			throw new IllegalArgumentException("The string " + ulid + " is not a valid ulid");
+		}
+		long mostSignificantBits = 0;
+		long leastSignificantBits = 0;
+		for (int i = 0; i < STRING_LENGTH; i++)
+		{
+			final int value = CrockfordBase32.decode(ulid.charAt(i));
+			mostSignificantBits = (mostSignificantBits << 5) | (leastSignificantBits >>> 59);
+			leastSignificantBits = (leastSignificantBits << 5) | value;
+		}
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+
+	/**
+	 * Gets the textual form of the given 128 bit value of an ulid.
+	 *
+	 * @param ulid
+	 *            the 128 bit value of the ulid
+	 * @return the textual form of the ulid
+	 */
+	public static String toString(final UUID ulid)
+	{
+		final char[] chars = new char[STRING_LENGTH];
+		CrockfordBase32.encode(ulid.getMostSignificantBits(), ulid.getLeastSignificantBits(),
+			chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * Instantiates a new {@link UlidGenerator}.
+	 */
+	public UlidGenerator()
+	{
+		this(System::currentTimeMillis);
+	}
+
+	/**
+	 * Instantiates a new {@link UlidGenerator} with the given clock.
+	 *
+	 * @param clock
+	 *            the clock that returns the current time in milliseconds
+	 */
+	UlidGenerator(final LongSupplier clock)
+	{
+		super(clock, COUNTER_BITS);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	long getLeastSignificantBits(final long random)
+	{
+		return random;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	long getMostSignificantBits(final long timestamp, final long counter)
+	{
+		return (timestamp << 16) | counter;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getStringLength()
+	{
+		return STRING_LENGTH;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void toChars(final long mostSignificantBits, final long leastSignificantBits,
+		final char[] dst, final int off)
+	{
+		CrockfordBase32.encode(mostSignificantBits, leastSignificantBits, dst, off);
+	}
+
+}
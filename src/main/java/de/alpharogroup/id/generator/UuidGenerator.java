@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.UUID;
+
+/**
+ * The interface {@link UuidGenerator} is the 128 bit counterpart of {@link IdGenerator} and
+ * {@link LongIdGenerator} for generators that mint globally unique ids. The ids can be taken as
+ * {@link UUID} or written without allocation into a byte array or in the textual form of the
+ * generator into a char array.
+ */
+public interface UuidGenerator
+{
+
+	/**
+	 * Gets the next id.
+	 *
+	 * @return the next id
+	 */
+	UUID getNextId();
+
+	/**
+	 * Writes the next id as 16 bytes in big endian order into the given array.
+	 *
+	 * @param dst
+	 *            the array for the bytes
+	 * @param off
+	 *            the offset of the first byte in the array
+	 * @throws IndexOutOfBoundsException
+	 *             if the bytes do not fit in the given array
+	 */
+	void getNextId(byte[] dst, int off);
+
+	/**
+	 * Writes the next id in the textual form of this generator into the given array.
+	 *
+	 * @param dst
+	 *            the array for the characters
+	 * @param off
+	 *            the offset of the first character in the array
+	 * @throws IndexOutOfBoundsException
+	 *             if the characters do not fit in the given array
+	 */
+	void getNextId(char[] dst, int off);
+
+	/**
+	 * Gets the next id in the textual form of this generator.
+	 *
+	 * @return the next id as string
+	 */
+	default String getNextIdAsString()
+	{
+		final char[] chars = new char[getStringLength()];
+		getNextId(chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * Gets the count of characters of the textual form of the ids of this generator.
+	 *
+	 * @return the count of characters
+	 */
+	int getStringLength();
+
+}
@@ -0,0 +1,159 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * The class {@link UuidV7Generator} mints time ordered version 7 uuids as specified in RFC 9562.
+ * The 48 bit timestamp in milliseconds is followed by the version, a 12 bit counter per
+ * millisecond in the field rand_a, the variant and 62 random bits in the field rand_b. The
+ * textual form is the canonical form with hyphens of {@link UUID#toString()}.
+ */
+public class UuidV7Generator extends AbstractTimeOrderedUuidGenerator
+{
+
+	/** The count of bits of the counter per millisecond. */
+	private static final int COUNTER_BITS = 12;
+
+	/** The hexadecimal digits. */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/** The count of characters of the canonical form. */
+	public static final int STRING_LENGTH = 36;
+
+	/** The instance. */
+	private static final UuidV7Generator instance = new UuidV7Generator();
+
+	/**
+	 * Gets the single instance of {@link UuidV7Generator}.
+	 *
+	 * @return single instance of {@link UuidV7Generator}
+	 */
+	public static UuidV7Generator getInstance()
+	{
+		return instance;
+	}
+
+	/**
+	 * Gets the timestamp in milliseconds of the given version 7 uuid.
+	 *
+	 * @param uuid
+	 *            the uuid
+	 * @return the timestamp in milliseconds
+	 */
+	public static long getTimestamp(final UUID uuid)
+	{
+		return uuid.getMostSignificantBits() >>> 16;
+	}
+
+	/**
+	 * Writes the given value as the given count of hexadecimal digits into the given array.
+	 *
+	 * @param value
+	 *            the value
+	 * @param digits
+	 *            the count of digits
+	 * @param dst
+	 *            the array for the characters
+	 * @param off
+	 *            the offset of the first character in the array
+	 * @return the offset after the written characters
+	 */
+	private static int toHex(final long value, final int digits, final char[] dst, final int off)
+	{
+		for (int i = 0; i < digits; i++)
+		{
+			dst[off + i] = HEX_DIGITS[(int)(value >>> ((digits - 1 - i) * 4)) & 15];
+		}
+		return off + digits;
+	}
+
+	/**
+	 * Instantiates a new {@link UuidV7Generator}.
+	 */
+	public UuidV7Generator()
+	{
+		this(System::currentTimeMillis);
+	}
+
+	/**
+	 * Instantiates a new {@link UuidV7Generator} with the given clock.
+	 *
+	 * @param clock
+	 *            the clock that returns the current time in milliseconds
+	 */
+	UuidV7Generator(final LongSupplier clock)
+	{
+		super(clock, COUNTER_BITS);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	long getLeastSignificantBits(final long random)
+	{
+		return (random & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	long getMostSignificantBits(final long timestamp, final long counter)
+	{
+		return (timestamp << 16) | 0x7000L | counter;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getStringLength()
+	{
+		return STRING_LENGTH;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void toChars(final long mostSignificantBits, final long leastSignificantBits,
+		final char[] dst, final int off)
+	{
+		int index = toHex(mostSignificantBits >>> 32, 8, dst, off);
+		dst[index++] = '-';
+		index = toHex(mostSignificantBits >>> 16, 4, dst, index);
+		dst[index++] = '-';
+		index = toHex(mostSignificantBits, 4, dst, index);
+		dst[index++] = '-';
+		index = toHex(leastSignificantBits >>> 48, 4, dst, index);
+		dst[index++] = '-';
+		toHex(leastSignificantBits, 12, dst, index);
+	}
+
+}
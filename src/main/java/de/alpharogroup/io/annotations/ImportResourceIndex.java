@@ -0,0 +1,174 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.io.annotations;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.alpharogroup.lang.scan.ClassIndex;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link ImportResourceIndex} reads and writes the index file with the names of the
+ * classes that are annotated with {@link ImportResource} or {@link ImportResources}. The index file
+ * is generated at compile time from the {@link ImportResourceProcessor} and contains one binary
+ * class name per line. Empty lines and lines that starts with '#' are ignored.
+ */
+@UtilityClass
+public final class ImportResourceIndex
+{
+
+	/** The resource name of the index file. */
+	public static final String INDEX_RESOURCE_NAME = "META-INF/jcommons-lang/import-resources";
+
+	/** The prefix of a comment line. */
+	private static final String COMMENT_PREFIX = "#";
+
+	/**
+	 * Reads the class names from all index files that can be found from the given class loader.
+	 * The class names are grouped by the root key of the classpath root that contains the index
+	 * file, see {@link ClassIndex#getRootKey(URL, String)}, so classpath roots without an index
+	 * file can still be scanned.
+	 *
+	 * @param classLoader
+	 *            the class loader
+	 * @return the map with the root key of the classpath root as key and the class names as value
+	 *         or an empty map if no index file exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Map<String, Set<String>> read(final ClassLoader classLoader) throws IOException
+	{
+		final Map<String, Set<String>> indexes = new LinkedHashMap<>();
+		final Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE_NAME);
+		while (resources.hasMoreElements())
+		{
+			final URL url = resources.nextElement();
+			try (InputStream inputStream = url.openStream())
+			{
+				indexes.putIfAbsent(ClassIndex.getRootKey(url, INDEX_RESOURCE_NAME),
+					read(inputStream));
+			}
+		}
+		return indexes;
+	}
+
+	/**
+	 * Reads the class names from the given input stream of an index file.
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @return the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<String> read(final InputStream inputStream) throws IOException
+	{
+		return read(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads the class names from the given reader of an index file.
+	 *
+	 * @param reader
+	 *            the reader
+	 * @return the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<String> read(final Reader reader) throws IOException
+	{
+		final Set<String> classNames = new LinkedHashSet<>();
+		final BufferedReader bufferedReader = new BufferedReader(reader);
+		String line;
+		while ((line = bufferedReader.readLine()) != null)
+		{
+			line = line.trim();
+			if (!line.isEmpty() && !line.startsWith(COMMENT_PREFIX))
+			{
+				classNames.add(line);
+			}
+		}
+		return classNames;
+	}
+
+	/**
+	 * Writes the given class names to the given output stream of an index file.
+	 *
+	 * @param outputStream
+	 *            the output stream
+	 * @param classNames
+	 *            the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void write(final OutputStream outputStream, final Collection<String> classNames)
+		throws IOException
+	{
+		write(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), classNames);
+	}
+
+	/**
+	 * Writes the given class names to the given writer of an index file.
+	 *
+	 * @param writer
+	 *            the writer
+	 * @param classNames
+	 *            the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void write(final Writer writer, final Collection<String> classNames)
+		throws IOException
+	{
+		final BufferedWriter bufferedWriter = new BufferedWriter(writer);
+		bufferedWriter.write(COMMENT_PREFIX + " Generated by "
+			+ ImportResourceProcessor.class.getName() + ", do not edit");
+		bufferedWriter.newLine();
+		for (final String className : classNames)
+		{
+			bufferedWriter.write(className);
+			bufferedWriter.newLine();
+		}
+		bufferedWriter.flush();
+	}
+
+}
@@ -0,0 +1,205 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.io.annotations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The class {@link ImportResourceProcessor} is an optional annotation processor that collects the
+ * classes that are annotated with {@link ImportResource} or {@link ImportResources} at compile time
+ * and writes them in the index file {@link ImportResourceIndex#INDEX_RESOURCE_NAME}, that is read
+ * from {@link ImportResourcesExtensions#getImportResources(String)} instead of scanning the
+ * classpath. The processor is not registered as service, so it have to be declared explicitly, for
+ * instance in the annotationProcessors of the maven-compiler-plugin.
+ */
+@SupportedAnnotationTypes({ ImportResourceProcessor.IMPORT_RESOURCE,
+		ImportResourceProcessor.IMPORT_RESOURCES })
+public class ImportResourceProcessor extends AbstractProcessor
+{
+
+	/** The qualified name of the annotation {@link ImportResource}. */
+	static final String IMPORT_RESOURCE = "de.alpharogroup.io.annotations.ImportResource";
+
+	/** The qualified name of the annotation {@link ImportResources}. */
+	static final String IMPORT_RESOURCES = "de.alpharogroup.io.annotations.ImportResources";
+
+	/** The binary names of the annotated classes. */
+	private final Set<String> classNames = new TreeSet<>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations,
+		final RoundEnvironment roundEnv)
+	{
+		if (roundEnv.processingOver())
+		{
+			if (!classNames.isEmpty())
+			{
+				writeIndex();
+			}
+			return false;
+		}
+		for (final TypeElement annotation : annotations)
+		{
+			for (final Element element : roundEnv.getElementsAnnotatedWith(annotation))
+			{
+				if (element.getKind().isClass() || element.getKind().isInterface())
+				{
+					classNames.add(getBinaryName((TypeElement)element));
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the binary name of the given type, that can be loaded with {@link Class#forName(String)}.
+	 *
+	 * @param type
+	 *            the type
+	 * @return the binary name
+	 */
+	private String getBinaryName(final TypeElement type)
+	{
+		return processingEnv.getElementUtils().getBinaryName(type).toString();
+	}
+
+	/**
+	 * Gets the type with the given binary name.
+	 *
+	 * @param className
+	 *            the binary class name
+	 * @return the type or null if no type with the given binary name exists
+	 */
+	private TypeElement getTypeElement(final String className)
+	{
+		final Elements elements = processingEnv.getElementUtils();
+		final TypeElement type = elements.getTypeElement(className.replace('$', '.'));
+		if (type == null || !getBinaryName(type).equals(className))
+		{
+			return null;
+		}
+		return type;
+	}
+
+	/**
+	 * Checks if the type with the given binary name still exists and is still annotated with
+	 * {@link ImportResource} or {@link ImportResources}. This is used for keep the entries of a
+	 * previous index file on an incremental compilation.
+	 *
+	 * @param className
+	 *            the binary class name
+	 * @return true, if the type is still annotated
+	 */
+	private boolean isStillAnnotated(final String className)
+	{
+		final TypeElement type = getTypeElement(className);
+		if (type == null)
+		{
+			return false;
+		}
+		for (final AnnotationMirror annotationMirror : type.getAnnotationMirrors())
+		{
+			final String annotationName = ((TypeElement)annotationMirror.getAnnotationType()
+				.asElement()).getQualifiedName().toString();
+			if (IMPORT_RESOURCE.equals(annotationName) || IMPORT_RESOURCES.equals(annotationName))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the index file with the collected class names and the still annotated class names of
+	 * a previous index file.
+	 */
+	private void writeIndex()
+	{
+		final Filer filer = processingEnv.getFiler();
+		try
+		{
+			final FileObject previousIndex = filer.getResource(StandardLocation.CLASS_OUTPUT, "",
+				ImportResourceIndex.INDEX_RESOURCE_NAME);
+			try (InputStream inputStream = previousIndex.openInputStream())
+			{
+				for (final String className : ImportResourceIndex.read(inputStream))
+				{
+					if (isStillAnnotated(className))
+					{
+						classNames.add(className);
+					}
+				}
+			}
+		}
+		catch (final IOException | IllegalArgumentException e)
+		{
+			// no previous index file exists
+		}
+		try
+		{
+			final FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+				ImportResourceIndex.INDEX_RESOURCE_NAME);
+			try (OutputStream outputStream = index.openOutputStream())
+			{
+				ImportResourceIndex.write(outputStream, classNames);
+			}
+		}
+		catch (final IOException e)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+				"Could not write " + ImportResourceIndex.INDEX_RESOURCE_NAME + ": " + e);
+		}
+	}
+
+}
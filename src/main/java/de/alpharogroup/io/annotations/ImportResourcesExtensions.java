@@ -24,16 +24,27 @@
  */
 package de.alpharogroup.io.annotations;
 
+import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.annotation.Annotation;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.commons.lang3.ArrayUtils;
-
+import de.alpharogroup.collections.set.SetFactory;
 import de.alpharogroup.lang.AnnotationExtensions;
+import de.alpharogroup.lang.ClassExtensions;
+import de.alpharogroup.lang.scan.ClassIndex;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -45,11 +56,38 @@ import lombok.experimental.UtilityClass;
 public final class ImportResourcesExtensions
 {
 
+	/** The annotation classes of the import resources. */
+	private static final Set<Class<? extends Annotation>> ANNOTATION_CLASSES = Collections
+		.unmodifiableSet(SetFactory.newHashSet(ImportResources.class, ImportResource.class));
+
+	/** The shared comparator for sort the {@link ImportResource} objects. */
+	private static final ImportResourceComparator IMPORT_RESOURCE_COMPARATOR = new ImportResourceComparator();
+
+	/**
+	 * The cache with the resolved {@link ImportResource} objects of every package name for every
+	 * class loader. The class loaders are weak keys, so the cache does not keep a class loader of a
+	 * redeployed application alive.
+	 */
+	private static final Map<ClassLoader, Map<String, CacheEntry>> IMPORT_RESOURCES_CACHE = Collections
+		.synchronizedMap(new WeakHashMap<>());
+
 	/**
 	 * Gets a {@link Map} with {@link ImportResource} objects and the corresponding to the found
 	 * class from the given package Name. The search is made recursive. The key from an entry of the
 	 * map is the class where the {@link ImportResource} objects found and the value is an Array of
-	 * the {@link ImportResource} objects that contains in the class.
+	 * the {@link ImportResource} objects that contains in the class. Every class that is annotated
+	 * with {@link ImportResources} or {@link ImportResource} is contained, also if the array is
+	 * empty.
+	 *
+	 * The annotated classes of classpath roots with an index file
+	 * {@link ImportResourceIndex#INDEX_RESOURCE_NAME} that is generated from the
+	 * {@link ImportResourceProcessor} are taken from the index file. Only the classpath roots
+	 * without an index file are scanned.
+	 *
+	 * The result is cached per package name and per context class loader, so the package is resolved
+	 * only once for every class loader till the cache is invalidated with {@link #invalidateImportResources(String)} or
+	 * {@link #invalidateImportResources()}. The returned map is shared and unmodifiable and the
+	 * arrays of the map have not to be modified.
 	 *
 	 * @param packageName
 	 *            the package name
@@ -64,41 +102,254 @@ public final class ImportResourcesExtensions
 	 */
 	public static Map<Class<?>, ImportResource[]> getImportResources(final String packageName)
 		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
+		final Map<String, CacheEntry> classLoaderCache = IMPORT_RESOURCES_CACHE
+			.computeIfAbsent(classLoader, key -> new ConcurrentHashMap<>());
+		final CacheEntry cacheEntry = classLoaderCache.get(packageName);
+		if (cacheEntry != null)
+		{
+			return cacheEntry.getResourcesMap(classLoader);
+		}
+		final Map<String, Set<String>> indexes = ImportResourceIndex.read(classLoader);
+		final Map<Class<?>, ImportResource[]> resourcesMap = Collections
+			.unmodifiableMap(indexes.isEmpty()
+				? scanImportResources(packageName)
+				: getImportResources(packageName, indexes, classLoader));
+		final CacheEntry cached = classLoaderCache.putIfAbsent(packageName,
+			new CacheEntry(resourcesMap));
+		return cached != null ? cached.getResourcesMap(classLoader) : resourcesMap;
+	}
+
+	/**
+	 * Gets the {@link ImportResource} objects of the classes that belongs to the given package name
+	 * or one of the sub packages. The classes of the classpath roots with an index file are taken
+	 * from the given indexes and the classpath roots without an index file are scanned.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param indexes
+	 *            the class names of the index files with the root key of the classpath root as key
+	 * @param classLoader
+	 *            the class loader
+	 * @return the new map with the import resources
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static Map<Class<?>, ImportResource[]> getImportResources(final String packageName,
+		final Map<String, Set<String>> indexes, final ClassLoader classLoader)
+		throws ClassNotFoundException, IOException
 	{
 		final Map<Class<?>, ImportResource[]> resourcesMap = new LinkedHashMap<>();
+		final String packagePrefix = packageName + ".";
+		for (final Set<String> classNames : indexes.values())
+		{
+			for (final String className : classNames)
+			{
+				if (className.startsWith(packagePrefix))
+				{
+					final Class<?> annotatedClass = Class.forName(className, false, classLoader);
+					if (isAnnotated(annotatedClass))
+					{
+						resourcesMap.put(annotatedClass, getImportResources(annotatedClass));
+					}
+				}
+			}
+		}
+		final String packagePath = packageName.replace('.', '/');
+		final Enumeration<URL> resources = classLoader.getResources(packagePath);
+		while (resources.hasMoreElements())
+		{
+			final URL url = resources.nextElement();
+			if (!indexes.containsKey(ClassIndex.getRootKey(url, packagePath)))
+			{
+				final File directory = new File(
+					URLDecoder.decode(url.getFile(), StandardCharsets.UTF_8.name()));
+				for (final Class<?> annotatedClass : AnnotationExtensions
+					.scanForAnnotatedClassesFromSet(directory, packageName, ANNOTATION_CLASSES))
+				{
+					resourcesMap.putIfAbsent(annotatedClass, getImportResources(annotatedClass));
+				}
+			}
+		}
+		return resourcesMap;
+	}
+
+	/**
+	 * Gets the sorted {@link ImportResource} objects of the given annotated class.
+	 *
+	 * @param annotatedClass
+	 *            the annotated class
+	 * @return the sorted {@link ImportResource} objects
+	 */
+	private static ImportResource[] getImportResources(final Class<?> annotatedClass)
+	{
+		final ImportResources importResources = annotatedClass
+			.getAnnotation(ImportResources.class);
+		final ImportResource importResource = annotatedClass.getAnnotation(ImportResource.class);
+		final ImportResource[] importResourcesArray = importResources != null
+			? importResources.resources()
+			: new ImportResource[0];
+		final ImportResource[] array;
+		if (importResource != null)
+		{
+			array = new ImportResource[importResourcesArray.length + 1];
+			array[0] = importResource;
+			System.arraycopy(importResourcesArray, 0, array, 1, importResourcesArray.length);
+		}
+		else
+		{
+			array = importResourcesArray;
+		}
+		Arrays.sort(array, IMPORT_RESOURCE_COMPARATOR);
+		return array;
+	}
 
-		final Class<ImportResources> importResourcesClass = ImportResources.class;
-		final Class<ImportResource> importResourceClass = ImportResource.class;
-		final Set<Class<?>> importResourcesClasses = AnnotationExtensions
-			.getAllAnnotatedClasses(packageName, importResourcesClass);
-		final Set<Class<?>> importResourceClasses = AnnotationExtensions
-			.getAllAnnotatedClasses(packageName, importResourceClass);
-		importResourcesClasses.addAll(importResourceClasses);
-		for (final Class<?> annotatedClass : importResourcesClasses)
+	/**
+	 * Checks if the given class is annotated with {@link ImportResources} or
+	 * {@link ImportResource}, like the scan of {@link #scanImportResources(String)} checks the
+	 * found classes.
+	 *
+	 * @param annotatedClass
+	 *            the class
+	 * @return true, if the given class is annotated with one of the annotation classes
+	 */
+	private static boolean isAnnotated(final Class<?> annotatedClass)
+	{
+		for (final Class<? extends Annotation> annotationClass : ANNOTATION_CLASSES)
 		{
-			final ImportResources importResources = annotatedClass
-				.getAnnotation(ImportResources.class);
-			ImportResource[] importResourcesArray = null;
-			ImportResource[] importResourceArray = null;
-			if (importResources != null)
+			if (annotatedClass.isAnnotationPresent(annotationClass))
 			{
-				importResourcesArray = importResources.resources();
+				return true;
 			}
+		}
+		return false;
+	}
+
+	/**
+	 * Invalidates the cached {@link ImportResource} objects of all package names and all class
+	 * loaders.
+	 */
+	public static void invalidateImportResources()
+	{
+		IMPORT_RESOURCES_CACHE.clear();
+	}
 
-			final ImportResource importResource = annotatedClass
-				.getAnnotation(ImportResource.class);
-			if (importResource != null)
+	/**
+	 * Invalidates the cached {@link ImportResource} objects of the given package name for all class
+	 * loaders.
+	 *
+	 * @param packageName
+	 *            the package name
+	 */
+	public static void invalidateImportResources(final String packageName)
+	{
+		synchronized (IMPORT_RESOURCES_CACHE)
+		{
+			for (final Map<String, CacheEntry> classLoaderCache : IMPORT_RESOURCES_CACHE.values())
 			{
-				importResourceArray = new ImportResource[1];
-				importResourceArray[0] = importResource;
+				classLoaderCache.remove(packageName);
 			}
-			final ImportResource[] array = ArrayUtils.addAll(importResourceArray,
-				importResourcesArray);
-			Arrays.sort(array, new ImportResourceComparator());
-			resourcesMap.put(annotatedClass, array);
+		}
+	}
 
+	/**
+	 * Scans the given package name recursive for {@link ImportResource} objects without the cache
+	 * of {@link #getImportResources(String)}. The classes that are annotated with
+	 * {@link ImportResources} or {@link ImportResource} are collected together in a single scan.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @return the new map with the import resources
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * 
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	public static Map<Class<?>, ImportResource[]> scanImportResources(final String packageName)
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		final Map<Class<?>, ImportResource[]> resourcesMap = new LinkedHashMap<>();
+		final Set<Class<?>> annotatedClasses = AnnotationExtensions
+			.getAllAnnotatedClassesFromSet(packageName, ANNOTATION_CLASSES);
+		for (final Class<?> annotatedClass : annotatedClasses)
+		{
+			resourcesMap.put(annotatedClass, getImportResources(annotatedClass));
 		}
 		return resourcesMap;
 	}
 
+
+	/**
+	 * The class {@link CacheEntry} holds the resolved {@link ImportResource} objects of a package.
+	 * The classes are held only with their names and a weak reference to the resolved map, so the
+	 * entry does not keep the class loader of its key alive. If the resolved map is collected it
+	 * is restored from the class names without scanning the package again.
+	 */
+	private static final class CacheEntry
+	{
+
+		/** The names of the annotated classes. */
+		private final String[] classNames;
+
+		/** The sorted {@link ImportResource} objects of the annotated classes. */
+		private final ImportResource[][] importResources;
+
+		/** The weak reference to the resolved map. */
+		private volatile WeakReference<Map<Class<?>, ImportResource[]>> resourcesMapReference;
+
+		/**
+		 * Instantiates a new {@link CacheEntry} from the given resolved map.
+		 *
+		 * @param resourcesMap
+		 *            the resolved map
+		 */
+		private CacheEntry(final Map<Class<?>, ImportResource[]> resourcesMap)
+		{
+			classNames = new String[resourcesMap.size()];
+			importResources = new ImportResource[resourcesMap.size()][];
+			int index = 0;
+			for (final Map.Entry<Class<?>, ImportResource[]> entry : resourcesMap.entrySet())
+			{
+				classNames[index] = entry.getKey().getName();
+				importResources[index] = entry.getValue();
+				index++;
+			}
+			resourcesMapReference = new WeakReference<>(resourcesMap);
+		}
+
+		/**
+		 * Gets the resolved map and restores it with the given class loader if it was collected.
+		 *
+		 * @param classLoader
+		 *            the class loader of this entry
+		 * @return the resolved map
+		 * @throws ClassNotFoundException
+		 *             occurs if a given class cannot be located by the specified class loader
+		 */
+		private Map<Class<?>, ImportResource[]> getResourcesMap(final ClassLoader classLoader)
+			throws ClassNotFoundException
+		{
+			Map<Class<?>, ImportResource[]> resourcesMap = resourcesMapReference.get();
+			if (resourcesMap == null)
+			{
+				final Map<Class<?>, ImportResource[]> restored = new LinkedHashMap<>();
+				for (int i = 0; i < classNames.length; i++)
+				{
+					restored.put(Class.forName(classNames[i], false, classLoader),
+						importResources[i]);
+				}
+				resourcesMap = Collections.unmodifiableMap(restored);
+				resourcesMapReference = new WeakReference<>(resourcesMap);
+			}
+			return resourcesMap;
+		}
+
+	}
+
 }
@@ -25,19 +25,31 @@
 package de.alpharogroup.lang;
 
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
-import de.alpharogroup.io.file.FilenameExtensions;
-import de.alpharogroup.io.file.filter.ClassFileFilter;
+import de.alpharogroup.lang.scan.AnnotationMatcher;
+import de.alpharogroup.lang.scan.AsyncClassScan;
+import de.alpharogroup.lang.scan.ClassFileWalker;
+import de.alpharogroup.lang.scan.ClassScanTask;
+import de.alpharogroup.lang.scan.ScanOptions;
+import de.alpharogroup.lang.scan.ScanProgress;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -51,6 +63,27 @@ import lombok.experimental.UtilityClass;
 public final class AnnotationExtensions
 {
 
+	/**
+	 * The index of the effective annotations of a class, that are all annotations that are
+	 * reachable over the super classes, the interfaces and the meta-annotations. The index is
+	 * attached to the class with a {@link ClassValue}, so it is built only once per class and does
+	 * not prevent the class loader of the class from being unloaded.
+	 */
+	private static final ClassValue<Map<Class<? extends Annotation>, Annotation>> EFFECTIVE_ANNOTATIONS = new ClassValue<Map<Class<? extends Annotation>, Annotation>>()
+	{
+		@Override
+		protected Map<Class<? extends Annotation>, Annotation> computeValue(final Class<?> type)
+		{
+			return newEffectiveAnnotations(type);
+		}
+	};
+
+	/**
+	 * The default scan options for the scan methods without {@link ScanOptions}. The found classes
+	 * are loaded without initialization.
+	 */
+	private static final ScanOptions DEFAULT_SCAN_OPTIONS = ScanOptions.builder().build();
+
 	/**
 	 * Gets all annotated classes that belongs from the given package path and the given annotation
 	 * class.
@@ -72,14 +105,61 @@ public final class AnnotationExtensions
 		final Class<? extends Annotation> annotationClass)
 		throws ClassNotFoundException, IOException, URISyntaxException
 	{
-		final List<File> directories = ClassExtensions.getDirectoriesFromResources(packagePath,
-			true);
-		final Set<Class<?>> classes = new HashSet<>();
-		for (final File directory : directories)
-		{
-			classes.addAll(scanForAnnotatedClasses(directory, packagePath, annotationClass));
-		}
-		return classes;
+		return getAllAnnotatedClasses(packagePath, annotationClass, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets all annotated classes that belongs from the given package path and the given annotation
+	 * class. The directories of the package path are scanned in parallel with the given
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClass
+	 *            the annotation class
+	 * @param forkJoinPool
+	 *            the fork join pool that executes the scan
+	 * @return the all classes
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	public static Set<Class<?>> getAllAnnotatedClasses(final String packagePath,
+		final Class<? extends Annotation> annotationClass, final ForkJoinPool forkJoinPool)
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		return getAllAnnotatedClasses(packagePath, annotationClass,
+			ScanOptions.builder().forkJoinPool(forkJoinPool).build());
+	}
+
+	/**
+	 * Gets all annotated classes that belongs from the given package path and the given annotation
+	 * class with the given {@link ScanOptions}.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClass
+	 *            the annotation class
+	 * @param scanOptions
+	 *            the scan options
+	 * @return the all classes
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	public static Set<Class<?>> getAllAnnotatedClasses(final String packagePath,
+		final Class<? extends Annotation> annotationClass, final ScanOptions scanOptions)
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		return getAllAnnotatedClassesFromSet(packagePath, toSet(annotationClass), scanOptions);
 	}
 
 	/**
@@ -104,16 +184,219 @@ public final class AnnotationExtensions
 	public static Set<Class<?>> getAllAnnotatedClassesFromSet(final String packagePath,
 		final Set<Class<? extends Annotation>> annotationClasses)
 		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		return getAllAnnotatedClassesFromSet(packagePath, annotationClasses,
+			ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Gets all annotated classes that belongs from the given package path and the given list with
+	 * annotation classes. Every directory and subdirectory of the package path is scanned in an own
+	 * {@link ClassScanTask} of the given {@link ForkJoinPool}.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClasses
+	 *            the list with the annotation classes
+	 * @param forkJoinPool
+	 *            the fork join pool that executes the scan
+	 * @return the all classes
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	public static Set<Class<?>> getAllAnnotatedClassesFromSet(final String packagePath,
+		final Set<Class<? extends Annotation>> annotationClasses, final ForkJoinPool forkJoinPool)
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		return getAllAnnotatedClassesFromSet(packagePath, annotationClasses,
+			ScanOptions.builder().forkJoinPool(forkJoinPool).build());
+	}
+
+	/**
+	 * Gets all annotated classes that belongs from the given package path and the given list with
+	 * annotation classes with the given {@link ScanOptions}.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClasses
+	 *            the list with the annotation classes
+	 * @param scanOptions
+	 *            the scan options
+	 * @return the all classes
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	public static Set<Class<?>> getAllAnnotatedClassesFromSet(final String packagePath,
+		final Set<Class<? extends Annotation>> annotationClasses, final ScanOptions scanOptions)
+		throws ClassNotFoundException, IOException, URISyntaxException
 	{
 		final List<File> directories = ClassExtensions.getDirectoriesFromResources(packagePath,
 			true);
-		final Set<Class<?>> classes = new HashSet<>();
-		for (final File directory : directories)
+		return scanForAnnotatedClasses(directories, packagePath, annotationClasses, scanOptions);
+	}
+
+	/**
+	 * Gets all annotated classes that belongs from the given package path grouped by the given
+	 * annotation classes. The package path is scanned only once and the annotations of every class
+	 * are matched only once against all given annotation classes.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClasses
+	 *            the annotation classes
+	 * @return the map with the given annotation classes as keys and the classes that are annotated
+	 *         with the annotation class as values
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	public static Map<Class<? extends Annotation>, Set<Class<?>>> getAllAnnotatedClassesByAnnotation(
+		final String packagePath, final Set<Class<? extends Annotation>> annotationClasses)
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		return getAllAnnotatedClassesByAnnotation(packagePath, annotationClasses,
+			DEFAULT_SCAN_OPTIONS);
+	}
+
+	/**
+	 * Gets all annotated classes that belongs from the given package path grouped by the given
+	 * annotation classes with the given {@link ScanOptions}. The package path is scanned only once
+	 * and the annotations of every class are matched only once against all given annotation
+	 * classes.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClasses
+	 *            the annotation classes
+	 * @param scanOptions
+	 *            the scan options
+	 * @return the map with the given annotation classes as keys and the classes that are annotated
+	 *         with the annotation class as values
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	public static Map<Class<? extends Annotation>, Set<Class<?>>> getAllAnnotatedClassesByAnnotation(
+		final String packagePath, final Set<Class<? extends Annotation>> annotationClasses,
+		final ScanOptions scanOptions)
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		final AnnotationMatcher annotationMatcher = new AnnotationMatcher(annotationClasses);
+		final Map<Class<? extends Annotation>, Set<Class<?>>> classesByAnnotation = new LinkedHashMap<>();
+		for (final Class<? extends Annotation> annotationClass : annotationMatcher
+			.getAnnotationClasses())
 		{
-			classes
-				.addAll(scanForAnnotatedClassesFromSet(directory, packagePath, annotationClasses));
+			classesByAnnotation.put(annotationClass, ConcurrentHashMap.newKeySet());
 		}
-		return classes;
+		final List<File> directories = ClassExtensions.getDirectoriesFromResources(packagePath,
+			true);
+		scanForAnnotatedClasses(directories, packagePath, annotationMatcher, scanOptions,
+			ConcurrentHashMap.newKeySet(), classesByAnnotation);
+		return classesByAnnotation;
+	}
+
+	/**
+	 * Gets asynchronous all annotated classes that belongs from the given package path and the
+	 * given annotation class. The scan runs on the given {@link Executor}, so the calling thread is
+	 * not blocked.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClass
+	 *            the annotation class or null if all classes should be found
+	 * @param executor
+	 *            the executor that runs the scan
+	 * @return the future of the scan, that can be cancelled
+	 */
+	public static CompletableFuture<Set<Class<?>>> getAllAnnotatedClassesAsync(
+		final String packagePath, final Class<? extends Annotation> annotationClass,
+		final Executor executor)
+	{
+		return getAllAnnotatedClassesAsync(packagePath, annotationClass, executor, null);
+	}
+
+	/**
+	 * Gets asynchronous all annotated classes that belongs from the given package path and the
+	 * given annotation class. The scan runs on the given {@link Executor} and reports the number
+	 * of scanned classpath roots, visited class files and matched classes to the given progress
+	 * listener.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClass
+	 *            the annotation class or null if all classes should be found
+	 * @param executor
+	 *            the executor that runs the scan
+	 * @param progressListener
+	 *            the thread safe listener for the progress or null if no progress should be
+	 *            reported
+	 * @return the future of the scan, that can be cancelled
+	 */
+	public static CompletableFuture<Set<Class<?>>> getAllAnnotatedClassesAsync(
+		final String packagePath, final Class<? extends Annotation> annotationClass,
+		final Executor executor, final Consumer<ScanProgress> progressListener)
+	{
+		return getAllAnnotatedClassesFromSetAsync(packagePath, toSet(annotationClass),
+			DEFAULT_SCAN_OPTIONS, executor, progressListener);
+	}
+
+	/**
+	 * Gets asynchronous all annotated classes that belongs from the given package path and the
+	 * given annotation classes with the given {@link ScanOptions}. The scan runs on the given
+	 * {@link Executor} instead of the fork join pool of the scan options, every classpath root is
+	 * scanned in an own task of the executor. If the returned future is cancelled, for instance on
+	 * a shutdown, the running tasks stop at the next class file.
+	 *
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClasses
+	 *            the annotation classes or null if all classes should be found
+	 * @param scanOptions
+	 *            the scan options
+	 * @param executor
+	 *            the executor that runs the scan
+	 * @param progressListener
+	 *            the thread safe listener for the progress or null if no progress should be
+	 *            reported
+	 * @return the future of the scan, that can be cancelled
+	 */
+	public static CompletableFuture<Set<Class<?>>> getAllAnnotatedClassesFromSetAsync(
+		final String packagePath, final Set<Class<? extends Annotation>> annotationClasses,
+		final ScanOptions scanOptions, final Executor executor,
+		final Consumer<ScanProgress> progressListener)
+	{
+		final AsyncClassScan asyncClassScan = new AsyncClassScan(
+			annotationClasses != null ? new AnnotationMatcher(annotationClasses) : null, scanOptions,
+			ClassExtensions.getClassLoader(), progressListener);
+		return asyncClassScan.start(
+			() -> ClassExtensions.getDirectoriesFromResources(packagePath, true), packagePath,
+			executor);
 	}
 
 	/**
@@ -163,7 +446,9 @@ public final class AnnotationExtensions
 
 	/**
 	 * Search for the given annotationClass in the given componentClass and return it if search was
-	 * successful.
+	 * successful. In difference to {@link #getAnnotation(Class, Class)} the effective annotations
+	 * are not indexed, so the interfaces, meta-annotations and super classes are walked on every
+	 * call.
 	 *
 	 * @param <T>
 	 *            the generic type
@@ -173,8 +458,34 @@ public final class AnnotationExtensions
 	 *            the annotation class
 	 * @return the annotation
 	 */
-	public static <T extends Annotation> T getAnnotation(final Class<?> componentClass,
+	public static <T extends Annotation> T findAnnotation(final Class<?> componentClass,
 		final Class<T> annotationClass)
+	{
+		final Set<Class<?>> visitedAnnotationTypes = new HashSet<>();
+		if (componentClass.isAnnotation())
+		{
+			visitedAnnotationTypes.add(componentClass);
+		}
+		return findAnnotation(componentClass, annotationClass, visitedAnnotationTypes);
+	}
+
+	/**
+	 * Search for the given annotationClass in the given componentClass. Meta-annotations that are
+	 * contained in the given visited annotation types are skipped, so cyclic meta-annotations are
+	 * walked only once.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param componentClass
+	 *            the component class
+	 * @param annotationClass
+	 *            the annotation class
+	 * @param visitedAnnotationTypes
+	 *            the annotation types that are already walked
+	 * @return the annotation or null if the annotation class is not found
+	 */
+	private static <T extends Annotation> T findAnnotation(final Class<?> componentClass,
+		final Class<T> annotationClass, final Set<Class<?>> visitedAnnotationTypes)
 	{
 		T annotation = componentClass.getAnnotation(annotationClass);
 		if (annotation != null)
@@ -183,17 +494,18 @@ public final class AnnotationExtensions
 		}
 		for (final Class<?> ifc : componentClass.getInterfaces())
 		{
-			annotation = getAnnotation(ifc, annotationClass);
+			annotation = findAnnotation(ifc, annotationClass, visitedAnnotationTypes);
 			if (annotation != null)
 			{
 				return annotation;
 			}
 		}
-		if (!Annotation.class.isAssignableFrom(componentClass))
+		for (final Annotation ann : componentClass.getAnnotations())
 		{
-			for (final Annotation ann : componentClass.getAnnotations())
+			if (visitedAnnotationTypes.add(ann.annotationType()))
 			{
-				annotation = getAnnotation(ann.annotationType(), annotationClass);
+				annotation = findAnnotation(ann.annotationType(), annotationClass,
+					visitedAnnotationTypes);
 				if (annotation != null)
 				{
 					return annotation;
@@ -205,7 +517,111 @@ public final class AnnotationExtensions
 		{
 			return null;
 		}
-		return getAnnotation(superClass, annotationClass);
+		return findAnnotation(superClass, annotationClass, visitedAnnotationTypes);
+	}
+
+	/**
+	 * Search for the given annotationClass in the given componentClass and return it if search was
+	 * successful. The lookup is made in the index of the effective annotations of the given
+	 * componentClass, that is built only once per class.
+	 *
+	 * @param <T>
+	 *            the generic type
+	 * @param componentClass
+	 *            the component class
+	 * @param annotationClass
+	 *            the annotation class
+	 * @return the annotation
+	 */
+	public static <T extends Annotation> T getAnnotation(final Class<?> componentClass,
+		final Class<T> annotationClass)
+	{
+		return annotationClass.cast(EFFECTIVE_ANNOTATIONS.get(componentClass).get(annotationClass));
+	}
+
+	/**
+	 * Gets the effective annotations of the given componentClass, that are all annotations that are
+	 * present on the given componentClass, on one of the super classes, on one of the interfaces or
+	 * as meta-annotation on one of these annotations. If an annotation type is reachable more than
+	 * once the annotation is taken that {@link #findAnnotation(Class, Class)} would find first.
+	 *
+	 * @param componentClass
+	 *            the component class
+	 * @return the unmodifiable map with the annotation type as key and the annotation as value
+	 */
+	public static Map<Class<? extends Annotation>, Annotation> getEffectiveAnnotations(
+		final Class<?> componentClass)
+	{
+		return EFFECTIVE_ANNOTATIONS.get(componentClass);
+	}
+
+	/**
+	 * Factory method for create the effective annotations of the given componentClass.
+	 *
+	 * @param componentClass
+	 *            the component class
+	 * @return the unmodifiable map with the annotation type as key and the annotation as value
+	 */
+	private static Map<Class<? extends Annotation>, Annotation> newEffectiveAnnotations(
+		final Class<?> componentClass)
+	{
+		final Map<Class<? extends Annotation>, Annotation> annotations = new LinkedHashMap<>();
+		if (componentClass.isAnnotation())
+		{
+			final Set<Class<?>> visitedAnnotationTypes = new HashSet<>();
+			visitedAnnotationTypes.add(componentClass);
+			collectMetaAnnotations(componentClass, annotations, visitedAnnotationTypes);
+			return Collections.unmodifiableMap(annotations);
+		}
+		for (final Annotation annotation : componentClass.getAnnotations())
+		{
+			annotations.putIfAbsent(annotation.annotationType(), annotation);
+		}
+		for (final Class<?> ifc : componentClass.getInterfaces())
+		{
+			EFFECTIVE_ANNOTATIONS.get(ifc).forEach(annotations::putIfAbsent);
+		}
+		for (final Annotation annotation : componentClass.getAnnotations())
+		{
+			EFFECTIVE_ANNOTATIONS.get(annotation.annotationType()).forEach(annotations::putIfAbsent);
+		}
+		final Class<?> superClass = componentClass.getSuperclass();
+		if (superClass != null && !superClass.equals(Object.class))
+		{
+			EFFECTIVE_ANNOTATIONS.get(superClass).forEach(annotations::putIfAbsent);
+		}
+		return Collections.unmodifiableMap(annotations);
+	}
+
+	/**
+	 * Collects the annotations and the transitive meta-annotations of the given annotation type in
+	 * depth first order. Annotation types that are contained in the given visited annotation types
+	 * are not walked again, so cyclic meta-annotations terminate.
+	 *
+	 * @param annotationType
+	 *            the annotation type
+	 * @param annotations
+	 *            the map for the collected annotations
+	 * @param visitedAnnotationTypes
+	 *            the annotation types that are already walked
+	 */
+	private static void collectMetaAnnotations(final Class<?> annotationType,
+		final Map<Class<? extends Annotation>, Annotation> annotations,
+		final Set<Class<?>> visitedAnnotationTypes)
+	{
+		final Annotation[] metaAnnotations = annotationType.getAnnotations();
+		for (final Annotation metaAnnotation : metaAnnotations)
+		{
+			annotations.putIfAbsent(metaAnnotation.annotationType(), metaAnnotation);
+		}
+		for (final Annotation metaAnnotation : metaAnnotations)
+		{
+			if (visitedAnnotationTypes.add(metaAnnotation.annotationType()))
+			{
+				collectMetaAnnotations(metaAnnotation.annotationType(), annotations,
+					visitedAnnotationTypes);
+			}
+		}
 	}
 
 	/**
@@ -254,7 +670,8 @@ public final class AnnotationExtensions
 	}
 
 	/**
-	 * Scan recursive for annotated classes in the given directory.
+	 * Scan recursive for annotated classes in the given directory. The found classes are loaded
+	 * without initialization.
 	 *
 	 * @param directory
 	 *            the directory
@@ -270,67 +687,24 @@ public final class AnnotationExtensions
 		final String packagePath, final Class<? extends Annotation> annotationClass)
 		throws ClassNotFoundException
 	{
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
 		final Set<Class<?>> foundClasses = new HashSet<>();
-		if (!directory.exists())
-		{
-			return foundClasses;
-		}
-		// define the include filefilter for class files...
-		final FileFilter includeFileFilter = new ClassFileFilter();
-		final File[] files = directory.listFiles(includeFileFilter);
-		for (final File file : files)
+		for (final String qualifiedClassname : ClassFileWalker.of(true)
+			.getClassNames(directory.toPath(), packagePath))
 		{
-			String qualifiedClassname = null;
-			if (file.isDirectory())
+			final Class<?> foundClass = DEFAULT_SCAN_OPTIONS.loadClass(qualifiedClassname,
+				classLoader);
+			if (annotationClass == null || foundClass.isAnnotationPresent(annotationClass))
 			{
-				qualifiedClassname = packagePath + "." + file.getName();
-				foundClasses
-					.addAll(scanForAnnotatedClasses(file, qualifiedClassname, annotationClass));
-			}
-			else
-			{
-				final String filename = FilenameExtensions.getFilenameWithoutExtension(file);
-				qualifiedClassname = packagePath + '.' + filename;
-				Class<?> foundClass = null;
-				try
-				{
-					foundClass = ClassExtensions.forName(qualifiedClassname);
-					if (annotationClass != null)
-					{
-						if (foundClass.isAnnotationPresent(annotationClass))
-						{
-							foundClasses.add(foundClass);
-						}
-					}
-					else
-					{
-						foundClasses.add(foundClass);
-					}
-
-				}
-				catch (final Throwable throwable)
-				{
-					foundClass = Class.forName(qualifiedClassname, false,
-						ClassExtensions.getClassLoader());
-					if (annotationClass != null)
-					{
-						if (foundClass.isAnnotationPresent(annotationClass))
-						{
-							foundClasses.add(foundClass);
-						}
-					}
-					else
-					{
-						foundClasses.add(foundClass);
-					}
-				}
+				foundClasses.add(foundClass);
 			}
 		}
 		return foundClasses;
 	}
 
 	/**
-	 * Scan recursive for annotated classes in the given directory.
+	 * Scan recursive for annotated classes in the given directory. The found classes are loaded
+	 * without initialization.
 	 *
 	 * @param directory
 	 *            the directory
@@ -346,42 +720,148 @@ public final class AnnotationExtensions
 		final String packagePath, final Set<Class<? extends Annotation>> annotationClasses)
 		throws ClassNotFoundException
 	{
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
 		final Set<Class<?>> foundClasses = new HashSet<>();
-		if (!directory.exists())
+		for (final String qualifiedClassname : ClassFileWalker.of(true)
+			.getClassNames(directory.toPath(), packagePath))
 		{
-			return foundClasses;
+			resolveAnnotatedClasses(annotationClasses, foundClasses,
+				DEFAULT_SCAN_OPTIONS.loadClass(qualifiedClassname, classLoader));
 		}
-		// define the include filefilter for class files...
-		final FileFilter includeFileFilter = new ClassFileFilter();
-		final File[] files = directory.listFiles(includeFileFilter);
-		for (final File file : files)
+		return foundClasses;
+	}
+
+	/**
+	 * Scan recursive for annotated classes in the given directory with the given
+	 * {@link ScanOptions}.
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClass
+	 *            the annotation class
+	 * @param scanOptions
+	 *            the scan options
+	 * @return the list
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	public static Set<Class<?>> scanForAnnotatedClasses(final File directory,
+		final String packagePath, final Class<? extends Annotation> annotationClass,
+		final ScanOptions scanOptions) throws ClassNotFoundException
+	{
+		return scanForAnnotatedClassesFromSet(directory, packagePath, toSet(annotationClass),
+			scanOptions);
+	}
+
+	/**
+	 * Scan recursive for annotated classes in the given directory with the given
+	 * {@link ScanOptions}.
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClasses
+	 *            the list with the annotation classes
+	 * @param scanOptions
+	 *            the scan options
+	 * @return the list
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	public static Set<Class<?>> scanForAnnotatedClassesFromSet(final File directory,
+		final String packagePath, final Set<Class<? extends Annotation>> annotationClasses,
+		final ScanOptions scanOptions) throws ClassNotFoundException
+	{
+		return scanForAnnotatedClasses(Collections.singletonList(directory), packagePath,
+			annotationClasses, scanOptions);
+	}
+
+	/**
+	 * Scan recursive for annotated classes in the given directories. Every directory and
+	 * subdirectory is scanned in an own {@link ClassScanTask} of the fork join pool from the given
+	 * {@link ScanOptions}.
+	 *
+	 * @param directories
+	 *            the directories
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationClasses
+	 *            the list with the annotation classes
+	 * @param scanOptions
+	 *            the scan options
+	 * @return the thread safe set with the found classes
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	private static Set<Class<?>> scanForAnnotatedClasses(final List<File> directories,
+		final String packagePath, final Set<Class<? extends Annotation>> annotationClasses,
+		final ScanOptions scanOptions) throws ClassNotFoundException
+	{
+		final Set<Class<?>> classes = ConcurrentHashMap.newKeySet();
+		scanForAnnotatedClasses(directories, packagePath,
+			annotationClasses != null ? new AnnotationMatcher(annotationClasses) : null, scanOptions,
+			classes, null);
+		return classes;
+	}
+
+	/**
+	 * Scan recursive for annotated classes in the given directories and adds the found classes to
+	 * the given sets.
+	 *
+	 * @param directories
+	 *            the directories
+	 * @param packagePath
+	 *            the package path
+	 * @param annotationMatcher
+	 *            the annotation matcher or null if all classes should be found
+	 * @param scanOptions
+	 *            the scan options
+	 * @param classes
+	 *            the thread safe set for the found classes
+	 * @param classesByAnnotation
+	 *            the map with the thread safe sets for the found classes of every annotation class
+	 *            or null if the found classes should not be grouped
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	private static void scanForAnnotatedClasses(final List<File> directories,
+		final String packagePath, final AnnotationMatcher annotationMatcher,
+		final ScanOptions scanOptions, final Set<Class<?>> classes,
+		final Map<Class<? extends Annotation>, Set<Class<?>>> classesByAnnotation)
+		throws ClassNotFoundException
+	{
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
+		final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (final File directory : directories)
 		{
-			String qualifiedClassname = null;
-			if (file.isDirectory())
+			if (directory.exists())
 			{
-				qualifiedClassname = packagePath + "." + file.getName();
-				foundClasses.addAll(
-					scanForAnnotatedClassesFromSet(file, qualifiedClassname, annotationClasses));
+				final ClassScanTask scanTask = new ClassScanTask(directory, packagePath,
+					annotationMatcher, scanOptions, classLoader, classes, classesByAnnotation);
+				final ForkJoinTask<?> task = ForkJoinTask.adapt(() -> {
+					final long start = System.nanoTime();
+					scanTask.invoke();
+					scanOptions.getScanListener().rootScanned(directory.getPath(),
+						System.nanoTime() - start);
+				});
+				scanOptions.getForkJoinPool().execute(task);
+				tasks.add(task);
 			}
-			else
+		}
+		try
+		{
+			for (final ForkJoinTask<?> task : tasks)
 			{
-				final String filename = FilenameExtensions.getFilenameWithoutExtension(file);
-				qualifiedClassname = packagePath + '.' + filename;
-				Class<?> foundClass = null;
-				try
-				{
-					foundClass = Class.forName(qualifiedClassname);
-					resolveAnnotatedClasses(annotationClasses, foundClasses, foundClass);
-				}
-				catch (final Throwable throwable)
-				{
-					foundClass = Class.forName(qualifiedClassname, false,
-						ClassExtensions.getClassLoader());
-					resolveAnnotatedClasses(annotationClasses, foundClasses, foundClass);
-				}
+				task.join();
 			}
 		}
-		return foundClasses;
+		catch (final RuntimeException e)
+		{
+			throw unwrapClassNotFoundException(e);
+		}
 	}
 
 	private static void resolveAnnotatedClasses(Set<Class<? extends Annotation>> annotationClasses,
@@ -394,6 +874,7 @@ public final class AnnotationExtensions
 				if (foundClass.isAnnotationPresent(annotationClass))
 				{
 					foundClasses.add(foundClass);
+					return;
 				}
 			}
 		}
@@ -420,6 +901,47 @@ public final class AnnotationExtensions
 		return AnnotationExtensions.scanForAnnotatedClasses(directory, packagePath, null);
 	}
 
+	/**
+	 * Wraps the given annotation class in a set.
+	 *
+	 * @param annotationClass
+	 *            the annotation class
+	 * @return the set with the given annotation class or null if the given annotation class is
+	 *         null
+	 */
+	private static Set<Class<? extends Annotation>> toSet(
+		final Class<? extends Annotation> annotationClass)
+	{
+		return annotationClass != null
+			? Collections.<Class<? extends Annotation>> singleton(annotationClass)
+			: null;
+	}
+
+	/**
+	 * Unwraps the {@link ClassNotFoundException} from the given exception that is thrown from a
+	 * {@link ClassScanTask}.
+	 *
+	 * @param exception
+	 *            the exception thrown from the scan
+	 * @return the given exception if it contains no {@link ClassNotFoundException}
+	 * @throws ClassNotFoundException
+	 *             the {@link ClassNotFoundException} that is contained in the given exception
+	 */
+	private static RuntimeException unwrapClassNotFoundException(final RuntimeException exception)
+		throws ClassNotFoundException
+	{
+		Throwable cause = exception;
+		while (cause != null)
+		{
+			if (cause instanceof ClassNotFoundException)
+			{
+				throw (ClassNotFoundException)cause;
+			}
+			cause = cause.getCause();
+		}
+		return exception;
+	}
+
 	/**
 	 * Sets the annotation value for the given key of the given annotation to the given new value at
 	 * runtime.
@@ -25,16 +25,21 @@
 package de.alpharogroup.lang;
 
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 
 import de.alpharogroup.io.file.FileExtension;
-import de.alpharogroup.io.file.FilenameExtensions;
-import de.alpharogroup.io.file.filter.ClassFileFilter;
+import de.alpharogroup.lang.scan.ClassCandidate;
+import de.alpharogroup.lang.scan.ClassCandidateScanner;
+import de.alpharogroup.lang.scan.ClassFileWalker;
+import de.alpharogroup.lang.scan.ClassFilter;
+import de.alpharogroup.lang.scan.ScanOptions;
 import de.alpharogroup.string.StringExtensions;
 import lombok.experimental.UtilityClass;
 
@@ -128,7 +133,8 @@ public final class ScanClassExtensions
 	}
 
 	/**
-	 * Scan recursive for classes in the given directory.
+	 * Scan recursive for classes in the given directory. The found classes are loaded without
+	 * initialization.
 	 *
 	 * @param directory
 	 *            the directory
@@ -143,32 +149,145 @@ public final class ScanClassExtensions
 	public static Set<Class<?>> scanClassesFromPackage(final File directory,
 		final String packagePath, final boolean recursive) throws ClassNotFoundException
 	{
+		return scanClassesFromPackage(directory, packagePath, recursive,
+			ScanOptions.builder().build());
+	}
+
+	/**
+	 * Scan recursive for classes in the given directory with the given {@link ScanOptions}.
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param packagePath
+	 *            the package path
+	 * @param recursive
+	 *            the recursive
+	 * @param scanOptions
+	 *            the scan options that decides if the found classes are initialized
+	 * @return the list
+	 * @throws ClassNotFoundException
+	 *             is thrown if a class in the given path cannot be located.
+	 */
+	public static Set<Class<?>> scanClassesFromPackage(final File directory,
+		final String packagePath, final boolean recursive, final ScanOptions scanOptions)
+		throws ClassNotFoundException
+	{
+		final long start = System.nanoTime();
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
+		final List<String> qualifiedClassnames = ClassFileWalker.of(recursive)
+			.getClassNames(directory.toPath(), packagePath);
+		scanOptions.getScanListener().entriesVisited(qualifiedClassnames.size());
+		scanOptions.getScanListener().rootScanned(directory.getPath(), System.nanoTime() - start);
 		final Set<Class<?>> foundClasses = new LinkedHashSet<>();
-		if (!directory.exists())
+		for (final String qualifiedClassname : qualifiedClassnames)
+		{
+			foundClasses.add(scanOptions.loadClass(qualifiedClassname, classLoader));
+		}
+		return foundClasses;
+	}
+
+	/**
+	 * Scan recursive for {@link ClassCandidate} handles in the given directory. In difference to
+	 * {@link #scanClassesFromPackage(File, String, boolean)} no class is loaded, so callers that
+	 * filter by name, package or {@link ClassCandidate#getClassFileInfo()} load only the classes
+	 * they need with {@link ClassCandidate#load()}.
+	 *
+	 * @param directory
+	 *            the directory of the given package path
+	 * @param packagePath
+	 *            the package path
+	 * @param recursive
+	 *            the recursive flag
+	 * @return the candidates
+	 */
+	public static Set<ClassCandidate> scanClassCandidatesFromPackage(final File directory,
+		final String packagePath, final boolean recursive)
+	{
+		final Set<ClassCandidate> candidates = new LinkedHashSet<>();
+		File root = directory;
+		for (int i = packagePath.split("\\.").length; i > 0 && root != null; i--)
 		{
-			return foundClasses;
+			root = root.getParentFile();
 		}
-		// define the include filefilter for class files...
-		final FileFilter includeFileFilter = new ClassFileFilter();
-		final File[] files = directory.listFiles(includeFileFilter);
-		for (final File file : files)
+		if (root != null && directory.exists())
 		{
-			String qualifiedClassname = null;
+			ClassCandidateScanner.scanDirectory(root, packagePath, recursive,
+				ClassExtensions.getClassLoader(), candidates::add);
+		}
+		return candidates;
+	}
 
-			if (file.isDirectory() && recursive)
-			{
-				qualifiedClassname = packagePath + "." + file.getName();
-				foundClasses.addAll(scanClassesFromPackage(file, qualifiedClassname, recursive));
-			}
-			else
-			{
-				if (!file.isDirectory())
-				{
-					final String filename = FilenameExtensions.getFilenameWithoutExtension(file);
-					qualifiedClassname = packagePath + '.' + filename;
-					foundClasses.add(ClassExtensions.forName(qualifiedClassname));
-				}
-			}
+	/**
+	 * Scan {@link ClassCandidate} handles from the given package name. No class is loaded till
+	 * {@link ClassCandidate#load()} is called.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @return the candidates found in the given package name.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<ClassCandidate> scanClassCandidates(final String packageName,
+		final boolean recursive) throws IOException
+	{
+		return ScanPackageExtensions.scanClassCandidates(packageName, recursive);
+	}
+
+	/**
+	 * Scan the classes from the given package name that are accepted from the given
+	 * {@link ClassFilter}. The classes are loaded without initialization.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classFilter
+	 *            the class filter
+	 * @return the accepted classes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws ClassNotFoundException
+	 *             is thrown if a class in the given path cannot be located.
+	 */
+	public static Set<Class<?>> scanClasses(final String packageName, final boolean recursive,
+		final ClassFilter classFilter) throws IOException, ClassNotFoundException
+	{
+		return scanClasses(packageName, recursive, classFilter, ScanOptions.builder().build());
+	}
+
+	/**
+	 * Scan the classes from the given package name that are accepted from the given
+	 * {@link ClassFilter} with the given {@link ScanOptions}. The class names are tested before
+	 * any class file is read and the bytecode is tested before any class is loaded, so only the
+	 * accepted classes are loaded.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classFilter
+	 *            the class filter
+	 * @param scanOptions
+	 *            the scan options that decides if the found classes are initialized
+	 * @return the accepted classes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws ClassNotFoundException
+	 *             is thrown if a class in the given path cannot be located.
+	 */
+	public static Set<Class<?>> scanClasses(final String packageName, final boolean recursive,
+		final ClassFilter classFilter, final ScanOptions scanOptions)
+		throws IOException, ClassNotFoundException
+	{
+		final Set<Class<?>> foundClasses = new LinkedHashSet<>();
+		for (final ClassCandidate candidate : ScanPackageExtensions.scanClassCandidates(
+			packageName, recursive, classFilter,
+			Collections.singletonList(ClassExtensions.getClassLoader()),
+			scanOptions.getScanListener()))
+		{
+			foundClasses.add(candidate.load(scanOptions));
 		}
 		return foundClasses;
 	}
@@ -191,7 +310,8 @@ public final class ScanClassExtensions
 	}
 
 	/**
-	 * Scan class names from the given package name.
+	 * Scan class names from the given package name. The found classes are loaded without
+	 * initialization.
 	 *
 	 * @param packageName
 	 *            the package name
@@ -206,14 +326,88 @@ public final class ScanClassExtensions
 	public static Set<Class<?>> scanClassNames(final String packageName, final boolean recursive)
 		throws IOException, ClassNotFoundException
 	{
+		return scanClassNames(packageName, recursive, ScanOptions.builder().build());
+	}
+
+	/**
+	 * Scan class names from the given package name with the given {@link ScanOptions}.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param scanOptions
+	 *            the scan options that decides if the found classes are initialized
+	 * @return the Set with all class found in the given package name.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws ClassNotFoundException
+	 *             is thrown if a class in the given path cannot be located.
+	 */
+	public static Set<Class<?>> scanClassNames(final String packageName, final boolean recursive,
+		final ScanOptions scanOptions) throws IOException, ClassNotFoundException
+	{
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
 		final Set<Class<?>> foundClasses = new LinkedHashSet<>();
 		final Set<String> qualifiedClassnames = ScanPackageExtensions.scanClassNames(packageName,
-			recursive, true);
+			recursive, true, Collections.singletonList(classLoader), null,
+			scanOptions.getScanListener());
 		for (final String qualifiedClassname : qualifiedClassnames)
 		{
-			foundClasses.add(ClassExtensions.forName(qualifiedClassname));
+			foundClasses.add(scanOptions.loadClass(qualifiedClassname, classLoader));
 		}
 		return foundClasses;
 	}
 
+	/**
+	 * Streams the classes from the given package name lazily. The class names are resolved with
+	 * {@link ScanPackageExtensions#streamClassNames(String, boolean, boolean)} and every class is
+	 * loaded only when the stream reaches it, so early termination avoids loading the remaining
+	 * classes. The classes are loaded without initialization.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @return the stream with the classes found in the given package name.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Stream<Class<?>> streamClasses(final String packageName,
+		final boolean recursive) throws IOException
+	{
+		return streamClasses(packageName, recursive, ScanOptions.builder().build());
+	}
+
+	/**
+	 * Streams the classes from the given package name lazily with the given {@link ScanOptions}.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param scanOptions
+	 *            the scan options that decides if the found classes are initialized
+	 * @return the stream with the classes found in the given package name.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Stream<Class<?>> streamClasses(final String packageName,
+		final boolean recursive, final ScanOptions scanOptions) throws IOException
+	{
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
+		return ScanPackageExtensions.streamClassNames(packageName, recursive, true)
+			.map(qualifiedClassname -> {
+				try
+				{
+					return scanOptions.loadClass(qualifiedClassname, classLoader);
+				}
+				catch (final ClassNotFoundException e)
+				{
+					throw new IllegalStateException(
+						"Class " + qualifiedClassname + " could not be loaded.", e);
+				}
+			});
+	}
+
 }
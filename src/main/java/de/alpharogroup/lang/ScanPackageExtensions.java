@@ -25,19 +25,34 @@
 package de.alpharogroup.lang;
 
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import de.alpharogroup.io.file.FilenameExtensions;
-import de.alpharogroup.io.file.filter.ClassFileFilter;
-import de.alpharogroup.string.StringExtensions;
+import de.alpharogroup.lang.scan.ClassCandidate;
+import de.alpharogroup.lang.scan.ClassCandidateScanner;
+import de.alpharogroup.lang.scan.ClassFileWalker;
+import de.alpharogroup.lang.scan.ClassFilter;
+import de.alpharogroup.lang.scan.ClassIndex;
+import de.alpharogroup.lang.scan.ClassNameSpliterator;
+import de.alpharogroup.lang.scan.JarPackageIndex;
+import de.alpharogroup.lang.scan.ScanIndex;
+import de.alpharogroup.lang.scan.ScanListener;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -63,7 +78,8 @@ public final class ScanPackageExtensions
 	}
 
 	/**
-	 * Scan class names from the given package name.
+	 * Scan class names from the given package name. All classpath roots of the class loader that
+	 * contains the given package are scanned in parallel.
 	 *
 	 * @param packageName
 	 *            the package name
@@ -78,103 +94,669 @@ public final class ScanPackageExtensions
 	public static Set<String> scanClassNames(final String packageName, final boolean recursive,
 		final boolean qualifiedClassnames) throws IOException
 	{
-		final ClassLoader classLoader = ClassExtensions.getClassLoader();
+		return scanClassNames(packageName, recursive, qualifiedClassnames,
+			Collections.singletonList(ClassExtensions.getClassLoader()), null);
+	}
+
+	/**
+	 * Scan class names from the given package name and use the given {@link ScanIndex}. If the
+	 * index contains a valid entry for a scanned jar file or directory the class names are taken
+	 * from the index, otherwise the classpath root is scanned and the result is put to the index.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @param scanIndex
+	 *            the scan index
+	 * @return the list
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<String> scanClassNames(final String packageName, final boolean recursive,
+		final boolean qualifiedClassnames, final ScanIndex scanIndex) throws IOException
+	{
+		return scanClassNames(packageName, recursive, qualifiedClassnames,
+			Collections.singletonList(ClassExtensions.getClassLoader()), scanIndex);
+	}
+
+	/**
+	 * Scan class names from the given package name in all classpath roots of the given class
+	 * loaders. Every jar file or directory that contains the given package is scanned once in
+	 * parallel, even if it is visible from more than one of the given class loaders, and the
+	 * class names are de-duplicated.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @param classLoaders
+	 *            the class loaders
+	 * @return the list
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<String> scanClassNames(final String packageName, final boolean recursive,
+		final boolean qualifiedClassnames, final List<ClassLoader> classLoaders)
+		throws IOException
+	{
+		return scanClassNames(packageName, recursive, qualifiedClassnames, classLoaders, null);
+	}
+
+	/**
+	 * Scan class names from the given package name in all classpath roots of the given class
+	 * loaders and use the given {@link ScanIndex} if it is not null. The class names of classpath
+	 * roots that contains a compile time {@link ClassIndex} are taken from the index without
+	 * scanning the classpath root.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @param classLoaders
+	 *            the class loaders
+	 * @param scanIndex
+	 *            the scan index or null if no index should be used
+	 * @return the list
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<String> scanClassNames(final String packageName, final boolean recursive,
+		final boolean qualifiedClassnames, final List<ClassLoader> classLoaders,
+		final ScanIndex scanIndex) throws IOException
+	{
+		return scanClassNames(packageName, recursive, qualifiedClassnames, classLoaders, scanIndex,
+			ScanListener.NOOP);
+	}
+
+	/**
+	 * Scan class names from the given package name in all classpath roots of the given class
+	 * loaders and use the given {@link ScanIndex} if it is not null. The time spent for every
+	 * classpath root, the number of visited class files and the hits and misses of the
+	 * {@link ScanIndex} and the {@link ClassIndex} are reported to the given {@link ScanListener}.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @param classLoaders
+	 *            the class loaders
+	 * @param scanIndex
+	 *            the scan index or null if no index should be used
+	 * @param scanListener
+	 *            the scan listener
+	 * @return the list
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<String> scanClassNames(final String packageName, final boolean recursive,
+		final boolean qualifiedClassnames, final List<ClassLoader> classLoaders,
+		final ScanIndex scanIndex, final ScanListener scanListener) throws IOException
+	{
+		final Map<String, ClassIndex> classIndexes = ClassIndex.of(classLoaders);
+		final List<URL> packageURLs = getPackageURLs(packageName, classLoaders, classIndexes);
+		final List<Set<String>> results;
+		try
+		{
+			results = packageURLs.parallelStream().map(packageURL -> {
+				try
+				{
+					return scanClassNames(packageURL, packageName, recursive,
+						qualifiedClassnames, scanIndex, scanListener);
+				}
+				catch (final IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}).collect(Collectors.toList());
+		}
+		catch (final UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
 		final Set<String> classNames = new LinkedHashSet<>();
-		final String packagePath = packageName.replace(".", "/");
-		final URL packageURL = classLoader.getResource(packagePath);
-		if (packageURL == null)
+		for (final ClassIndex classIndex : classIndexes.values())
 		{
-			return classNames;
+			scanListener.cacheHit(ScanListener.CLASS_INDEX);
+			classNames
+				.addAll(classIndex.getClassNames(packageName, recursive, qualifiedClassnames));
 		}
-		if (packageURL.getProtocol().equals("jar") || packageURL.getProtocol().equals("ear")
-			|| packageURL.getProtocol().equals("war"))
+		for (final Set<String> result : results)
+		{
+			classNames.addAll(result);
+		}
+		return classNames;
+	}
+
+	/**
+	 * Streams the class names from the given package name lazily. The directories and jar files of
+	 * all classpath roots of the class loader are read on demand, so the returned stream supports
+	 * early termination like {@link Stream#findFirst()} or {@link Stream#limit(long)} and parallel
+	 * processing without holding all class names in memory. If the package is contained in more
+	 * than one classpath root the class names are de-duplicated.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @return the stream with the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Stream<String> streamClassNames(final String packageName,
+		final boolean recursive, final boolean qualifiedClassnames) throws IOException
+	{
+		return streamClassNames(packageName, recursive, qualifiedClassnames,
+			Collections.singletonList(ClassExtensions.getClassLoader()));
+	}
+
+	/**
+	 * Streams the class names from the given package name lazily from all classpath roots of the
+	 * given class loaders. The class names of classpath roots that contains a compile time
+	 * {@link ClassIndex} are taken from the index without scanning the classpath root.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @param classLoaders
+	 *            the class loaders
+	 * @return the stream with the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Stream<String> streamClassNames(final String packageName,
+		final boolean recursive, final boolean qualifiedClassnames,
+		final List<ClassLoader> classLoaders) throws IOException
+	{
+		final Map<String, ClassIndex> classIndexes = ClassIndex.of(classLoaders);
+		final List<URL> packageURLs = getPackageURLs(packageName, classLoaders, classIndexes);
+		final ClassNameSpliterator spliterator = new ClassNameSpliterator(recursive,
+			qualifiedClassnames);
+		for (final URL packageURL : packageURLs)
+		{
+			if (isArchive(packageURL))
+			{
+				spliterator.addArchive(getArchiveFile(packageURL), packageName);
+			}
+			else
+			{
+				spliterator.addDirectory(
+					new File(URLDecoder.decode(packageURL.getFile(), "UTF-8")), packageName);
+			}
+		}
+		Stream<String> stream = StreamSupport.stream(spliterator, false);
+		for (final ClassIndex classIndex : classIndexes.values())
+		{
+			stream = Stream.concat(stream, classIndex
+				.getClassNames(packageName, recursive, qualifiedClassnames).stream());
+		}
+		return packageURLs.size() + classIndexes.size() > 1 ? stream.distinct() : stream;
+	}
+
+	/**
+	 * Scan {@link ClassCandidate} handles from the given package name in all classpath roots of
+	 * the class loader. No class is loaded, so callers that filter by name, package or
+	 * {@link ClassCandidate#getClassFileInfo()} never trigger class loading.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @return the candidates with distinct class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<ClassCandidate> scanClassCandidates(final String packageName,
+		final boolean recursive) throws IOException
+	{
+		return scanClassCandidates(packageName, recursive,
+			Collections.singletonList(ClassExtensions.getClassLoader()));
+	}
+
+	/**
+	 * Scan {@link ClassCandidate} handles from the given package name in all classpath roots of
+	 * the given class loaders. Every candidate loads the class from the class loader that contains
+	 * the classpath root. If a class name is found in more than one classpath root the first one
+	 * wins. The class names of classpath roots that contains a compile time {@link ClassIndex} are
+	 * taken from the index.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classLoaders
+	 *            the class loaders
+	 * @return the candidates with distinct class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<ClassCandidate> scanClassCandidates(final String packageName,
+		final boolean recursive, final List<ClassLoader> classLoaders) throws IOException
+	{
+		return scanClassCandidates(packageName, recursive, ClassFilter.all(), classLoaders);
+	}
+
+	/**
+	 * Scan {@link ClassCandidate} handles from the given package name that are accepted from the
+	 * given {@link ClassFilter}. The class names are tested while scanning and the class files are
+	 * only read if the filter requires the bytecode.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classFilter
+	 *            the class filter
+	 * @return the accepted candidates with distinct class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<ClassCandidate> scanClassCandidates(final String packageName,
+		final boolean recursive, final ClassFilter classFilter) throws IOException
+	{
+		return scanClassCandidates(packageName, recursive, classFilter,
+			Collections.singletonList(ClassExtensions.getClassLoader()));
+	}
+
+	/**
+	 * Scan {@link ClassCandidate} handles from the given package name in all classpath roots of
+	 * the given class loaders that are accepted from the given {@link ClassFilter}. The class
+	 * names are tested while scanning and the class files are only read if the filter requires the
+	 * bytecode, so rejected classes are never read or loaded.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classFilter
+	 *            the class filter
+	 * @param classLoaders
+	 *            the class loaders
+	 * @return the accepted candidates with distinct class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<ClassCandidate> scanClassCandidates(final String packageName,
+		final boolean recursive, final ClassFilter classFilter,
+		final List<ClassLoader> classLoaders) throws IOException
+	{
+		return scanClassCandidates(packageName, recursive, classFilter, classLoaders,
+			ScanListener.NOOP);
+	}
+
+	/**
+	 * Scan {@link ClassCandidate} handles from the given package name in all classpath roots of
+	 * the given class loaders that are accepted from the given {@link ClassFilter}. The time spent
+	 * for every classpath root, the number of visited class files, the hits of the
+	 * {@link ClassIndex} and the class files that are read for the filter are reported to the given
+	 * {@link ScanListener}. A class file that is not a valid class file is rejected, if the filter
+	 * requires the bytecode, and reported as a failed class to the given {@link ScanListener}.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classFilter
+	 *            the class filter
+	 * @param classLoaders
+	 *            the class loaders
+	 * @param scanListener
+	 *            the scan listener
+	 * @return the accepted candidates with distinct class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<ClassCandidate> scanClassCandidates(final String packageName,
+		final boolean recursive, final ClassFilter classFilter,
+		final List<ClassLoader> classLoaders, final ScanListener scanListener) throws IOException
+	{
+		final String packagePath = packageName.replace(".", "/");
+		final Map<String, ClassCandidate> candidates = new LinkedHashMap<>();
+		final long[] entries = new long[1];
+		final Consumer<ClassCandidate> consumer = candidate -> {
+			entries[0]++;
+			if (classFilter.acceptClassName(candidate.getClassName()))
+			{
+				candidates.putIfAbsent(candidate.getClassName(), candidate);
+			}
+		};
+		final Set<String> scannedRoots = new HashSet<>();
+		for (final ClassLoader classLoader : classLoaders)
 		{
-			String fileName = URLDecoder.decode(packageURL.getFile(), "UTF-8");
-			fileName = fileName.substring(5, fileName.indexOf("!"));
-			final JarFile jarFile = new JarFile(fileName);
-			final Enumeration<JarEntry> jarEntries = jarFile.entries();
-			while (jarEntries.hasMoreElements())
+			final Map<String, ClassIndex> classIndexes = ClassIndex
+				.of(Collections.singletonList(classLoader));
+			for (final Map.Entry<String, ClassIndex> entry : classIndexes.entrySet())
 			{
-				final JarEntry entry = jarEntries.nextElement();
-				final boolean isDir = entry.isDirectory();
-				final String entryName = entry.getName();
-				if (isDir && recursive)
+				if (scannedRoots.add(entry.getKey()))
 				{
-					String entryPath = entryName.replace("/", ".");
-					if (StringExtensions.lastCharacter(entryPath).equals("."))
+					scanListener.cacheHit(ScanListener.CLASS_INDEX);
+					for (final String className : entry.getValue().getClassNames(packageName,
+						recursive, true))
 					{
-						entryPath = entryPath.substring(0, entryPath.length() - 1);
-					}
-					if (entryPath.startsWith(packageName)
-						&& packageName.length() < entryPath.length())
-					{
-						classNames
-							.addAll(scanClassNames(entryPath, recursive, qualifiedClassnames));
+						consumer.accept(ClassCandidate.of(className, classLoader));
 					}
 				}
+			}
+			final Enumeration<URL> resources = classLoader.getResources(packagePath);
+			while (resources.hasMoreElements())
+			{
+				final URL packageURL = resources.nextElement();
+				final String rootKey = ClassIndex.getRootKey(packageURL, packagePath);
+				if (classIndexes.containsKey(rootKey) || !scannedRoots.add(rootKey != null
+					? rootKey
+					: packageURL.toExternalForm()))
+				{
+					continue;
+				}
+				final long start = System.nanoTime();
+				final File root;
+				if (isArchive(packageURL))
+				{
+					root = getArchiveFile(packageURL);
+					ClassCandidateScanner.scanArchive(root, packageName, recursive, classLoader,
+						consumer);
+				}
 				else
 				{
-					if (!isDir && entryName.startsWith(packagePath))
-					{
-						final String relativePath = entryName.substring(packagePath.length() + 1,
-							entryName.length());
-						if (!relativePath.contains("/") && !relativePath.contains("$"))
-						{
-							final String filenameWithoutExtension = FilenameExtensions
-								.getFilenameWithoutExtension(entryName.replace("/", "."));
-							if (qualifiedClassnames)
-							{
-								classNames.add(filenameWithoutExtension);
-							}
-							else
-							{
-								final String className = FilenameExtensions
-									.getFilenameWithoutExtension(relativePath);
-								classNames.add(className);
-							}
-						}
-					}
+					root = getClasspathRoot(packageURL, packageName);
+					ClassCandidateScanner.scanDirectory(root, packageName, recursive, classLoader,
+						consumer);
 				}
+				scanListener.rootScanned(root.getPath(), System.nanoTime() - start);
+			}
+		}
+		scanListener.entriesVisited(entries[0]);
+		final Set<ClassCandidate> acceptedCandidates = new LinkedHashSet<>();
+		for (final ClassCandidate candidate : candidates.values())
+		{
+			if (!classFilter.isBytecodeRequired())
+			{
+				acceptedCandidates.add(candidate);
+				continue;
+			}
+			final long start = System.nanoTime();
+			boolean accepted;
+			try
+			{
+				accepted = classFilter.accept(candidate);
+			}
+			catch (final IllegalArgumentException e)
+			{
+				scanListener.classLoadFailed(candidate.getClassName(), e);
+				accepted = false;
+			}
+			scanListener.bytesRead(candidate.getBytes().length, System.nanoTime() - start);
+			if (accepted)
+			{
+				acceptedCandidates.add(candidate);
 			}
-			jarFile.close();
+		}
+		return acceptedCandidates;
+	}
+
+	/**
+	 * Scan the qualified class names from the given package name that are accepted from the given
+	 * {@link ClassFilter}. If the filter decides only by the class name no class file is read,
+	 * otherwise only the class files of the class names that may be accepted are read.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classFilter
+	 *            the class filter
+	 * @return the accepted qualified class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Set<String> scanClassNames(final String packageName, final boolean recursive,
+		final ClassFilter classFilter) throws IOException
+	{
+		final Set<String> classNames = new LinkedHashSet<>();
+		if (!classFilter.isBytecodeRequired())
+		{
+			for (final String className : scanClassNames(packageName, recursive, true))
+			{
+				if (classFilter.acceptClassName(className))
+				{
+					classNames.add(className);
+				}
+			}
+			return classNames;
+		}
+		for (final ClassCandidate candidate : scanClassCandidates(packageName, recursive,
+			classFilter))
+		{
+			classNames.add(candidate.getClassName());
+		}
+		return classNames;
+	}
+
+	/**
+	 * Scan class names from the given package name in the classpath root of the given package
+	 * url.
+	 *
+	 * @param packageURL
+	 *            the url of the package in a jar file or directory
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @param scanIndex
+	 *            the scan index or null if no index should be used
+	 * @param scanListener
+	 *            the scan listener
+	 * @return the list
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static Set<String> scanClassNames(final URL packageURL, final String packageName,
+		final boolean recursive, final boolean qualifiedClassnames, final ScanIndex scanIndex,
+		final ScanListener scanListener) throws IOException
+	{
+		final long start = System.nanoTime();
+		final boolean archive = isArchive(packageURL);
+		final File root = archive
+			? getArchiveFile(packageURL)
+			: new File(URLDecoder.decode(packageURL.getFile(), "UTF-8"));
+		String key = null;
+		final List<File> scannedFiles = new ArrayList<>();
+		if (scanIndex != null)
+		{
+			key = ScanIndex.newKey(root, packageName, recursive, qualifiedClassnames);
+			final Set<String> indexedClassNames = scanIndex.get(key);
+			if (indexedClassNames != null)
+			{
+				scanListener.cacheHit(ScanListener.SCAN_INDEX);
+				return indexedClassNames;
+			}
+			scanListener.cacheMiss(ScanListener.SCAN_INDEX);
+			if (archive)
+			{
+				scannedFiles.add(root);
+			}
+			else
+			{
+				collectDirectories(root, recursive, scannedFiles);
+			}
+		}
+		final Set<String> classNames;
+		if (archive)
+		{
+			classNames = JarPackageIndex.of(root).getClassNames(packageName, recursive,
+				qualifiedClassnames, scanListener);
 		}
 		else
 		{
-			final String folderName = URLDecoder.decode(packageURL.getFile(), "UTF-8");
-			final File folder = new File(folderName);
-			// define the include filefilter for class files...
-			final FileFilter includeFileFilter = new ClassFileFilter();
-			final File[] files = folder.listFiles(includeFileFilter);
-			for (final File file : files)
+			classNames = new LinkedHashSet<>();
+			scanListener.entriesVisited(
+				scanDirectory(root, packageName, recursive, qualifiedClassnames, classNames));
+		}
+		if (scanIndex != null)
+		{
+			scanIndex.put(key, scannedFiles, classNames);
+		}
+		scanListener.rootScanned(root.getPath(), System.nanoTime() - start);
+		return classNames;
+	}
+
+	/**
+	 * Scan class names from the given directory of the given package name.
+	 *
+	 * @param folder
+	 *            the directory of the package
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @param classNames
+	 *            the set for the found class names
+	 * @return the number of visited class files
+	 */
+	private static long scanDirectory(final File folder, final String packageName,
+		final boolean recursive, final boolean qualifiedClassnames, final Set<String> classNames)
+	{
+		final long[] entries = new long[1];
+		ClassFileWalker.of(recursive).walk(folder.toPath(), packageName,
+			(filePackageName, file, attributes) -> {
+				entries[0]++;
+				classNames.add(qualifiedClassnames
+					? ClassFileWalker.getQualifiedClassName(filePackageName, file)
+					: ClassFileWalker.getSimpleClassName(file));
+			});
+		return entries[0];
+	}
+
+	/**
+	 * Collects the given directory and if the recursive flag is set all subdirectories.
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param recursive
+	 *            the recursive flag
+	 * @param directories
+	 *            the list for the collected directories
+	 */
+	private static void collectDirectories(final File directory, final boolean recursive,
+		final List<File> directories)
+	{
+		directories.add(directory);
+		if (recursive)
+		{
+			final File[] subdirectories = directory.listFiles(File::isDirectory);
+			if (subdirectories != null)
 			{
-				String qualifiedClassname = null;
-				if (file.isDirectory() && recursive)
+				for (final File subdirectory : subdirectories)
 				{
-					qualifiedClassname = packagePath + "." + file.getName();
-					classNames
-						.addAll(scanClassNames(qualifiedClassname, recursive, qualifiedClassnames));
+					collectDirectories(subdirectory, recursive, directories);
 				}
-				else
+			}
+		}
+	}
+
+	/**
+	 * Gets the archive file from the given url of an entry in a jar, ear or war file.
+	 *
+	 * @param url
+	 *            the url of the entry
+	 * @return the archive file
+	 * @throws UnsupportedEncodingException
+	 *             is thrown if the encoding is not supported
+	 */
+	private static File getArchiveFile(final URL url) throws UnsupportedEncodingException
+	{
+		final String fileName = URLDecoder.decode(url.getFile(), "UTF-8");
+		return new File(fileName.substring(5, fileName.indexOf("!")));
+	}
+
+	/**
+	 * Gets the classpath root directory from the given url of a package directory.
+	 *
+	 * @param packageURL
+	 *            the url of the package directory
+	 * @param packageName
+	 *            the package name
+	 * @return the classpath root directory
+	 * @throws UnsupportedEncodingException
+	 *             is thrown if the encoding is not supported
+	 */
+	private static File getClasspathRoot(final URL packageURL, final String packageName)
+		throws UnsupportedEncodingException
+	{
+		File root = new File(URLDecoder.decode(packageURL.getFile(), "UTF-8"));
+		if (!packageName.isEmpty())
+		{
+			for (int i = packageName.split("\\.").length; i > 0 && root != null; i--)
+			{
+				root = root.getParentFile();
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * Gets the distinct urls of the given package from all classpath roots of the given class
+	 * loaders that are not contained in the given class indexes.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param classLoaders
+	 *            the class loaders
+	 * @param classIndexes
+	 *            the class indexes with the root key of the indexed classpath roots as key
+	 * @return the distinct urls of the given package
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static List<URL> getPackageURLs(final String packageName,
+		final List<ClassLoader> classLoaders, final Map<String, ClassIndex> classIndexes)
+		throws IOException
+	{
+		final String packagePath = packageName.replace(".", "/");
+		final Map<String, URL> packageURLs = new LinkedHashMap<>();
+		for (final ClassLoader classLoader : classLoaders)
+		{
+			final Enumeration<URL> resources = classLoader.getResources(packagePath);
+			while (resources.hasMoreElements())
+			{
+				final URL url = resources.nextElement();
+				if (!classIndexes.containsKey(ClassIndex.getRootKey(url, packagePath)))
 				{
-					if (!file.isDirectory())
-					{
-						final String filenameWithoutExtension = FilenameExtensions
-							.getFilenameWithoutExtension(file);
-
-						if (qualifiedClassnames)
-						{
-							qualifiedClassname = packageName + '.' + filenameWithoutExtension;
-							classNames.add(qualifiedClassname.replace("/", "."));
-						}
-						else
-						{
-							classNames.add(filenameWithoutExtension);
-						}
-					}
+					packageURLs.putIfAbsent(url.toExternalForm(), url);
 				}
 			}
 		}
-		return classNames;
+		return new ArrayList<>(packageURLs.values());
+	}
+
+	/**
+	 * Checks if the given url points to an entry in a jar, ear or war file.
+	 *
+	 * @param url
+	 *            the url
+	 * @return true, if the given url points to an entry in an archive
+	 */
+	private static boolean isArchive(final URL url)
+	{
+		return url.getProtocol().equals("jar") || url.getProtocol().equals("ear")
+			|| url.getProtocol().equals("war");
 	}
 
 }
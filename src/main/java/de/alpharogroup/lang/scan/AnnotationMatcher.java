@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class {@link AnnotationMatcher} gives every requested annotation class a bit index and
+ * matches the annotations of a class in one pass into a {@link BitSet}, so a class has to be
+ * checked only once against any number of annotation classes.
+ */
+public final class AnnotationMatcher
+{
+
+	/** The annotation classes in the order of their bit index. */
+	private final List<Class<? extends Annotation>> annotationClasses;
+
+	/** The bit index of the annotation classes. */
+	private final Map<Class<? extends Annotation>, Integer> indexes;
+
+	/** The bit index of the qualified names of the annotation classes. */
+	private final Map<String, Integer> nameIndexes;
+
+	/**
+	 * Instantiates a new {@link AnnotationMatcher} for the given annotation classes.
+	 *
+	 * @param annotationClasses
+	 *            the annotation classes
+	 */
+	public AnnotationMatcher(final Collection<Class<? extends Annotation>> annotationClasses)
+	{
+		this.annotationClasses = new ArrayList<>(annotationClasses.size());
+		this.indexes = new HashMap<>();
+		this.nameIndexes = new HashMap<>();
+		for (final Class<? extends Annotation> annotationClass : annotationClasses)
+		{
+			if (!indexes.containsKey(annotationClass))
+			{
+				indexes.put(annotationClass, this.annotationClasses.size());
+				nameIndexes.put(annotationClass.getName(), this.annotationClasses.size());
+				this.annotationClasses.add(annotationClass);
+			}
+		}
+	}
+
+	/**
+	 * Gets the annotation class with the given bit index.
+	 *
+	 * @param index
+	 *            the bit index
+	 * @return the annotation class
+	 */
+	public Class<? extends Annotation> getAnnotationClass(final int index)
+	{
+		return annotationClasses.get(index);
+	}
+
+	/**
+	 * Gets the annotation classes in the order of their bit index.
+	 *
+	 * @return the unmodifiable list with the annotation classes
+	 */
+	public List<Class<? extends Annotation>> getAnnotationClasses()
+	{
+		return Collections.unmodifiableList(annotationClasses);
+	}
+
+	/**
+	 * Matches the annotations of the given class, including the inherited annotations, against
+	 * the annotation classes of this matcher.
+	 *
+	 * @param clazz
+	 *            the class
+	 * @return the bit set with the bit index of every annotation class that is present
+	 */
+	public BitSet match(final Class<?> clazz)
+	{
+		final BitSet matches = new BitSet(annotationClasses.size());
+		for (final Annotation annotation : clazz.getAnnotations())
+		{
+			final Integer index = indexes.get(annotation.annotationType());
+			if (index != null)
+			{
+				matches.set(index);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Matches the annotation names that are read from the bytecode of a class file against the
+	 * annotation classes of this matcher. Note that inherited annotations of super classes are not
+	 * visible in the bytecode of a class file.
+	 *
+	 * @param classFileInfo
+	 *            the class file info
+	 * @return the bit set with the bit index of every annotation class that is present
+	 */
+	public BitSet match(final ClassFileInfo classFileInfo)
+	{
+		final BitSet matches = new BitSet(annotationClasses.size());
+		for (final String annotationName : classFileInfo.getAnnotationNames())
+		{
+			final Integer index = nameIndexes.get(annotationName);
+			if (index != null)
+			{
+				matches.set(index);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Gets the number of the annotation classes.
+	 *
+	 * @return the number of the annotation classes
+	 */
+	public int size()
+	{
+		return annotationClasses.size();
+	}
+
+}
@@ -0,0 +1,288 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The class {@link AsyncClassScan} scans classpath root directories for annotated classes on a
+ * given {@link Executor} and returns the result as {@link CompletableFuture}. Every root directory
+ * is scanned in an own task of the executor. The progress is reported to an optional listener and
+ * the scan stops as soon as the returned future is cancelled.
+ */
+public final class AsyncClassScan
+{
+
+	/** The number of visited class files between two progress reports of a root directory. */
+	private static final int PROGRESS_INTERVAL = 256;
+
+	/** The matcher for the annotation classes or null if all classes should be found. */
+	private final AnnotationMatcher annotationMatcher;
+
+	/** The number of found classes that matched the annotation classes. */
+	private final AtomicLong classesMatched = new AtomicLong();
+
+	/** The class loader for load the found classes. */
+	private final ClassLoader classLoader;
+
+	/** The number of visited class files. */
+	private final AtomicLong entriesVisited = new AtomicLong();
+
+	/** The thread safe set for the found classes. */
+	private final Set<Class<?>> foundClasses = ConcurrentHashMap.newKeySet();
+
+	/** The future of the scan. */
+	private final CompletableFuture<Set<Class<?>>> future = new CompletableFuture<>();
+
+	/** The listener for the progress or null if no progress should be reported. */
+	private final Consumer<ScanProgress> progressListener;
+
+	/** The number of completely scanned root directories. */
+	private final AtomicLong rootsScanned = new AtomicLong();
+
+	/** The scan options. */
+	private final ScanOptions scanOptions;
+
+	/**
+	 * Instantiates a new {@link AsyncClassScan}.
+	 *
+	 * @param annotationMatcher
+	 *            the matcher for the annotation classes or null if all classes should be found
+	 * @param scanOptions
+	 *            the scan options
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param progressListener
+	 *            the listener for the progress or null if no progress should be reported. The
+	 *            listener is called from the threads of the executor and have to be thread safe.
+	 */
+	public AsyncClassScan(final AnnotationMatcher annotationMatcher, final ScanOptions scanOptions,
+		final ClassLoader classLoader, final Consumer<ScanProgress> progressListener)
+	{
+		this.annotationMatcher = annotationMatcher;
+		this.scanOptions = scanOptions;
+		this.classLoader = classLoader;
+		this.progressListener = progressListener;
+	}
+
+	/**
+	 * Gets the current progress of this scan.
+	 *
+	 * @return the current progress
+	 */
+	public ScanProgress getProgress()
+	{
+		return new ScanProgress(rootsScanned.get(), entriesVisited.get(), classesMatched.get());
+	}
+
+	/**
+	 * Starts this scan on the given executor. The root directories are resolved from the given
+	 * callable in a task of the executor too, so the calling thread is never blocked. The returned
+	 * future is completed with the found classes or exceptionally with the first error. If the
+	 * returned future is cancelled the running tasks stop at the next class file.
+	 *
+	 * @param roots
+	 *            the callable that resolves the directories of the given package in the classpath
+	 *            roots
+	 * @param packageName
+	 *            the package name
+	 * @param executor
+	 *            the executor that runs the scan
+	 * @return the future of the scan
+	 */
+	public CompletableFuture<Set<Class<?>>> start(final Callable<List<File>> roots,
+		final String packageName, final Executor executor)
+	{
+		executor.execute(() -> {
+			try
+			{
+				final List<File> directories = roots.call();
+				final CompletableFuture<?>[] tasks = new CompletableFuture<?>[directories.size()];
+				for (int i = 0; i < tasks.length && !future.isDone(); i++)
+				{
+					final Path directory = directories.get(i).toPath();
+					tasks[i] = CompletableFuture.runAsync(() -> scan(directory, packageName),
+						executor);
+					// the first failed root completes the scan, so the other roots stop
+					tasks[i].whenComplete((result, throwable) -> {
+						if (throwable != null)
+						{
+							future.completeExceptionally(unwrap(throwable));
+						}
+					});
+				}
+				if (future.isDone())
+				{
+					return;
+				}
+				CompletableFuture.allOf(tasks).whenComplete((result, throwable) -> {
+					if (throwable != null)
+					{
+						future.completeExceptionally(unwrap(throwable));
+					}
+					else
+					{
+						future.complete(foundClasses);
+					}
+				});
+			}
+			catch (final Exception e)
+			{
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Checks if the given class file is a candidate for loading. If the bytecode annotation filter
+	 * is enabled the annotations are read from the class file and only class files that are
+	 * annotated with one of the annotation classes are candidates.
+	 *
+	 * @param file
+	 *            the class file
+	 * @return true, if the class file is a candidate for loading
+	 */
+	private boolean isCandidate(final Path file)
+	{
+		if (annotationMatcher == null || !scanOptions.isBytecodeAnnotationFilter())
+		{
+			return true;
+		}
+		try
+		{
+			return !annotationMatcher
+				.match(ClassFileReader.read(file, scanOptions.getScanListener())).isEmpty();
+		}
+		catch (final IOException | IllegalArgumentException e)
+		{
+			return true;
+		}
+	}
+
+	/**
+	 * Reports the current progress to the progress listener if present.
+	 */
+	private void reportProgress()
+	{
+		if (progressListener != null)
+		{
+			progressListener.accept(getProgress());
+		}
+	}
+
+	/**
+	 * Loads the class with the given qualified class name and adds it to the found classes if it
+	 * is annotated with one of the annotation classes.
+	 *
+	 * @param qualifiedClassname
+	 *            the qualified class name
+	 */
+	private void resolve(final String qualifiedClassname)
+	{
+		final Class<?> foundClass;
+		try
+		{
+			foundClass = scanOptions.loadClass(qualifiedClassname, classLoader);
+		}
+		catch (final ClassNotFoundException e)
+		{
+			throw new CompletionException(e);
+		}
+		if (annotationMatcher == null || !annotationMatcher.match(foundClass).isEmpty())
+		{
+			if (foundClasses.add(foundClass))
+			{
+				classesMatched.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Scans the given root directory of the given package.
+	 *
+	 * @param directory
+	 *            the directory of the given package in a classpath root
+	 * @param packageName
+	 *            the package name
+	 */
+	private void scan(final Path directory, final String packageName)
+	{
+		final long start = System.nanoTime();
+		final long[] rootEntries = new long[1];
+		ClassFileWalker.of(true).walk(directory, packageName,
+			(filePackageName, file, attributes) -> {
+				if (future.isDone())
+				{
+					throw new CancellationException();
+				}
+				rootEntries[0]++;
+				final long entries = entriesVisited.incrementAndGet();
+				if (isCandidate(file))
+				{
+					resolve(ClassFileWalker.getQualifiedClassName(filePackageName, file));
+				}
+				if (entries % PROGRESS_INTERVAL == 0)
+				{
+					reportProgress();
+				}
+			});
+		final ScanListener scanListener = scanOptions.getScanListener();
+		scanListener.entriesVisited(rootEntries[0]);
+		scanListener.rootScanned(directory.toString(), System.nanoTime() - start);
+		rootsScanned.incrementAndGet();
+		reportProgress();
+	}
+
+	/**
+	 * Unwraps the cause of the given {@link CompletionException}.
+	 *
+	 * @param throwable
+	 *            the throwable
+	 * @return the cause of the completion exception or the given throwable
+	 */
+	private static Throwable unwrap(final Throwable throwable)
+	{
+		Throwable cause = throwable;
+		while (cause instanceof CompletionException && cause.getCause() != null)
+		{
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+}
@@ -0,0 +1,361 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The class {@link ClassCandidate} is a lightweight handle of a class that is found from a scanner.
+ * The handle holds the class name, the classpath root and the size of the class file, so callers
+ * can filter by name, package or the {@link ClassFileInfo} without loading the class. The class is
+ * only loaded on demand with {@link #load()} or {@link #load(boolean)} and the bytes of the class
+ * file are read only once.
+ */
+public final class ClassCandidate
+{
+
+	/** The file extension of class files. */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/** The cached bytes of the class file. */
+	private volatile byte[] bytes;
+
+	/** The cached class file info. */
+	private volatile ClassFileInfo classFileInfo;
+
+	/** The class loader for load the class. */
+	private final ClassLoader classLoader;
+
+	/** The qualified binary class name. */
+	private final String className;
+
+	/** The path of the class file relative to the classpath root. */
+	private final String resourceName;
+
+	/** The size of the class file or -1 if the size is unknown. */
+	private final long size;
+
+	/** The directory or archive file of the classpath root or null if unknown. */
+	private final File sourceRoot;
+
+	/**
+	 * Instantiates a new {@link ClassCandidate} of a class file in the given classpath root.
+	 *
+	 * @param className
+	 *            the qualified binary class name
+	 * @param sourceRoot
+	 *            the directory or archive file of the classpath root or null if unknown
+	 * @param resourceName
+	 *            the path of the class file relative to the classpath root
+	 * @param size
+	 *            the size of the class file or -1 if the size is unknown
+	 * @param classLoader
+	 *            the class loader for load the class
+	 */
+	public ClassCandidate(final String className, final File sourceRoot,
+		final String resourceName, final long size, final ClassLoader classLoader)
+	{
+		this.className = Objects.requireNonNull(className);
+		this.sourceRoot = sourceRoot;
+		this.resourceName = resourceName;
+		this.size = size;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Factory method for create a new {@link ClassCandidate} with an unknown classpath root, that
+	 * reads the bytes of the class file from the given class loader.
+	 *
+	 * @param className
+	 *            the qualified binary class name
+	 * @param classLoader
+	 *            the class loader for load the class
+	 * @return the new {@link ClassCandidate}
+	 */
+	public static ClassCandidate of(final String className, final ClassLoader classLoader)
+	{
+		return new ClassCandidate(className, null,
+			className.replace('.', '/') + CLASS_FILE_EXTENSION, -1, classLoader);
+	}
+
+	/**
+	 * Reads all bytes of the given input stream.
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @param size
+	 *            the expected size or -1 if unknown
+	 * @return the bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static byte[] readFully(final InputStream inputStream, final long size)
+		throws IOException
+	{
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+			size > 0 && size < Integer.MAX_VALUE ? (int)size : 4096);
+		final byte[] buffer = new byte[4096];
+		int read;
+		while ((read = inputStream.read(buffer)) != -1)
+		{
+			outputStream.write(buffer, 0, read);
+		}
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object object)
+	{
+		if (this == object)
+		{
+			return true;
+		}
+		if (!(object instanceof ClassCandidate))
+		{
+			return false;
+		}
+		final ClassCandidate other = (ClassCandidate)object;
+		return className.equals(other.className) && Objects.equals(sourceRoot, other.sourceRoot);
+	}
+
+	/**
+	 * Gets the bytes of the class file. The bytes are read only once from the classpath root or if
+	 * the classpath root is unknown from the class loader.
+	 *
+	 * @return the bytes of the class file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public byte[] getBytes() throws IOException
+	{
+		byte[] result = bytes;
+		if (result == null)
+		{
+			result = readBytes();
+			bytes = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the class file info that is read from the bytes of the class file without loading the
+	 * class.
+	 *
+	 * @return the class file info
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public ClassFileInfo getClassFileInfo() throws IOException
+	{
+		ClassFileInfo result = classFileInfo;
+		if (result == null)
+		{
+			result = ClassFileReader.read(getBytes());
+			classFileInfo = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the class loader for load the class.
+	 *
+	 * @return the class loader
+	 */
+	public ClassLoader getClassLoader()
+	{
+		return classLoader;
+	}
+
+	/**
+	 * Gets the qualified binary class name.
+	 *
+	 * @return the qualified binary class name
+	 */
+	public String getClassName()
+	{
+		return className;
+	}
+
+	/**
+	 * Gets the package name of the class.
+	 *
+	 * @return the package name or an empty string for the default package
+	 */
+	public String getPackageName()
+	{
+		final int lastDot = className.lastIndexOf('.');
+		return lastDot < 0 ? "" : className.substring(0, lastDot);
+	}
+
+	/**
+	 * Gets the path of the class file relative to the classpath root.
+	 *
+	 * @return the path of the class file
+	 */
+	public String getResourceName()
+	{
+		return resourceName;
+	}
+
+	/**
+	 * Gets the simple class name, that is the class name without the package name.
+	 *
+	 * @return the simple class name
+	 */
+	public String getSimpleName()
+	{
+		return className.substring(className.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * Gets the size of the class file.
+	 *
+	 * @return the size of the class file or -1 if the size is unknown
+	 */
+	public long getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets the directory or archive file of the classpath root.
+	 *
+	 * @return the directory or archive file of the classpath root or null if unknown
+	 */
+	public File getSourceRoot()
+	{
+		return sourceRoot;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode()
+	{
+		return className.hashCode();
+	}
+
+	/**
+	 * Loads the class without initialization.
+	 *
+	 * @return the class
+	 * @throws ClassNotFoundException
+	 *             occurs if the class cannot be located by the class loader
+	 */
+	public Class<?> load() throws ClassNotFoundException
+	{
+		return load(false);
+	}
+
+	/**
+	 * Loads the class from the class loader of this candidate.
+	 *
+	 * @param initialize
+	 *            the flag if the class should be initialized
+	 * @return the class
+	 * @throws ClassNotFoundException
+	 *             occurs if the class cannot be located by the class loader
+	 */
+	public Class<?> load(final boolean initialize) throws ClassNotFoundException
+	{
+		return Class.forName(className, initialize, classLoader);
+	}
+
+	/**
+	 * Loads the class from the class loader of this candidate with the given {@link ScanOptions}.
+	 *
+	 * @param scanOptions
+	 *            the scan options that decides if the class is initialized
+	 * @return the class
+	 * @throws ClassNotFoundException
+	 *             occurs if the class cannot be located by the class loader
+	 */
+	public Class<?> load(final ScanOptions scanOptions) throws ClassNotFoundException
+	{
+		return scanOptions.loadClass(className, classLoader);
+	}
+
+	/**
+	 * Reads the bytes of the class file from the classpath root or if the classpath root is
+	 * unknown from the class loader.
+	 *
+	 * @return the bytes of the class file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private byte[] readBytes() throws IOException
+	{
+		if (sourceRoot != null && sourceRoot.isDirectory())
+		{
+			return Files.readAllBytes(new File(sourceRoot, resourceName).toPath());
+		}
+		if (sourceRoot != null)
+		{
+			try (ZipFile zipFile = new ZipFile(sourceRoot))
+			{
+				final ZipEntry entry = zipFile.getEntry(resourceName);
+				if (entry == null)
+				{
+					throw new FileNotFoundException(resourceName + " in " + sourceRoot);
+				}
+				try (InputStream inputStream = zipFile.getInputStream(entry))
+				{
+					return readFully(inputStream, entry.getSize());
+				}
+			}
+		}
+		try (InputStream inputStream = classLoader.getResourceAsStream(resourceName))
+		{
+			if (inputStream == null)
+			{
+				throw new FileNotFoundException(resourceName);
+			}
+			return readFully(inputStream, size);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ClassCandidate[" + className + (sourceRoot != null ? " in " + sourceRoot : "")
+			+ "]";
+	}
+
+}
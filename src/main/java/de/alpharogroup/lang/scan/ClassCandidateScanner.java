@@ -0,0 +1,153 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link ClassCandidateScanner} scans directories and jar files of classpath roots for
+ * {@link ClassCandidate} objects without loading any class.
+ */
+@UtilityClass
+public final class ClassCandidateScanner
+{
+
+	/** The file extension of class files. */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/** The prefix of the meta information directory, that contains no classes of packages. */
+	private static final String META_INF_PREFIX = "META-INF/";
+
+	/**
+	 * Scans the given archive file for the class files of the given package. Inner classes are
+	 * skipped.
+	 *
+	 * @param archive
+	 *            the jar, ear or war file
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param consumer
+	 *            the consumer for the found candidates
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void scanArchive(final File archive, final String packageName,
+		final boolean recursive, final ClassLoader classLoader,
+		final Consumer<ClassCandidate> consumer) throws IOException
+	{
+		final String packagePath = packageName.isEmpty()
+			? ""
+			: packageName.replace('.', '/') + '/';
+		final ZipCentralDirectoryReader reader = ZipCentralDirectoryReader.open(archive);
+		while (reader.next())
+		{
+			final CharSequence entryName = reader.getEntryName();
+			final int start = JarPackageIndex.getClassRootPrefixLength(entryName);
+			final int end = entryName.length() - CLASS_FILE_EXTENSION.length();
+			if (end <= start || !JarPackageIndex.startsWith(entryName, packagePath, start)
+				|| !JarPackageIndex.startsWith(entryName, CLASS_FILE_EXTENSION, end)
+				|| JarPackageIndex.startsWith(entryName, META_INF_PREFIX, start))
+			{
+				continue;
+			}
+			boolean skip = false;
+			for (int i = start + packagePath.length(); i < end && !skip; i++)
+			{
+				final char c = entryName.charAt(i);
+				skip = c == '$' || c == '/' && !recursive;
+			}
+			if (!skip)
+			{
+				final String resourceName = entryName.toString();
+				consumer.accept(new ClassCandidate(
+					resourceName.substring(start, end).replace('/', '.'), archive, resourceName,
+					reader.getUncompressedSize(), classLoader));
+			}
+		}
+	}
+
+	/**
+	 * Scans the given package directory of the given classpath root directory for class files.
+	 *
+	 * @param root
+	 *            the classpath root directory
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param consumer
+	 *            the consumer for the found candidates
+	 */
+	public static void scanDirectory(final File root, final String packageName,
+		final boolean recursive, final ClassLoader classLoader,
+		final Consumer<ClassCandidate> consumer)
+	{
+		scanDirectory(root, packageName, ClassFileWalker.of(recursive), classLoader, consumer);
+	}
+
+	/**
+	 * Scans the given package directory of the given classpath root directory for class files with
+	 * the given {@link ClassFileWalker}, that decides about the depth, the symbolic links and the
+	 * skipped subpackages. The size of the candidates is taken from the attributes that are read
+	 * while walking.
+	 *
+	 * @param root
+	 *            the classpath root directory
+	 * @param packageName
+	 *            the package name
+	 * @param classFileWalker
+	 *            the class file walker
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param consumer
+	 *            the consumer for the found candidates
+	 */
+	public static void scanDirectory(final File root, final String packageName,
+		final ClassFileWalker classFileWalker, final ClassLoader classLoader,
+		final Consumer<ClassCandidate> consumer)
+	{
+		classFileWalker.walk(new File(root, packageName.replace('.', '/')).toPath(), packageName,
+			(filePackageName, file, attributes) -> {
+				final String fileName = file.getFileName().toString();
+				consumer.accept(new ClassCandidate(
+					ClassFileWalker.getQualifiedClassName(filePackageName, file), root,
+					filePackageName.isEmpty()
+						? fileName
+						: filePackageName.replace('.', '/') + '/' + fileName,
+					attributes.size(), classLoader));
+			});
+	}
+
+}
@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.util.List;
+import java.util.Set;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The class {@link ClassFileInfo} holds the information that is read from the bytecode of a class
+ * file without loading the class.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ClassFileInfo
+{
+
+	/** The access flags of the class. */
+	int accessFlags;
+
+	/** The qualified names of the runtime visible annotations. */
+	Set<String> annotationNames;
+
+	/** The qualified class name. */
+	String className;
+
+	/** The qualified names of the implemented interfaces. */
+	List<String> interfaceNames;
+
+	/** The qualified name of the super class or null if the class has no super class. */
+	String superClassName;
+
+	/**
+	 * Checks if the annotation with the given qualified name is present in the class file.
+	 *
+	 * @param annotationName
+	 *            the qualified name of the annotation
+	 * @return true, if the annotation is present
+	 */
+	public boolean isAnnotationPresent(final String annotationName)
+	{
+		return annotationNames.contains(annotationName);
+	}
+
+}
@@ -0,0 +1,400 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The class {@link ClassFileReader} reads the constant pool, the class header and the
+ * <code>RuntimeVisibleAnnotations</code> attribute straight from the bytes of a class file. So the
+ * annotations of a class can be checked without loading the class and without running static
+ * initializers.
+ */
+public final class ClassFileReader
+{
+
+	/** The magic number of a class file. */
+	private static final int MAGIC = 0xCAFEBABE;
+
+	/** The name of the class file attribute that holds the runtime visible annotations. */
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+	/**
+	 * Reads the given class file.
+	 *
+	 * @param file
+	 *            the class file
+	 * @return the {@link ClassFileInfo} object with the information of the class file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ClassFileInfo read(final File file) throws IOException
+	{
+		return read(Files.readAllBytes(file.toPath()));
+	}
+
+	/**
+	 * Reads the given class file and reports the number of read bytes and the time spent for
+	 * reading to the given {@link ScanListener}.
+	 *
+	 * @param file
+	 *            the class file
+	 * @param scanListener
+	 *            the scan listener
+	 * @return the {@link ClassFileInfo} object with the information of the class file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ClassFileInfo read(final Path file, final ScanListener scanListener)
+		throws IOException
+	{
+		final long start = System.nanoTime();
+		final byte[] bytes = Files.readAllBytes(file);
+		scanListener.bytesRead(bytes.length, System.nanoTime() - start);
+		return read(bytes);
+	}
+
+	/**
+	 * Reads the given bytes of a class file.
+	 *
+	 * @param bytes
+	 *            the bytes of the class file
+	 * @return the {@link ClassFileInfo} object with the information of the class file
+	 * @throws IllegalArgumentException
+	 *             is thrown if the given bytes are not a valid class file
+	 */
+	public static ClassFileInfo read(final byte[] bytes)
+	{
+		try
+		{
+			return new ClassFileReader(bytes).read();
+		}
+		catch (final ArrayIndexOutOfBoundsException e)
+		{
+			throw new IllegalArgumentException("Given bytes are not a valid class file.", e);
+		}
+	}
+
+	/** The bytes of the class file. */
+	private final byte[] bytes;
+
+	/** The offsets of the constant pool entries, every offset points after the tag byte. */
+	private int[] constantPoolOffsets;
+
+	/**
+	 * Instantiates a new {@link ClassFileReader}.
+	 *
+	 * @param bytes
+	 *            the bytes of the class file
+	 */
+	private ClassFileReader(final byte[] bytes)
+	{
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Gets the qualified class name from the class constant with the given index.
+	 *
+	 * @param index
+	 *            the index of the class constant
+	 * @return the qualified class name or null if the given index is zero
+	 */
+	private String classNameAt(final int index)
+	{
+		if (index == 0)
+		{
+			return null;
+		}
+		return utf8At(u2(constantPoolOffsets[index])).replace('/', '.');
+	}
+
+	/**
+	 * Reads the class file.
+	 *
+	 * @return the {@link ClassFileInfo} object with the information of the class file
+	 */
+	private ClassFileInfo read()
+	{
+		if (u4(0) != MAGIC)
+		{
+			throw new IllegalArgumentException("Given bytes are not a valid class file.");
+		}
+		int position = readConstantPool();
+		final int accessFlags = u2(position);
+		final String className = classNameAt(u2(position + 2));
+		final String superClassName = classNameAt(u2(position + 4));
+		final int interfacesCount = u2(position + 6);
+		position += 8;
+		final List<String> interfaceNames = new ArrayList<>(interfacesCount);
+		for (int i = 0; i < interfacesCount; i++)
+		{
+			interfaceNames.add(classNameAt(u2(position)));
+			position += 2;
+		}
+		// skip fields and methods
+		position = skipMembers(position);
+		position = skipMembers(position);
+		Set<String> annotationNames = Collections.emptySet();
+		final int attributesCount = u2(position);
+		position += 2;
+		for (int i = 0; i < attributesCount; i++)
+		{
+			final int length = u4(position + 2);
+			if (RUNTIME_VISIBLE_ANNOTATIONS.equals(utf8At(u2(position))))
+			{
+				annotationNames = readAnnotationNames(position + 6);
+			}
+			position += 6 + length;
+		}
+		return ClassFileInfo.builder().accessFlags(accessFlags).className(className)
+			.superClassName(superClassName).interfaceNames(interfaceNames)
+			.annotationNames(annotationNames).build();
+	}
+
+	/**
+	 * Reads the type names of the annotations from the annotations attribute at the given
+	 * position.
+	 *
+	 * @param position
+	 *            the position of the attribute info
+	 * @return the qualified names of the annotations
+	 * @throws IllegalArgumentException
+	 *             is thrown if a type descriptor of an annotation is malformed
+	 */
+	private Set<String> readAnnotationNames(int position)
+	{
+		final int annotationsCount = u2(position);
+		position += 2;
+		final Set<String> annotationNames = new LinkedHashSet<>(annotationsCount * 2);
+		for (int i = 0; i < annotationsCount; i++)
+		{
+			final String descriptor = utf8At(u2(position));
+			// the descriptor has the form 'Lpackage/Name;'
+			if (descriptor.length() < 3 || descriptor.charAt(0) != 'L'
+				|| descriptor.charAt(descriptor.length() - 1) != ';')
+			{
+				throw new IllegalArgumentException(
+					"Malformed annotation descriptor '" + descriptor + "'.");
+			}
+			annotationNames.add(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'));
+			position = skipAnnotation(position + 2);
+		}
+		return annotationNames;
+	}
+
+	/**
+	 * Reads the constant pool and stores the offsets of the entries.
+	 *
+	 * @return the position after the constant pool
+	 */
+	private int readConstantPool()
+	{
+		final int constantPoolCount = u2(8);
+		constantPoolOffsets = new int[constantPoolCount];
+		int position = 10;
+		for (int i = 1; i < constantPoolCount; i++)
+		{
+			final int tag = bytes[position] & 0xFF;
+			constantPoolOffsets[i] = position + 1;
+			switch (tag)
+			{
+				case 1 : // Utf8
+					position += 3 + u2(position + 1);
+					break;
+				case 3 : // Integer
+				case 4 : // Float
+				case 9 : // Fieldref
+				case 10 : // Methodref
+				case 11 : // InterfaceMethodref
+				case 12 : // NameAndType
+				case 17 : // Dynamic
+				case 18 : // InvokeDynamic
+					position += 5;
+					break;
+				case 5 : // Long
+				case 6 : // Double
+					position += 9;
+					// takes two entries in the constant pool
+					i++;
+					break;
+				case 7 : // Class
+				case 8 : // String
+				case 16 : // MethodType
+				case 19 : // Module
+				case 20 : // Package
+					position += 3;
+					break;
+				case 15 : // MethodHandle
+					position += 4;
+					break;
+				default :
+					throw new IllegalArgumentException(
+						"Unknown constant pool tag " + tag + " at position " + position + ".");
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Skips the annotation with the element value pairs at the given position. The given position
+	 * points to the number of the element value pairs.
+	 *
+	 * @param position
+	 *            the position of the number of element value pairs
+	 * @return the position after the annotation
+	 */
+	private int skipAnnotation(int position)
+	{
+		final int pairsCount = u2(position);
+		position += 2;
+		for (int i = 0; i < pairsCount; i++)
+		{
+			position = skipElementValue(position + 2);
+		}
+		return position;
+	}
+
+	/**
+	 * Skips the element value at the given position.
+	 *
+	 * @param position
+	 *            the position of the element value
+	 * @return the position after the element value
+	 */
+	private int skipElementValue(int position)
+	{
+		final char tag = (char)(bytes[position] & 0xFF);
+		position++;
+		switch (tag)
+		{
+			case 'e' :
+				return position + 4;
+			case '@' :
+				return skipAnnotation(position + 2);
+			case '[' :
+				final int valuesCount = u2(position);
+				position += 2;
+				for (int i = 0; i < valuesCount; i++)
+				{
+					position = skipElementValue(position);
+				}
+				return position;
+			default :
+				// constant values and class values
+				return position + 2;
+		}
+	}
+
+	/**
+	 * Skips the fields or the methods at the given position.
+	 *
+	 * @param position
+	 *            the position of the members count
+	 * @return the position after the members
+	 */
+	private int skipMembers(int position)
+	{
+		final int membersCount = u2(position);
+		position += 2;
+		for (int i = 0; i < membersCount; i++)
+		{
+			final int attributesCount = u2(position + 6);
+			position += 8;
+			for (int j = 0; j < attributesCount; j++)
+			{
+				position += 6 + u4(position + 2);
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Reads an unsigned short value at the given position.
+	 *
+	 * @param position
+	 *            the position
+	 * @return the value
+	 */
+	private int u2(final int position)
+	{
+		return (bytes[position] & 0xFF) << 8 | bytes[position + 1] & 0xFF;
+	}
+
+	/**
+	 * Reads an int value at the given position.
+	 *
+	 * @param position
+	 *            the position
+	 * @return the value
+	 */
+	private int u4(final int position)
+	{
+		return u2(position) << 16 | u2(position + 2);
+	}
+
+	/**
+	 * Decodes the modified UTF-8 string of the utf8 constant with the given index.
+	 *
+	 * @param index
+	 *            the index of the utf8 constant
+	 * @return the string
+	 */
+	private String utf8At(final int index)
+	{
+		final int offset = constantPoolOffsets[index];
+		final int length = u2(offset);
+		final char[] chars = new char[length];
+		int position = offset + 2;
+		final int end = position + length;
+		int count = 0;
+		while (position < end)
+		{
+			final int c = bytes[position++] & 0xFF;
+			if (c < 0x80)
+			{
+				chars[count++] = (char)c;
+			}
+			else if (c >> 5 == 0x06)
+			{
+				chars[count++] = (char)((c & 0x1F) << 6 | bytes[position++] & 0x3F);
+			}
+			else
+			{
+				chars[count++] = (char)((c & 0x0F) << 12 | (bytes[position++] & 0x3F) << 6
+					| bytes[position++] & 0x3F);
+			}
+		}
+		return new String(chars, 0, count);
+	}
+
+}
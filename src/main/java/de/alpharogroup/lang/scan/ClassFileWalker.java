@@ -0,0 +1,318 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The class {@link ClassFileWalker} walks the class files of a package directory with
+ * {@link Files#walkFileTree(Path, Set, int, java.nio.file.FileVisitor)}. The attributes of every
+ * entry are read once while the directory is walked, the walk can be limited to a maximum depth,
+ * subtrees of packages can be skipped and directory cycles over symbolic links are detected and
+ * skipped.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ClassFileWalker
+{
+
+	/** The file extension of class files. */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 * The functional interface {@link ClassFileVisitor} is called for every class file that is
+	 * found from a {@link ClassFileWalker}.
+	 */
+	@FunctionalInterface
+	public interface ClassFileVisitor
+	{
+
+		/**
+		 * Visits the given class file.
+		 *
+		 * @param packageName
+		 *            the package name of the directory of the class file
+		 * @param file
+		 *            the class file
+		 * @param attributes
+		 *            the attributes of the class file
+		 */
+		void visitClassFile(String packageName, Path file, BasicFileAttributes attributes);
+
+	}
+
+	/**
+	 * The maximum number of directory levels that are visited. The value 1 visits only the class
+	 * files of the start directory.
+	 */
+	@Builder.Default
+	int maxDepth = Integer.MAX_VALUE;
+
+	/**
+	 * The flag if symbolic links are followed. If set a directory that links to one of its parent
+	 * directories is skipped.
+	 */
+	@Builder.Default
+	boolean followLinks = true;
+
+	/** The predicate for the package names of the subdirectories that are skipped. */
+	@Builder.Default
+	Predicate<String> skipPackage = packageName -> false;
+
+	/**
+	 * Factory method for create a new {@link ClassFileWalker} that walks only the start directory
+	 * or if the given recursive flag is set all subdirectories.
+	 *
+	 * @param recursive
+	 *            the recursive flag
+	 * @return the new {@link ClassFileWalker}
+	 */
+	public static ClassFileWalker of(final boolean recursive)
+	{
+		return ClassFileWalker.builder().maxDepth(recursive ? Integer.MAX_VALUE : 1).build();
+	}
+
+	/**
+	 * Gets the key that identifies the directory with the given attributes. This is the file key of
+	 * the attributes or the real path if the file system provides no file keys.
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param attributes
+	 *            the attributes of the directory
+	 * @return the key of the directory
+	 */
+	static Object getDirectoryKey(final Path directory, final BasicFileAttributes attributes)
+	{
+		final Object fileKey = attributes.fileKey();
+		if (fileKey != null)
+		{
+			return fileKey;
+		}
+		try
+		{
+			return directory.toRealPath();
+		}
+		catch (final IOException e)
+		{
+			return directory.toAbsolutePath().normalize();
+		}
+	}
+
+	/**
+	 * Gets the keys of the given start directory for detect symbolic link cycles. A subdirectory
+	 * with one of these keys links to one of its parent directories.
+	 *
+	 * @param directory
+	 *            the start directory
+	 * @return the new list with the key of the given start directory
+	 */
+	static List<Object> getStartDirectoryKeys(final Path directory)
+	{
+		final List<Object> keys = new ArrayList<>();
+		final BasicFileAttributes attributes = readAttributes(directory, true);
+		if (attributes != null)
+		{
+			keys.add(getDirectoryKey(directory, attributes));
+		}
+		return keys;
+	}
+
+	/**
+	 * Gets the qualified class name of the given class file in the given package.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param file
+	 *            the class file
+	 * @return the qualified class name
+	 */
+	public static String getQualifiedClassName(final String packageName, final Path file)
+	{
+		final String simpleClassName = getSimpleClassName(file);
+		return packageName.isEmpty() ? simpleClassName : packageName + '.' + simpleClassName;
+	}
+
+	/**
+	 * Gets the simple class name of the given class file, that is the file name without the class
+	 * file extension.
+	 *
+	 * @param file
+	 *            the class file
+	 * @return the simple class name
+	 */
+	public static String getSimpleClassName(final Path file)
+	{
+		final String fileName = file.getFileName().toString();
+		return fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length());
+	}
+
+	/**
+	 * Gets the qualified class names of the class files in the given package directory in the order
+	 * they are walked.
+	 *
+	 * @param directory
+	 *            the directory of the given package
+	 * @param packageName
+	 *            the package name
+	 * @return the qualified class names
+	 */
+	public List<String> getClassNames(final Path directory, final String packageName)
+	{
+		final List<String> classNames = new ArrayList<>();
+		walk(directory, packageName, (filePackageName, file, attributes) -> classNames
+			.add(getQualifiedClassName(filePackageName, file)));
+		return classNames;
+	}
+
+	/**
+	 * Reads the attributes of the given entry once, so the type of the entry is known without
+	 * further file system calls. If symbolic links are not followed the attributes of a link are
+	 * read, that is neither a directory nor a regular file.
+	 *
+	 * @param entry
+	 *            the directory entry
+	 * @param followLinks
+	 *            the flag if symbolic links are followed
+	 * @return the attributes or null if they cannot be read
+	 */
+	static BasicFileAttributes readAttributes(final Path entry, final boolean followLinks)
+	{
+		try
+		{
+			return followLinks
+				? Files.readAttributes(entry, BasicFileAttributes.class)
+				: Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		}
+		catch (final IOException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Walks the given package directory and calls the given visitor for every class file. Entries
+	 * that cannot be read are skipped like {@link java.io.File#listFiles()} does. Nothing is
+	 * visited if the given directory does not exist.
+	 *
+	 * @param directory
+	 *            the directory of the given package
+	 * @param packageName
+	 *            the package name
+	 * @param visitor
+	 *            the visitor for the found class files
+	 */
+	public void walk(final Path directory, final String packageName,
+		final ClassFileVisitor visitor)
+	{
+		if (!Files.isDirectory(directory))
+		{
+			return;
+		}
+		final Set<FileVisitOption> options = followLinks
+			? EnumSet.of(FileVisitOption.FOLLOW_LINKS)
+			: EnumSet.noneOf(FileVisitOption.class);
+		try
+		{
+			Files.walkFileTree(directory, options, maxDepth, new SimpleFileVisitor<Path>()
+			{
+				/** The package names of the directories that are currently walked. */
+				private final Deque<String> packageNames = new ArrayDeque<>();
+
+				@Override
+				public FileVisitResult preVisitDirectory(final Path dir,
+					final BasicFileAttributes attributes)
+				{
+					if (packageNames.isEmpty())
+					{
+						packageNames.push(packageName);
+						return FileVisitResult.CONTINUE;
+					}
+					final String parentPackageName = packageNames.peek();
+					final String directoryName = dir.getFileName().toString();
+					final String subPackageName = parentPackageName.isEmpty()
+						? directoryName
+						: parentPackageName + '.' + directoryName;
+					if (skipPackage.test(subPackageName))
+					{
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					packageNames.push(subPackageName);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(final Path file,
+					final BasicFileAttributes attributes)
+				{
+					if (attributes.isRegularFile()
+						&& file.getFileName().toString().endsWith(CLASS_FILE_EXTENSION))
+					{
+						visitor.visitClassFile(packageNames.peek(), file, attributes);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(final Path file, final IOException exc)
+				{
+					// unreadable entries and directory cycles are skipped
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(final Path dir, final IOException exc)
+				{
+					packageNames.pop();
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		catch (final IOException e)
+		{
+			// cannot happen, because the visitor throws no I/O exception
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
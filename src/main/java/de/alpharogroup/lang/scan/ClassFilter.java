@@ -0,0 +1,359 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * The class {@link ClassFilter} is a composable filter for the classes that a scanner finds. A
+ * filter has two stages, a cheap stage that decides only by the qualified class name and a
+ * bytecode stage that decides by the {@link ClassFileInfo} of the class file. Scanners test the
+ * class name before any class file is read and the {@link ClassFileInfo} before any class is
+ * loaded, so rejected classes are never read or loaded.
+ */
+public final class ClassFilter
+{
+
+	/** The access flag of synthetic classes. */
+	private static final int ACC_SYNTHETIC = 0x1000;
+
+	/** The filter that accepts all classes. */
+	private static final ClassFilter ALL = ofClassName(className -> true);
+
+	/** The flag if the bytecode stage is required for a decision. */
+	private final boolean bytecodeRequired;
+
+	/**
+	 * The predicate for the qualified class name. If the bytecode stage is required this predicate
+	 * returns true for every class name that may match.
+	 */
+	private final Predicate<String> classNamePredicate;
+
+	/** The predicate for the class file info, that makes the final decision. */
+	private final Predicate<ClassFileInfo> classFileInfoPredicate;
+
+	/**
+	 * Instantiates a new {@link ClassFilter}.
+	 *
+	 * @param classNamePredicate
+	 *            the predicate for the qualified class name
+	 * @param classFileInfoPredicate
+	 *            the predicate for the class file info
+	 * @param bytecodeRequired
+	 *            the flag if the bytecode stage is required for a decision
+	 */
+	private ClassFilter(final Predicate<String> classNamePredicate,
+		final Predicate<ClassFileInfo> classFileInfoPredicate, final boolean bytecodeRequired)
+	{
+		this.classNamePredicate = classNamePredicate;
+		this.classFileInfoPredicate = classFileInfoPredicate;
+		this.bytecodeRequired = bytecodeRequired;
+	}
+
+	/**
+	 * Gets the filter that accepts all classes.
+	 *
+	 * @return the filter that accepts all classes
+	 */
+	public static ClassFilter all()
+	{
+		return ALL;
+	}
+
+	/**
+	 * Factory method for create a filter that accepts the classes with a qualified class name that
+	 * matches the given glob pattern. The wildcard <code>*</code> matches any characters except
+	 * the dot, the wildcard <code>**</code> matches any characters and the wildcard <code>?</code>
+	 * matches one character except the dot. For instance the pattern
+	 * <code>de.alpharogroup.**.*Test</code> matches all classes with the suffix Test in the
+	 * package de.alpharogroup and its subpackages.
+	 *
+	 * @param glob
+	 *            the glob pattern
+	 * @return the new filter
+	 */
+	public static ClassFilter classNameMatches(final String glob)
+	{
+		return classNameMatchesRegex(toRegex(glob));
+	}
+
+	/**
+	 * Factory method for create a filter that accepts the classes with a qualified class name that
+	 * matches the given regular expression.
+	 *
+	 * @param regex
+	 *            the regular expression
+	 * @return the new filter
+	 */
+	public static ClassFilter classNameMatchesRegex(final String regex)
+	{
+		final Pattern pattern = Pattern.compile(regex);
+		return ofClassName(className -> pattern.matcher(className).matches());
+	}
+
+	/**
+	 * Factory method for create a filter that rejects inner, local and anonymous classes, that
+	 * are all classes with a '$' in the class name.
+	 *
+	 * @return the new filter
+	 */
+	public static ClassFilter excludeInnerClasses()
+	{
+		return ofClassName(className -> className.indexOf('$') == -1);
+	}
+
+	/**
+	 * Factory method for create a filter that rejects the classes that are generated from the
+	 * compiler and marked as synthetic in the class file.
+	 *
+	 * @return the new filter
+	 */
+	public static ClassFilter excludeSyntheticClasses()
+	{
+		return ofClassFileInfo(info -> (info.getAccessFlags() & ACC_SYNTHETIC) == 0);
+	}
+
+	/**
+	 * Factory method for create a filter that accepts the classes with the given qualified name of
+	 * the direct super class. Super classes of the super class are not considered, because they are
+	 * not visible in the class file.
+	 *
+	 * @param superClassName
+	 *            the qualified name of the super class
+	 * @return the new filter
+	 */
+	public static ClassFilter extendsClass(final String superClassName)
+	{
+		return ofClassFileInfo(info -> superClassName.equals(info.getSuperClassName()));
+	}
+
+	/**
+	 * Factory method for create a filter that accepts the classes that directly implements the
+	 * interface with the given qualified name. Interfaces of super classes or super interfaces are
+	 * not considered, because they are not visible in the class file.
+	 *
+	 * @param interfaceName
+	 *            the qualified name of the interface
+	 * @return the new filter
+	 */
+	public static ClassFilter implementsInterface(final String interfaceName)
+	{
+		return ofClassFileInfo(info -> info.getInterfaceNames().contains(interfaceName));
+	}
+
+	/**
+	 * Factory method for create a filter that accepts the classes of the given package and its
+	 * subpackages.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @return the new filter
+	 */
+	public static ClassFilter inPackage(final String packageName)
+	{
+		final String prefix = packageName.isEmpty() ? "" : packageName + '.';
+		return ofClassName(className -> className.startsWith(prefix));
+	}
+
+	/**
+	 * Factory method for create a filter that accepts the classes that has all the given modifiers.
+	 * The modifiers are compared with the access flags of the class file, that are equal to the
+	 * constants of {@link java.lang.reflect.Modifier} for the modifiers public, final, interface
+	 * and abstract. Note that the modifiers private, protected and static of inner classes are not
+	 * part of the access flags.
+	 *
+	 * @param modifiers
+	 *            the modifiers, for instance <code>Modifier.PUBLIC | Modifier.ABSTRACT</code>
+	 * @return the new filter
+	 */
+	public static ClassFilter withModifiers(final int modifiers)
+	{
+		return ofClassFileInfo(info -> (info.getAccessFlags() & modifiers) == modifiers);
+	}
+
+	/**
+	 * Factory method for create a filter that decides only by the qualified class name.
+	 *
+	 * @param classNamePredicate
+	 *            the predicate for the qualified class name
+	 * @return the new filter
+	 */
+	public static ClassFilter ofClassName(final Predicate<String> classNamePredicate)
+	{
+		return new ClassFilter(classNamePredicate,
+			info -> classNamePredicate.test(info.getClassName()), false);
+	}
+
+	/**
+	 * Factory method for create a filter that decides by the {@link ClassFileInfo} of the class
+	 * file.
+	 *
+	 * @param classFileInfoPredicate
+	 *            the predicate for the class file info
+	 * @return the new filter
+	 */
+	public static ClassFilter ofClassFileInfo(
+		final Predicate<ClassFileInfo> classFileInfoPredicate)
+	{
+		return new ClassFilter(className -> true, classFileInfoPredicate, true);
+	}
+
+	/**
+	 * Converts the given glob pattern to a regular expression.
+	 *
+	 * @param glob
+	 *            the glob pattern
+	 * @return the regular expression
+	 */
+	private static String toRegex(final String glob)
+	{
+		final StringBuilder regex = new StringBuilder(glob.length() + 16);
+		for (int i = 0; i < glob.length(); i++)
+		{
+			final char c = glob.charAt(i);
+			if (c == '*')
+			{
+				if (i + 1 < glob.length() && glob.charAt(i + 1) == '*')
+				{
+					regex.append(".*");
+					i++;
+				}
+				else
+				{
+					regex.append("[^.]*");
+				}
+			}
+			else if (c == '?')
+			{
+				regex.append("[^.]");
+			}
+			else
+			{
+				regex.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		return regex.toString();
+	}
+
+	/**
+	 * Checks if the given class candidate is accepted. The class name is tested first and only if
+	 * the bytecode stage is required the class file of the candidate is read.
+	 *
+	 * @param candidate
+	 *            the class candidate
+	 * @return true, if the given class candidate is accepted
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public boolean accept(final ClassCandidate candidate) throws IOException
+	{
+		if (!classNamePredicate.test(candidate.getClassName()))
+		{
+			return false;
+		}
+		return !bytecodeRequired || classFileInfoPredicate.test(candidate.getClassFileInfo());
+	}
+
+	/**
+	 * Checks if the class with the given class file info is accepted.
+	 *
+	 * @param classFileInfo
+	 *            the class file info
+	 * @return true, if the class is accepted
+	 */
+	public boolean accept(final ClassFileInfo classFileInfo)
+	{
+		return classFileInfoPredicate.test(classFileInfo);
+	}
+
+	/**
+	 * Checks if the class with the given qualified class name may be accepted. If the bytecode
+	 * stage is not required the result is the final decision.
+	 *
+	 * @param className
+	 *            the qualified class name
+	 * @return true, if the class may be accepted
+	 */
+	public boolean acceptClassName(final String className)
+	{
+		return classNamePredicate.test(className);
+	}
+
+	/**
+	 * Creates a filter that accepts the classes that are accepted from this and the given filter.
+	 *
+	 * @param other
+	 *            the other filter
+	 * @return the new filter
+	 */
+	public ClassFilter and(final ClassFilter other)
+	{
+		return new ClassFilter(classNamePredicate.and(other.classNamePredicate),
+			classFileInfoPredicate.and(other.classFileInfoPredicate),
+			bytecodeRequired || other.bytecodeRequired);
+	}
+
+	/**
+	 * Checks if the bytecode stage is required for a decision.
+	 *
+	 * @return true, if the class file have to be read for a decision
+	 */
+	public boolean isBytecodeRequired()
+	{
+		return bytecodeRequired;
+	}
+
+	/**
+	 * Creates a filter that accepts the classes that are rejected from this filter.
+	 *
+	 * @return the new filter
+	 */
+	public ClassFilter negate()
+	{
+		// a class name that may be accepted from a bytecode filter may be rejected from its
+		// negation and the other way around, so only the class names of a pure class name filter
+		// can be negated
+		return new ClassFilter(
+			bytecodeRequired ? className -> true : classNamePredicate.negate(),
+			classFileInfoPredicate.negate(), bytecodeRequired);
+	}
+
+	/**
+	 * Creates a filter that accepts the classes that are accepted from this or the given filter.
+	 *
+	 * @param other
+	 *            the other filter
+	 * @return the new filter
+	 */
+	public ClassFilter or(final ClassFilter other)
+	{
+		return new ClassFilter(classNamePredicate.or(other.classNamePredicate),
+			classFileInfoPredicate.or(other.classFileInfoPredicate),
+			bytecodeRequired || other.bytecodeRequired);
+	}
+
+}
@@ -0,0 +1,322 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+/**
+ * The class {@link ClassIndex} is the compile time index of the top level classes and their member
+ * classes of a classpath root. The index is generated from the {@link ClassIndexProcessor} in the
+ * resource {@link #INDEX_RESOURCE_NAME} and contains one line per package in the form
+ * {@code package=SimpleName,SimpleName$Member}. The scanners of the class
+ * {@link de.alpharogroup.lang.ScanPackageExtensions} take the class names of a classpath root from
+ * its index instead of listing the directories or jar file entries of the classpath root. Like the
+ * scan of a jar file returns only top level classes, the member classes are removed from the index
+ * of a jar file.
+ */
+public class ClassIndex
+{
+
+	/** The resource name of the index file. */
+	public static final String INDEX_RESOURCE_NAME = "META-INF/jcommons-lang/class-index";
+
+	/** The system property that disables the index files if it is set to true. */
+	public static final String IGNORE_PROPERTY = "jcommons.classIndex.ignore";
+
+	/** The prefix of a comment line. */
+	private static final String COMMENT_PREFIX = "#";
+
+	/** The cache with the index files of every class loader. */
+	private static final Map<ClassLoader, Map<String, ClassIndex>> CACHE = Collections
+		.synchronizedMap(new WeakHashMap<>());
+
+	/** The simple class names of every package. */
+	private final NavigableMap<String, Set<String>> packages = new TreeMap<>();
+
+	/**
+	 * Gets the index files of the given class loaders. The index files are read only once per
+	 * class loader.
+	 *
+	 * @param classLoaders
+	 *            the class loaders
+	 * @return the map with the root key of the classpath root as key and the index as value or an
+	 *         empty map if the system property {@link #IGNORE_PROPERTY} is set to true
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Map<String, ClassIndex> of(final List<ClassLoader> classLoaders)
+		throws IOException
+	{
+		if (Boolean.getBoolean(IGNORE_PROPERTY))
+		{
+			return Collections.emptyMap();
+		}
+		final Map<String, ClassIndex> indexes = new LinkedHashMap<>();
+		for (final ClassLoader classLoader : classLoaders)
+		{
+			Map<String, ClassIndex> classLoaderIndexes = CACHE.get(classLoader);
+			if (classLoaderIndexes == null)
+			{
+				classLoaderIndexes = read(classLoader);
+				CACHE.put(classLoader, classLoaderIndexes);
+			}
+			classLoaderIndexes.forEach(indexes::putIfAbsent);
+		}
+		return indexes;
+	}
+
+	/**
+	 * Gets the root key of the classpath root from the given url of a resource. The root key is the
+	 * external form of the url without the given resource name and without a trailing slash.
+	 *
+	 * @param url
+	 *            the url of the resource
+	 * @param resourceName
+	 *            the resource name, for instance the package path or {@link #INDEX_RESOURCE_NAME}
+	 * @return the root key or null if the url does not end with the given resource name
+	 */
+	public static String getRootKey(final URL url, final String resourceName)
+	{
+		String externalForm = stripTrailingSlash(url.toExternalForm());
+		final String name = stripTrailingSlash(resourceName);
+		if (!externalForm.endsWith(name))
+		{
+			return null;
+		}
+		externalForm = externalForm.substring(0, externalForm.length() - name.length());
+		return stripTrailingSlash(externalForm);
+	}
+
+	/**
+	 * Reads all index files that can be found from the given class loader.
+	 *
+	 * @param classLoader
+	 *            the class loader
+	 * @return the map with the root key of the classpath root as key and the index as value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static Map<String, ClassIndex> read(final ClassLoader classLoader) throws IOException
+	{
+		final Map<String, ClassIndex> indexes = new LinkedHashMap<>();
+		final Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE_NAME);
+		while (resources.hasMoreElements())
+		{
+			final URL url = resources.nextElement();
+			try (InputStream inputStream = url.openStream())
+			{
+				final ClassIndex index = read(inputStream);
+				if ("jar".equals(url.getProtocol()))
+				{
+					index.removeMemberClasses();
+				}
+				indexes.putIfAbsent(getRootKey(url, INDEX_RESOURCE_NAME), index);
+			}
+		}
+		return Collections.unmodifiableMap(indexes);
+	}
+
+	/**
+	 * Reads the index from the given input stream of an index file.
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @return the new {@link ClassIndex}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ClassIndex read(final InputStream inputStream) throws IOException
+	{
+		final ClassIndex index = new ClassIndex();
+		final BufferedReader reader = new BufferedReader(
+			new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null)
+		{
+			line = line.trim();
+			final int separator = line.indexOf('=');
+			if (line.isEmpty() || line.startsWith(COMMENT_PREFIX) || separator < 0)
+			{
+				continue;
+			}
+			final String packageName = line.substring(0, separator).trim();
+			for (final String simpleName : line.substring(separator + 1).split(","))
+			{
+				if (!simpleName.trim().isEmpty())
+				{
+					index.add(packageName, simpleName.trim());
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Removes the trailing slash of the given string.
+	 *
+	 * @param value
+	 *            the string
+	 * @return the string without a trailing slash
+	 */
+	private static String stripTrailingSlash(final String value)
+	{
+		return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+	}
+
+	/**
+	 * Adds the given qualified class name to this index.
+	 *
+	 * @param qualifiedClassName
+	 *            the qualified class name
+	 */
+	public void add(final String qualifiedClassName)
+	{
+		final int lastDot = qualifiedClassName.lastIndexOf('.');
+		add(lastDot < 0 ? "" : qualifiedClassName.substring(0, lastDot),
+			qualifiedClassName.substring(lastDot + 1));
+	}
+
+	/**
+	 * Adds the given class name to the given package of this index.
+	 *
+	 * @param packageName
+	 *            the package name or an empty string for the default package
+	 * @param simpleName
+	 *            the simple class name
+	 */
+	public void add(final String packageName, final String simpleName)
+	{
+		packages.computeIfAbsent(packageName, key -> new TreeSet<>()).add(simpleName);
+	}
+
+	/**
+	 * Gets the class names of the given package from this index.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names.
+	 * @return the class names
+	 */
+	public Set<String> getClassNames(final String packageName, final boolean recursive,
+		final boolean qualifiedClassnames)
+	{
+		final Set<String> classNames = new LinkedHashSet<>();
+		final String subpackagePrefix = packageName + ".";
+		for (final Map.Entry<String, Set<String>> entry : packages.tailMap(packageName, true)
+			.entrySet())
+		{
+			final String name = entry.getKey();
+			if (!name.startsWith(packageName))
+			{
+				// all subpackages are sorted directly after the package
+				break;
+			}
+			final boolean subpackage = !name.equals(packageName);
+			if (subpackage && (!recursive
+				|| !packageName.isEmpty() && !name.startsWith(subpackagePrefix)))
+			{
+				continue;
+			}
+			for (final String simpleName : entry.getValue())
+			{
+				classNames.add(qualifiedClassnames && !name.isEmpty()
+					? name + '.' + simpleName
+					: simpleName);
+			}
+		}
+		return classNames;
+	}
+
+	/**
+	 * Gets the simple class names of every package of this index.
+	 *
+	 * @return the unmodifiable map with the package names as key and the simple class names as
+	 *         value
+	 */
+	public Map<String, Set<String>> getPackages()
+	{
+		return Collections.unmodifiableMap(packages);
+	}
+
+	/**
+	 * Removes the member classes, that are the class names with a '$', from this index.
+	 */
+	private void removeMemberClasses()
+	{
+		for (final Set<String> simpleNames : packages.values())
+		{
+			simpleNames.removeIf(simpleName -> simpleName.indexOf('$') >= 0);
+		}
+		packages.values().removeIf(Set::isEmpty);
+	}
+
+	/**
+	 * Writes this index to the given output stream of an index file.
+	 *
+	 * @param outputStream
+	 *            the output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void write(final OutputStream outputStream) throws IOException
+	{
+		final BufferedWriter writer = new BufferedWriter(
+			new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		writer.write(COMMENT_PREFIX + " Generated by " + ClassIndexProcessor.class.getName()
+			+ ", do not edit");
+		writer.newLine();
+		for (final Map.Entry<String, Set<String>> entry : packages.entrySet())
+		{
+			writer.write(entry.getKey());
+			writer.write('=');
+			writer.write(String.join(",", entry.getValue()));
+			writer.newLine();
+		}
+		writer.flush();
+	}
+
+}
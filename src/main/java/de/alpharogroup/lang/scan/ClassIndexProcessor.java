@@ -0,0 +1,179 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The class {@link ClassIndexProcessor} is an optional annotation processor that collects all top
+ * level classes and their member classes of a compilation with their binary names and writes them
+ * in the index file {@link ClassIndex#INDEX_RESOURCE_NAME}. Anonymous and local classes have no
+ * element in the compilation and are not contained. The processor does not claim any annotations.
+ * It is not
+ * registered as service, so it have to be declared explicitly, for instance in the
+ * annotationProcessors of the maven-compiler-plugin.
+ */
+@SupportedAnnotationTypes("*")
+public class ClassIndexProcessor extends AbstractProcessor
+{
+
+	/** The index with the collected classes. */
+	private final ClassIndex classIndex = new ClassIndex();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations,
+		final RoundEnvironment roundEnv)
+	{
+		if (roundEnv.processingOver())
+		{
+			if (!classIndex.getPackages().isEmpty())
+			{
+				writeIndex();
+			}
+			return false;
+		}
+		for (final Element element : roundEnv.getRootElements())
+		{
+			if (element instanceof TypeElement)
+			{
+				add((TypeElement)element);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the binary name of the given type and of all its member types to the index.
+	 *
+	 * @param type
+	 *            the type
+	 */
+	private void add(final TypeElement type)
+	{
+		classIndex.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+		for (final Element enclosedElement : type.getEnclosedElements())
+		{
+			if (enclosedElement instanceof TypeElement)
+			{
+				add((TypeElement)enclosedElement);
+			}
+		}
+	}
+
+	/**
+	 * Checks if the type with the given binary name still exists. This is used for keep the
+	 * entries of a previous index file on an incremental compilation.
+	 *
+	 * @param className
+	 *            the binary class name
+	 * @return true, if the type still exists
+	 */
+	private boolean exists(final String className)
+	{
+		final Elements elements = processingEnv.getElementUtils();
+		final TypeElement type = elements.getTypeElement(className.replace('$', '.'));
+		return type != null && elements.getBinaryName(type).contentEquals(className);
+	}
+
+	/**
+	 * Writes the index file with the collected classes and the still existing classes of a
+	 * previous index file.
+	 */
+	private void writeIndex()
+	{
+		final Filer filer = processingEnv.getFiler();
+		try
+		{
+			final FileObject previousIndex = filer.getResource(StandardLocation.CLASS_OUTPUT, "",
+				ClassIndex.INDEX_RESOURCE_NAME);
+			final ClassIndex previousClassIndex;
+			try (InputStream inputStream = previousIndex.openInputStream())
+			{
+				previousClassIndex = ClassIndex.read(inputStream);
+			}
+			for (final Map.Entry<String, Set<String>> entry : previousClassIndex.getPackages()
+				.entrySet())
+			{
+				for (final String simpleName : entry.getValue())
+				{
+					final String className = entry.getKey().isEmpty()
+						? simpleName
+						: entry.getKey() + '.' + simpleName;
+					if (exists(className))
+					{
+						classIndex.add(entry.getKey(), simpleName);
+					}
+				}
+			}
+		}
+		catch (final IOException | IllegalArgumentException e)
+		{
+			// no previous index file exists
+		}
+		try
+		{
+			final FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+				ClassIndex.INDEX_RESOURCE_NAME);
+			try (OutputStream outputStream = index.openOutputStream())
+			{
+				classIndex.write(outputStream);
+			}
+		}
+		catch (final IOException e)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+				"Could not write " + ClassIndex.INDEX_RESOURCE_NAME + ": " + e);
+		}
+	}
+
+}
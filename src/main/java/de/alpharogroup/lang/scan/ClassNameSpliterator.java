@@ -0,0 +1,430 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The class {@link ClassNameSpliterator} is a lazy {@link Spliterator} over the class names of a
+ * package in directories and jar files. Directories are listed and jar entries are read only on
+ * demand, so a stream that is backed by this spliterator can terminate early and holds only the
+ * pending directories in memory. The attributes of every directory entry are read only once with
+ * java.nio and a subdirectory that links to one of its parent directories is skipped. The pending
+ * directories and the files of the current directory are split for parallel streams.
+ */
+public class ClassNameSpliterator implements Spliterator<String>
+{
+
+	/** The file extension of class files. */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/** The reader of the current jar file. */
+	private ZipCentralDirectoryReader currentArchive;
+
+	/** The package path with a trailing slash of the current jar file. */
+	private String currentArchivePackagePath;
+
+	/** The simple class names of the class files of the current directory. */
+	private String[] currentFiles;
+
+	/** The package name of the current directory. */
+	private String currentPackageName;
+
+	/** The end index of the files of the current directory. */
+	private int fence;
+
+	/** The index of the next file of the current directory. */
+	private int index;
+
+	/** The pending directories and jar files. */
+	private final Deque<Root> pending;
+
+	/** The flag if the class names should be qualified class names. */
+	private final boolean qualifiedClassnames;
+
+	/** The recursive flag. */
+	private final boolean recursive;
+
+	/**
+	 * Instantiates a new {@link ClassNameSpliterator}.
+	 *
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names
+	 */
+	public ClassNameSpliterator(final boolean recursive, final boolean qualifiedClassnames)
+	{
+		this(new ArrayDeque<>(), recursive, qualifiedClassnames);
+	}
+
+	/**
+	 * Instantiates a new {@link ClassNameSpliterator} with the given pending roots.
+	 *
+	 * @param pending
+	 *            the pending directories and jar files
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names
+	 */
+	private ClassNameSpliterator(final Deque<Root> pending, final boolean recursive,
+		final boolean qualifiedClassnames)
+	{
+		this.pending = pending;
+		this.recursive = recursive;
+		this.qualifiedClassnames = qualifiedClassnames;
+	}
+
+	/**
+	 * Adds the given jar file that contains the given package.
+	 *
+	 * @param file
+	 *            the jar file
+	 * @param packageName
+	 *            the package name
+	 * @return this {@link ClassNameSpliterator} object
+	 */
+	public ClassNameSpliterator addArchive(final File file, final String packageName)
+	{
+		pending.add(new Root(file, packageName, true, null));
+		return this;
+	}
+
+	/**
+	 * Adds the given directory of the given package.
+	 *
+	 * @param directory
+	 *            the directory of the package
+	 * @param packageName
+	 *            the package name
+	 * @return this {@link ClassNameSpliterator} object
+	 */
+	public ClassNameSpliterator addDirectory(final File directory, final String packageName)
+	{
+		pending.add(new Root(directory, packageName, false, null));
+		return this;
+	}
+
+	/**
+	 * Advances the reader of the current jar file to the next class file of the package.
+	 *
+	 * @param action
+	 *            the action for the class name
+	 * @return true, if a class name was passed to the given action
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private boolean advanceArchive(final Consumer<? super String> action) throws IOException
+	{
+		while (currentArchive.next())
+		{
+			final CharSequence entryName = currentArchive.getEntryName();
+			final int start = JarPackageIndex.getClassRootPrefixLength(entryName);
+			final int end = entryName.length() - CLASS_FILE_EXTENSION.length();
+			if (end <= start
+				|| !JarPackageIndex.startsWith(entryName, currentArchivePackagePath, start)
+				|| !JarPackageIndex.startsWith(entryName, CLASS_FILE_EXTENSION, end))
+			{
+				continue;
+			}
+			final int nameStart = start + currentArchivePackagePath.length();
+			int lastSlash = -1;
+			boolean innerClass = false;
+			for (int i = nameStart; i < end; i++)
+			{
+				final char c = entryName.charAt(i);
+				if (c == '/')
+				{
+					lastSlash = i;
+				}
+				else if (c == '$')
+				{
+					innerClass = true;
+				}
+			}
+			if (innerClass || !recursive && lastSlash != -1)
+			{
+				continue;
+			}
+			final String className = qualifiedClassnames
+				? entryName.subSequence(start, end).toString().replace('/', '.')
+				: entryName.subSequence(Math.max(nameStart, lastSlash + 1), end).toString();
+			action.accept(className);
+			return true;
+		}
+		currentArchive = null;
+		return false;
+	}
+
+	/**
+	 * Advances to the next class file of the current directory.
+	 *
+	 * @param action
+	 *            the action for the class name
+	 * @return true, if a class name was passed to the given action
+	 */
+	private boolean advanceDirectory(final Consumer<? super String> action)
+	{
+		if (index < fence)
+		{
+			final String simpleClassName = currentFiles[index++];
+			action.accept(qualifiedClassnames
+				? currentPackageName + '.' + simpleClassName
+				: simpleClassName);
+			return true;
+		}
+		currentFiles = null;
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int characteristics()
+	{
+		return NONNULL;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long estimateSize()
+	{
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Opens the next pending directory or jar file.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void openNext() throws IOException
+	{
+		final Root root = pending.pop();
+		if (root.archive)
+		{
+			currentArchive = ZipCentralDirectoryReader.open(root.file);
+			currentArchivePackagePath = root.packageName.isEmpty()
+				? ""
+				: root.packageName.replace('.', '/') + '/';
+		}
+		else
+		{
+			currentFiles = listDirectory(root);
+			currentPackageName = root.packageName;
+			index = 0;
+			fence = currentFiles.length;
+		}
+	}
+
+	/**
+	 * Lists the class files of the given directory and pushes the subdirectories to the pending
+	 * directories if the recursive flag is set. A directory that cannot be read is skipped like
+	 * {@link File#listFiles()} does.
+	 *
+	 * @param root
+	 *            the directory
+	 * @return the simple class names of the class files of the given directory
+	 */
+	private String[] listDirectory(final Root root)
+	{
+		final Path directory = root.file.toPath();
+		final List<String> simpleClassNames = new ArrayList<>();
+		final List<Object> keys = root.directoryKeys != null
+			? root.directoryKeys
+			: ClassFileWalker.getStartDirectoryKeys(directory);
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory))
+		{
+			for (final Path entry : entries)
+			{
+				final BasicFileAttributes attributes = ClassFileWalker.readAttributes(entry, true);
+				if (attributes == null)
+				{
+					continue;
+				}
+				final String fileName = entry.getFileName().toString();
+				if (attributes.isDirectory())
+				{
+					final Object key = ClassFileWalker.getDirectoryKey(entry, attributes);
+					if (recursive && !keys.contains(key))
+					{
+						final List<Object> subKeys = new ArrayList<>(keys);
+						subKeys.add(key);
+						pending.push(new Root(entry.toFile(), root.packageName + "." + fileName,
+							false, subKeys));
+					}
+				}
+				else if (attributes.isRegularFile() && fileName.endsWith(CLASS_FILE_EXTENSION))
+				{
+					simpleClassNames.add(fileName.substring(0,
+						fileName.length() - CLASS_FILE_EXTENSION.length()));
+				}
+			}
+		}
+		catch (final IOException | DirectoryIteratorException e)
+		{
+			// a directory that cannot be read is skipped like File.listFiles does
+		}
+		return simpleClassNames.toArray(new String[0]);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean tryAdvance(final Consumer<? super String> action)
+	{
+		try
+		{
+			while (true)
+			{
+				if (currentFiles != null && advanceDirectory(action))
+				{
+					return true;
+				}
+				if (currentArchive != null && advanceArchive(action))
+				{
+					return true;
+				}
+				if (pending.isEmpty())
+				{
+					return false;
+				}
+				openNext();
+			}
+		}
+		catch (final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Spliterator<String> trySplit()
+	{
+		if (currentFiles == null && currentArchive == null && pending.size() == 1
+			&& !pending.peek().archive)
+		{
+			try
+			{
+				openNext();
+			}
+			catch (final IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+		final boolean current = currentFiles != null || currentArchive != null;
+		if (1 < pending.size() || !pending.isEmpty() && current)
+		{
+			final Deque<Root> split = new ArrayDeque<>();
+			final int count = (pending.size() + 1) / 2;
+			for (int i = 0; i < count; i++)
+			{
+				split.add(pending.pollLast());
+			}
+			return new ClassNameSpliterator(split, recursive, qualifiedClassnames);
+		}
+		if (currentFiles != null && 2 <= fence - index)
+		{
+			final int middle = (index + fence) >>> 1;
+			final ClassNameSpliterator split = new ClassNameSpliterator(new ArrayDeque<>(),
+				recursive, qualifiedClassnames);
+			split.currentFiles = currentFiles;
+			split.currentPackageName = currentPackageName;
+			split.index = index;
+			split.fence = middle;
+			index = middle;
+			return split;
+		}
+		return null;
+	}
+
+	/**
+	 * The class {@link Root} is a pending directory or jar file of a package.
+	 */
+	private static final class Root
+	{
+
+		/** The flag if the file is a jar file. */
+		private final boolean archive;
+
+		/**
+		 * The keys of the directory and its parent directories or null for a directory that was
+		 * added as start directory.
+		 */
+		private final List<Object> directoryKeys;
+
+		/** The directory or jar file. */
+		private final File file;
+
+		/** The package name. */
+		private final String packageName;
+
+		/**
+		 * Instantiates a new {@link Root}.
+		 *
+		 * @param file
+		 *            the directory or jar file
+		 * @param packageName
+		 *            the package name
+		 * @param archive
+		 *            the flag if the file is a jar file
+		 * @param directoryKeys
+		 *            the keys of the directory and its parent directories or null for a start
+		 *            directory
+		 */
+		private Root(final File file, final String packageName, final boolean archive,
+			final List<Object> directoryKeys)
+		{
+			this.directoryKeys = directoryKeys;
+			this.file = file;
+			this.packageName = packageName;
+			this.archive = archive;
+		}
+
+	}
+
+}
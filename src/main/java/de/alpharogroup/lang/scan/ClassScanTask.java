@@ -0,0 +1,354 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The class {@link ClassScanTask} is a fork-join task that scans a directory for annotated classes.
+ * Every subdirectory is scanned in a forked subtask and all found classes are added to the given
+ * result set, that have to be thread safe. The scan is limited to the maximum depth of the
+ * {@link ScanOptions} and a subdirectory that links to the directory itself or one of its parent
+ * directories is skipped, so symbolic link cycles are not followed.
+ */
+public class ClassScanTask extends RecursiveAction
+{
+
+	/** The file extension of class files. */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 * The serialVersionUID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/** The matcher for the annotation classes or null if all classes should be found. */
+	private final transient AnnotationMatcher annotationMatcher;
+
+	/** The class loader for load the found classes. */
+	private final transient ClassLoader classLoader;
+
+	/** The depth of the directory, that is 1 for the start directory. */
+	private final int depth;
+
+	/** The directory to scan. */
+	private final File directory;
+
+	/**
+	 * The keys of the directory and its parent directories for detect symbolic link cycles or null
+	 * for the start directory.
+	 */
+	private final transient List<Object> directoryKeys;
+
+	/** The thread safe set for the found classes. */
+	private final Set<Class<?>> foundClasses;
+
+	/**
+	 * The map with the thread safe sets for the found classes of every annotation class or null if
+	 * the found classes should not be grouped.
+	 */
+	private final Map<Class<? extends Annotation>, Set<Class<?>>> foundClassesByAnnotation;
+
+	/** The package path of the directory. */
+	private final String packagePath;
+
+	/** The scan options. */
+	private final transient ScanOptions scanOptions;
+
+	/**
+	 * Instantiates a new {@link ClassScanTask}.
+	 *
+	 * @param directory
+	 *            the directory to scan
+	 * @param packagePath
+	 *            the package path of the given directory
+	 * @param annotationClasses
+	 *            the annotation classes or null if all classes should be found
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param foundClasses
+	 *            the thread safe set for the found classes
+	 */
+	public ClassScanTask(final File directory, final String packagePath,
+		final Set<Class<? extends Annotation>> annotationClasses, final ClassLoader classLoader,
+		final Set<Class<?>> foundClasses)
+	{
+		this(directory, packagePath, annotationClasses, ScanOptions.builder().build(), classLoader,
+			foundClasses);
+	}
+
+	/**
+	 * Instantiates a new {@link ClassScanTask}.
+	 *
+	 * @param directory
+	 *            the directory to scan
+	 * @param packagePath
+	 *            the package path of the given directory
+	 * @param annotationClasses
+	 *            the annotation classes or null if all classes should be found
+	 * @param scanOptions
+	 *            the scan options
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param foundClasses
+	 *            the thread safe set for the found classes
+	 */
+	public ClassScanTask(final File directory, final String packagePath,
+		final Set<Class<? extends Annotation>> annotationClasses, final ScanOptions scanOptions,
+		final ClassLoader classLoader, final Set<Class<?>> foundClasses)
+	{
+		this(directory, packagePath,
+			annotationClasses != null ? new AnnotationMatcher(annotationClasses) : null,
+			scanOptions, classLoader, foundClasses, null);
+	}
+
+	/**
+	 * Instantiates a new {@link ClassScanTask} that groups the found classes additionally by the
+	 * annotation classes of the given {@link AnnotationMatcher}. The annotations of every class are
+	 * matched only once against all annotation classes.
+	 *
+	 * @param directory
+	 *            the directory to scan
+	 * @param packagePath
+	 *            the package path of the given directory
+	 * @param annotationMatcher
+	 *            the matcher for the annotation classes or null if all classes should be found
+	 * @param scanOptions
+	 *            the scan options
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param foundClasses
+	 *            the thread safe set for the found classes
+	 * @param foundClassesByAnnotation
+	 *            the map with a thread safe set for every annotation class of the given matcher or
+	 *            null if the found classes should not be grouped
+	 */
+	public ClassScanTask(final File directory, final String packagePath,
+		final AnnotationMatcher annotationMatcher, final ScanOptions scanOptions,
+		final ClassLoader classLoader, final Set<Class<?>> foundClasses,
+		final Map<Class<? extends Annotation>, Set<Class<?>>> foundClassesByAnnotation)
+	{
+		this(directory, packagePath, annotationMatcher, scanOptions, classLoader, foundClasses,
+			foundClassesByAnnotation, 1, null);
+	}
+
+	/**
+	 * Instantiates a new {@link ClassScanTask} for a directory in the given depth.
+	 *
+	 * @param directory
+	 *            the directory to scan
+	 * @param packagePath
+	 *            the package path of the given directory
+	 * @param annotationMatcher
+	 *            the matcher for the annotation classes or null if all classes should be found
+	 * @param scanOptions
+	 *            the scan options
+	 * @param classLoader
+	 *            the class loader for load the found classes
+	 * @param foundClasses
+	 *            the thread safe set for the found classes
+	 * @param foundClassesByAnnotation
+	 *            the map with a thread safe set for every annotation class of the given matcher or
+	 *            null if the found classes should not be grouped
+	 * @param depth
+	 *            the depth of the given directory
+	 * @param directoryKeys
+	 *            the keys of the given directory and its parent directories or null for the start
+	 *            directory
+	 */
+	private ClassScanTask(final File directory, final String packagePath,
+		final AnnotationMatcher annotationMatcher, final ScanOptions scanOptions,
+		final ClassLoader classLoader, final Set<Class<?>> foundClasses,
+		final Map<Class<? extends Annotation>, Set<Class<?>>> foundClassesByAnnotation,
+		final int depth, final List<Object> directoryKeys)
+	{
+		this.depth = depth;
+		this.directoryKeys = directoryKeys;
+		this.directory = directory;
+		this.packagePath = packagePath;
+		this.annotationMatcher = annotationMatcher;
+		this.scanOptions = scanOptions;
+		this.classLoader = classLoader;
+		this.foundClasses = foundClasses;
+		this.foundClassesByAnnotation = foundClassesByAnnotation;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void compute()
+	{
+		final List<ClassScanTask> subTasks = new ArrayList<>();
+		final List<Path> classFiles = new ArrayList<>();
+		final Path directoryPath = directory.toPath();
+		final boolean followLinks = scanOptions.isFollowLinks();
+		final List<Object> keys = directoryKeys != null
+			? directoryKeys
+			: ClassFileWalker.getStartDirectoryKeys(directoryPath);
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(directoryPath))
+		{
+			for (final Path entry : entries)
+			{
+				final BasicFileAttributes attributes = ClassFileWalker.readAttributes(entry,
+					followLinks);
+				if (attributes == null)
+				{
+					continue;
+				}
+				final String fileName = entry.getFileName().toString();
+				if (attributes.isDirectory())
+				{
+					final Object key = ClassFileWalker.getDirectoryKey(entry, attributes);
+					if (depth < scanOptions.getMaxDepth() && !keys.contains(key))
+					{
+						final List<Object> subKeys = new ArrayList<>(keys);
+						subKeys.add(key);
+						final ClassScanTask subTask = new ClassScanTask(entry.toFile(),
+							packagePath + "." + fileName, annotationMatcher, scanOptions,
+							classLoader, foundClasses, foundClassesByAnnotation, depth + 1,
+							subKeys);
+						subTask.fork();
+						subTasks.add(subTask);
+					}
+				}
+				else if (attributes.isRegularFile() && fileName.endsWith(CLASS_FILE_EXTENSION))
+				{
+					classFiles.add(entry);
+				}
+			}
+		}
+		catch (final IOException | DirectoryIteratorException e)
+		{
+			// a directory that cannot be read is skipped like File.listFiles does
+		}
+		scanOptions.getScanListener().entriesVisited(classFiles.size());
+		for (final Path classFile : classFiles)
+		{
+			if (isCandidate(classFile))
+			{
+				resolve(packagePath + '.' + ClassFileWalker.getSimpleClassName(classFile));
+			}
+		}
+		for (final ClassScanTask subTask : subTasks)
+		{
+			subTask.join();
+		}
+	}
+
+	/**
+	 * Checks if the given class file is a candidate for loading. If the bytecode annotation filter
+	 * is enabled the annotations are read from the class file and only class files that are
+	 * annotated with one of the annotation classes are candidates. Class files that cannot be read
+	 * are always candidates, so they are checked after loading.
+	 *
+	 * @param file
+	 *            the class file
+	 * @return true, if the class file is a candidate for loading
+	 */
+	private boolean isCandidate(final Path file)
+	{
+		if (annotationMatcher == null || !scanOptions.isBytecodeAnnotationFilter())
+		{
+			return true;
+		}
+		final ClassFileInfo classFileInfo;
+		try
+		{
+			classFileInfo = ClassFileReader.read(file, scanOptions.getScanListener());
+		}
+		catch (final IOException | IllegalArgumentException e)
+		{
+			return true;
+		}
+		return !annotationMatcher.match(classFileInfo).isEmpty();
+	}
+
+	/**
+	 * Loads the class with the given qualified class name and adds it to the found classes if it
+	 * is annotated with one of the annotation classes.
+	 *
+	 * @param qualifiedClassname
+	 *            the qualified class name
+	 */
+	private void resolve(final String qualifiedClassname)
+	{
+		final Class<?> foundClass = load(qualifiedClassname);
+		if (annotationMatcher == null)
+		{
+			foundClasses.add(foundClass);
+			return;
+		}
+		final BitSet matches = annotationMatcher.match(foundClass);
+		if (matches.isEmpty())
+		{
+			return;
+		}
+		foundClasses.add(foundClass);
+		if (foundClassesByAnnotation != null)
+		{
+			for (int index = matches.nextSetBit(0); index >= 0; index = matches
+				.nextSetBit(index + 1))
+			{
+				foundClassesByAnnotation.get(annotationMatcher.getAnnotationClass(index))
+					.add(foundClass);
+			}
+		}
+	}
+
+	/**
+	 * Loads the class with the given qualified class name. The class is only initialized if the
+	 * flag {@link ScanOptions#isInitializeClasses()} is set.
+	 *
+	 * @param qualifiedClassname
+	 *            the qualified class name
+	 * @return the class
+	 */
+	private Class<?> load(final String qualifiedClassname)
+	{
+		try
+		{
+			return scanOptions.loadClass(qualifiedClassname, classLoader);
+		}
+		catch (final ClassNotFoundException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
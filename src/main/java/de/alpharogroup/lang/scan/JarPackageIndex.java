@@ -0,0 +1,309 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The class {@link JarPackageIndex} is a package trie of the class files from a jar file. The
+ * index is build with a single pass over the central directory of the jar file and answers
+ * recursive and non-recursive queries for the class names of a package without reading the jar
+ * file again.
+ */
+public class JarPackageIndex
+{
+
+	/** The file extension of class files. */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 * The prefixes of the class roots in nested archive layouts like spring boot jars or war files.
+	 */
+	private static final String[] CLASS_ROOT_PREFIXES = { "BOOT-INF/classes/",
+			"WEB-INF/classes/" };
+
+	/**
+	 * Factory method for create a new {@link JarPackageIndex} from the given jar file. The entry
+	 * names are read from the memory mapped central directory of the jar file with the
+	 * {@link ZipCentralDirectoryReader}.
+	 *
+	 * @param file
+	 *            the jar file
+	 * @return the new {@link JarPackageIndex}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static JarPackageIndex of(final File file) throws IOException
+	{
+		final JarPackageIndex index = new JarPackageIndex();
+		ZipCentralDirectoryReader.readEntryNames(file, index::add);
+		return index;
+	}
+
+	/**
+	 * Gets the length of the class root prefix of the given entry name.
+	 *
+	 * @param entryName
+	 *            the entry name
+	 * @return the length of the class root prefix or 0 if the entry name has no class root prefix
+	 */
+	static int getClassRootPrefixLength(final CharSequence entryName)
+	{
+		for (final String prefix : CLASS_ROOT_PREFIXES)
+		{
+			if (startsWith(entryName, prefix, 0))
+			{
+				return prefix.length();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Checks if the given sequence contains the given string at the given offset.
+	 *
+	 * @param sequence
+	 *            the sequence
+	 * @param string
+	 *            the string
+	 * @param offset
+	 *            the offset in the sequence
+	 * @return true, if the sequence contains the string at the offset
+	 */
+	static boolean startsWith(final CharSequence sequence, final String string,
+		final int offset)
+	{
+		if (sequence.length() - offset < string.length())
+		{
+			return false;
+		}
+		for (int i = 0; i < string.length(); i++)
+		{
+			if (sequence.charAt(offset + i) != string.charAt(i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** The root node of the default package. */
+	private final PackageNode root = new PackageNode();
+
+	/**
+	 * Adds the given entry name to this index if it is the name of a class file. The class root
+	 * prefixes of spring boot jars and war files are removed. Strings are only created for new
+	 * packages and the class names, so the given entry name can be a reused {@link CharSequence}.
+	 *
+	 * @param entryName
+	 *            the entry name, for instance 'de/alpharogroup/lang/Foo.class'
+	 */
+	public void add(final CharSequence entryName)
+	{
+		final int length = entryName.length();
+		final int end = length - CLASS_FILE_EXTENSION.length();
+		if (end <= 0 || !startsWith(entryName, CLASS_FILE_EXTENSION, end))
+		{
+			return;
+		}
+		PackageNode node = root;
+		int start = getClassRootPrefixLength(entryName);
+		for (int i = start; i < end; i++)
+		{
+			if (entryName.charAt(i) == '/')
+			{
+				node = node.getOrCreate(entryName, start, i);
+				start = i + 1;
+			}
+		}
+		node.classNames.add(entryName.subSequence(start, end).toString());
+	}
+
+	/**
+	 * Collects the class names of the given node and if the recursive flag is set the class names
+	 * of all subpackages. Class names that contains a '$' character are ignored.
+	 *
+	 * @param node
+	 *            the node
+	 * @param packageName
+	 *            the package name of the node
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names
+	 * @param classNames
+	 *            the set for the collected class names
+	 * @return the number of visited class files
+	 */
+	private long collect(final PackageNode node, final String packageName,
+		final boolean recursive, final boolean qualifiedClassnames, final Set<String> classNames)
+	{
+		long entries = node.classNames.size();
+		for (final String className : node.classNames)
+		{
+			if (className.indexOf('$') == -1)
+			{
+				classNames.add(qualifiedClassnames && !packageName.isEmpty()
+					? packageName + '.' + className
+					: className);
+			}
+		}
+		if (recursive)
+		{
+			for (final Map.Entry<String, PackageNode> entry : node.subpackages.entrySet())
+			{
+				final String subpackageName = packageName.isEmpty()
+					? entry.getKey()
+					: packageName + '.' + entry.getKey();
+				entries += collect(entry.getValue(), subpackageName, recursive,
+					qualifiedClassnames, classNames);
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Gets the class names from the given package name.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names
+	 * @return the class names
+	 */
+	public Set<String> getClassNames(final String packageName, final boolean recursive,
+		final boolean qualifiedClassnames)
+	{
+		return getClassNames(packageName, recursive, qualifiedClassnames, ScanListener.NOOP);
+	}
+
+	/**
+	 * Gets the class names from the given package name and reports the number of class files that
+	 * are visited in the package and its subpackages to the given {@link ScanListener}.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names
+	 * @param scanListener
+	 *            the scan listener
+	 * @return the class names
+	 */
+	public Set<String> getClassNames(final String packageName, final boolean recursive,
+		final boolean qualifiedClassnames, final ScanListener scanListener)
+	{
+		final Set<String> classNames = new LinkedHashSet<>();
+		final PackageNode node = getNode(packageName);
+		if (node != null)
+		{
+			scanListener.entriesVisited(
+				collect(node, packageName, recursive, qualifiedClassnames, classNames));
+		}
+		return classNames;
+	}
+
+	/**
+	 * Gets the node of the given package name.
+	 *
+	 * @param packageName
+	 *            the package name
+	 * @return the node or null if the package does not exist in this index
+	 */
+	private PackageNode getNode(final String packageName)
+	{
+		PackageNode node = root;
+		if (packageName.isEmpty())
+		{
+			return node;
+		}
+		int start = 0;
+		int dot;
+		do
+		{
+			dot = packageName.indexOf('.', start);
+			final String name = dot == -1
+				? packageName.substring(start)
+				: packageName.substring(start, dot);
+			node = node.subpackages.get(name);
+			start = dot + 1;
+		}
+		while (node != null && dot != -1);
+		return node;
+	}
+
+	/**
+	 * The class {@link PackageNode} is a node of the package trie.
+	 */
+	private static final class PackageNode
+	{
+
+		/** The simple class names of the package. */
+		private final List<String> classNames = new ArrayList<>();
+
+		/** The subpackages mapped by there simple names. */
+		private final Map<String, PackageNode> subpackages = new LinkedHashMap<>();
+
+		/**
+		 * Gets the subpackage node with the name of the given region of the given sequence or
+		 * creates it if it does not exist.
+		 *
+		 * @param sequence
+		 *            the sequence
+		 * @param start
+		 *            the start index of the name
+		 * @param end
+		 *            the end index of the name
+		 * @return the subpackage node
+		 */
+		private PackageNode getOrCreate(final CharSequence sequence, final int start,
+			final int end)
+		{
+			for (final Map.Entry<String, PackageNode> entry : subpackages.entrySet())
+			{
+				final String name = entry.getKey();
+				if (name.length() == end - start && startsWith(sequence, name, start))
+				{
+					return entry.getValue();
+				}
+			}
+			final PackageNode node = new PackageNode();
+			subpackages.put(sequence.subSequence(start, end).toString(), node);
+			return node;
+		}
+
+	}
+
+}
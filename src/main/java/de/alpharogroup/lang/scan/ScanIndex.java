@@ -0,0 +1,427 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.alpharogroup.config.ConfigurationExtensions;
+
+/**
+ * The class {@link ScanIndex} is a persistent index of scanned class names. Every entry maps a
+ * scanned package of a classpath root to the found class names and holds the size and the last
+ * modification time of the scanned jar file or directories. An entry is only valid as long as all
+ * of the scanned files are unchanged, so only changed jar files or directories have to be scanned
+ * again. The index is stored in a compact binary file.
+ */
+public class ScanIndex
+{
+
+	/** The default file name of the index file. */
+	public static final String DEFAULT_FILE_NAME = "scan-index.bin";
+
+	/** The magic number of the index file. */
+	private static final int MAGIC = 0x4A434C53;
+
+	/** The version of the index file format. */
+	private static final int VERSION = 1;
+
+	/** The minimal size in bytes of an entry in the index file. */
+	private static final int MIN_ENTRY_SIZE = 2 + 4 + 4;
+
+	/** The minimal size in bytes of a file stamp in the index file. */
+	private static final int MIN_FILE_STAMP_SIZE = 2 + 8 + 8;
+
+	/** The minimal size in bytes of a class name in the index file. */
+	private static final int MIN_CLASS_NAME_SIZE = 2;
+
+	/**
+	 * Factory method for create a new {@link ScanIndex} that is stored in the temporary
+	 * application directory of the given application name. If the index file already exists it
+	 * will be loaded.
+	 *
+	 * @param applicationName
+	 *            the application name
+	 * @return the new {@link ScanIndex}
+	 */
+	public static ScanIndex of(final String applicationName)
+	{
+		return new ScanIndex(new File(ConfigurationExtensions
+			.getTemporaryApplicationConfigurationFilePath(applicationName, DEFAULT_FILE_NAME)));
+	}
+
+	/**
+	 * Creates the key of an index entry.
+	 *
+	 * @param root
+	 *            the jar file or directory of the scanned classpath root
+	 * @param packageName
+	 *            the package name
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names are qualified class names
+	 * @return the key
+	 */
+	public static String newKey(final File root, final String packageName,
+		final boolean recursive, final boolean qualifiedClassnames)
+	{
+		return root.getAbsolutePath() + '!' + packageName + '!' + (recursive ? 'r' : '-')
+			+ (qualifiedClassnames ? 'q' : '-');
+	}
+
+	/** The index entries. */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/** The index file. */
+	private final File file;
+
+	/**
+	 * Instantiates a new {@link ScanIndex} with the given index file. If the index file already
+	 * exists it will be loaded.
+	 *
+	 * @param file
+	 *            the index file
+	 */
+	public ScanIndex(final File file)
+	{
+		this.file = file;
+		load();
+	}
+
+	/**
+	 * Gets the class names of the entry with the given key if the entry is still valid.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the class names or null if no valid entry exists
+	 */
+	public Set<String> get(final String key)
+	{
+		final Entry entry = entries.get(key);
+		if (entry == null)
+		{
+			return null;
+		}
+		for (final FileStamp fileStamp : entry.fileStamps)
+		{
+			if (!fileStamp.isValid())
+			{
+				entries.remove(key, entry);
+				return null;
+			}
+		}
+		return entry.classNames;
+	}
+
+	/**
+	 * Gets the index file.
+	 *
+	 * @return the index file
+	 */
+	public File getFile()
+	{
+		return file;
+	}
+
+	/**
+	 * Removes all entries from this index.
+	 */
+	public void invalidate()
+	{
+		entries.clear();
+	}
+
+	/**
+	 * Loads the entries from the index file. If the index file cannot be read or is corrupt the
+	 * index starts empty, so the classpath is scanned again.
+	 */
+	private void load()
+	{
+		if (!file.exists())
+		{
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+			new ByteArrayInputStream(Files.readAllBytes(file.toPath()))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				return;
+			}
+			final int entriesCount = readCount(in, MIN_ENTRY_SIZE);
+			for (int i = 0; i < entriesCount; i++)
+			{
+				final String key = readString(in);
+				final int fileStampsCount = readCount(in, MIN_FILE_STAMP_SIZE);
+				final List<FileStamp> fileStamps = new ArrayList<>(fileStampsCount);
+				for (int j = 0; j < fileStampsCount; j++)
+				{
+					fileStamps.add(new FileStamp(readString(in), in.readLong(), in.readLong()));
+				}
+				final int classNamesCount = readCount(in, MIN_CLASS_NAME_SIZE);
+				final Set<String> classNames = new LinkedHashSet<>(classNamesCount * 2);
+				for (int j = 0; j < classNamesCount; j++)
+				{
+					classNames.add(readString(in));
+				}
+				entries.put(key, new Entry(fileStamps, Collections.unmodifiableSet(classNames)));
+			}
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Puts the given class names for the given key to this index.
+	 *
+	 * @param key
+	 *            the key
+	 * @param scannedFiles
+	 *            the scanned jar file or directories that have to be unchanged for a valid entry
+	 * @param classNames
+	 *            the class names
+	 */
+	public void put(final String key, final List<File> scannedFiles, final Set<String> classNames)
+	{
+		final List<FileStamp> fileStamps = new ArrayList<>(scannedFiles.size());
+		for (final File scannedFile : scannedFiles)
+		{
+			fileStamps.add(FileStamp.of(scannedFile));
+		}
+		entries.put(key,
+			new Entry(fileStamps, Collections.unmodifiableSet(new LinkedHashSet<>(classNames))));
+	}
+
+	/**
+	 * Reads a count from the given input stream and checks that the remaining bytes can hold the
+	 * given count of elements with the given minimal size.
+	 *
+	 * @param in
+	 *            the input stream
+	 * @param minElementSize
+	 *            the minimal size in bytes of an element
+	 * @return the count
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the count is invalid.
+	 */
+	private static int readCount(final DataInputStream in, final int minElementSize)
+		throws IOException
+	{
+		final int count = in.readInt();
+		if (count < 0 || (long)count * minElementSize > in.available())
+		{
+			throw new IOException("Invalid count " + count + " in the index file.");
+		}
+		return count;
+	}
+
+	/**
+	 * Reads a string from the given input stream and checks that the length of the string does not
+	 * exceed the remaining bytes.
+	 *
+	 * @param in
+	 *            the input stream
+	 * @return the string
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the length is invalid.
+	 */
+	private static String readString(final DataInputStream in) throws IOException
+	{
+		in.mark(2);
+		final int length = in.readUnsignedShort();
+		if (length > in.available())
+		{
+			throw new IOException("Invalid string length " + length + " in the index file.");
+		}
+		in.reset();
+		return in.readUTF();
+	}
+
+	/**
+	 * Removes the entry with the given key from this index.
+	 *
+	 * @param key
+	 *            the key
+	 */
+	public void remove(final String key)
+	{
+		entries.remove(key);
+	}
+
+	/**
+	 * Stores the entries of this index to the index file. The index file is written to a temporary
+	 * file first that replaces the index file.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void store() throws IOException
+	{
+		final File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null && !directory.exists() && !directory.mkdirs())
+		{
+			throw new IOException("Directory " + directory + " could not be created.");
+		}
+		final File tempFile = new File(directory, file.getName() + ".tmp");
+		try (OutputStream outputStream = Files.newOutputStream(tempFile.toPath());
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream)))
+		{
+			final Map<String, Entry> snapshot = new ConcurrentHashMap<>(entries);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(snapshot.size());
+			for (final Map.Entry<String, Entry> mapEntry : snapshot.entrySet())
+			{
+				final Entry entry = mapEntry.getValue();
+				out.writeUTF(mapEntry.getKey());
+				out.writeInt(entry.fileStamps.size());
+				for (final FileStamp fileStamp : entry.fileStamps)
+				{
+					out.writeUTF(fileStamp.path);
+					out.writeLong(fileStamp.length);
+					out.writeLong(fileStamp.lastModified);
+				}
+				out.writeInt(entry.classNames.size());
+				for (final String className : entry.classNames)
+				{
+					out.writeUTF(className);
+				}
+			}
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * The class {@link Entry} holds the class names of a scan and the stamps of the scanned
+	 * files.
+	 */
+	private static final class Entry
+	{
+
+		/** The class names. */
+		private final Set<String> classNames;
+
+		/** The stamps of the scanned files. */
+		private final List<FileStamp> fileStamps;
+
+		/**
+		 * Instantiates a new {@link Entry}.
+		 *
+		 * @param fileStamps
+		 *            the stamps of the scanned files
+		 * @param classNames
+		 *            the class names
+		 */
+		private Entry(final List<FileStamp> fileStamps, final Set<String> classNames)
+		{
+			this.fileStamps = fileStamps;
+			this.classNames = classNames;
+		}
+
+	}
+
+	/**
+	 * The class {@link FileStamp} holds the path, the size and the last modification time of a
+	 * scanned jar file or directory. The size of directories is not compared, because a new or
+	 * removed entry of a directory changes the last modification time of the directory.
+	 */
+	private static final class FileStamp
+	{
+
+		/**
+		 * Factory method for create a new {@link FileStamp} from the given file.
+		 *
+		 * @param file
+		 *            the file
+		 * @return the new {@link FileStamp}
+		 */
+		private static FileStamp of(final File file)
+		{
+			return new FileStamp(file.getAbsolutePath(), file.isDirectory() ? -1 : file.length(),
+				file.lastModified());
+		}
+
+		/** The last modification time. */
+		private final long lastModified;
+
+		/** The size or -1 for directories. */
+		private final long length;
+
+		/** The absolute path. */
+		private final String path;
+
+		/**
+		 * Instantiates a new {@link FileStamp}.
+		 *
+		 * @param path
+		 *            the absolute path
+		 * @param length
+		 *            the size or -1 for directories
+		 * @param lastModified
+		 *            the last modification time
+		 */
+		private FileStamp(final String path, final long length, final long lastModified)
+		{
+			this.path = path;
+			this.length = length;
+			this.lastModified = lastModified;
+		}
+
+		/**
+		 * Checks if the file of this stamp is unchanged.
+		 *
+		 * @return true, if the file is unchanged
+		 */
+		private boolean isValid()
+		{
+			final File file = new File(path);
+			final long currentLastModified = file.lastModified();
+			if (currentLastModified == 0L || currentLastModified != lastModified)
+			{
+				return false;
+			}
+			return length == -1 || length == file.length();
+		}
+
+	}
+
+}
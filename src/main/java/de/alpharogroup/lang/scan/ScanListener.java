@@ -0,0 +1,125 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+/**
+ * The interface {@link ScanListener} is notified from the scanners about the metrics of a scan.
+ * All methods have an empty default implementation, so implementations override only the events
+ * they need. The methods are called from the threads that run the scan and have to be thread
+ * safe. The default implementation that aggregates all events is {@link ScanMetrics}.
+ */
+public interface ScanListener
+{
+
+	/** The name of the compile time class index for cache events. */
+	String CLASS_INDEX = "class-index";
+
+	/** The listener that ignores all events. */
+	ScanListener NOOP = new ScanListener()
+	{
+	};
+
+	/** The name of the persistent scan index for cache events. */
+	String SCAN_INDEX = "scan-index";
+
+	/**
+	 * Called if the bytes of a class file are read for a bytecode filter.
+	 *
+	 * @param bytes
+	 *            the number of read bytes
+	 * @param nanos
+	 *            the nanoseconds spent for reading
+	 */
+	default void bytesRead(final long bytes, final long nanos)
+	{
+	}
+
+	/**
+	 * Called if a cache answered a request.
+	 *
+	 * @param cacheName
+	 *            the name of the cache
+	 */
+	default void cacheHit(final String cacheName)
+	{
+	}
+
+	/**
+	 * Called if a cache could not answer a request.
+	 *
+	 * @param cacheName
+	 *            the name of the cache
+	 */
+	default void cacheMiss(final String cacheName)
+	{
+	}
+
+	/**
+	 * Called if a class is loaded.
+	 *
+	 * @param className
+	 *            the qualified class name
+	 * @param nanos
+	 *            the nanoseconds spent in {@link Class#forName(String, boolean, ClassLoader)}
+	 */
+	default void classLoaded(final String className, final long nanos)
+	{
+	}
+
+	/**
+	 * Called if a class could not be loaded.
+	 *
+	 * @param className
+	 *            the qualified class name
+	 * @param cause
+	 *            the cause
+	 */
+	default void classLoadFailed(final String className, final Throwable cause)
+	{
+	}
+
+	/**
+	 * Called if class files are visited.
+	 *
+	 * @param count
+	 *            the number of visited class files
+	 */
+	default void entriesVisited(final long count)
+	{
+	}
+
+	/**
+	 * Called if a classpath root is completely scanned.
+	 *
+	 * @param root
+	 *            the path of the classpath root directory or jar file
+	 * @param nanos
+	 *            the nanoseconds spent for scanning the root
+	 */
+	default void rootScanned(final String root, final long nanos)
+	{
+	}
+
+}
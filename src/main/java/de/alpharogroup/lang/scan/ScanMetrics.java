@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link ScanMetrics} is the default {@link ScanListener} that aggregates all events of
+ * the scans it is passed to. The aggregated metrics can be taken as immutable {@link ScanReport}
+ * at any time, also while a scan is running.
+ */
+public class ScanMetrics implements ScanListener
+{
+
+	/** The number of read bytes. */
+	private final LongAdder bytesRead = new LongAdder();
+
+	/** The number of cache hits for every cache name. */
+	private final Map<String, LongAdder> cacheHits = new ConcurrentHashMap<>();
+
+	/** The number of cache misses for every cache name. */
+	private final Map<String, LongAdder> cacheMisses = new ConcurrentHashMap<>();
+
+	/** The number of classes that could not be loaded. */
+	private final LongAdder classLoadFailures = new LongAdder();
+
+	/** The number of loaded classes. */
+	private final LongAdder classesLoaded = new LongAdder();
+
+	/** The number of visited class files. */
+	private final LongAdder entriesVisited = new LongAdder();
+
+	/** The nanoseconds spent for reading class files. */
+	private final LongAdder ioNanos = new LongAdder();
+
+	/** The nanoseconds spent for loading classes. */
+	private final LongAdder loadNanos = new LongAdder();
+
+	/** The nanoseconds spent for every scanned classpath root. */
+	private final Map<String, LongAdder> rootNanos = new ConcurrentHashMap<>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void bytesRead(final long bytes, final long nanos)
+	{
+		bytesRead.add(bytes);
+		ioNanos.add(nanos);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void cacheHit(final String cacheName)
+	{
+		cacheHits.computeIfAbsent(cacheName, key -> new LongAdder()).increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void cacheMiss(final String cacheName)
+	{
+		cacheMisses.computeIfAbsent(cacheName, key -> new LongAdder()).increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void classLoaded(final String className, final long nanos)
+	{
+		classesLoaded.increment();
+		loadNanos.add(nanos);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void classLoadFailed(final String className, final Throwable cause)
+	{
+		classLoadFailures.increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void entriesVisited(final long count)
+	{
+		entriesVisited.add(count);
+	}
+
+	/**
+	 * Gets the immutable report of the metrics that are aggregated till now.
+	 *
+	 * @return the report
+	 */
+	public ScanReport getReport()
+	{
+		final Map<String, Long> hitsByCache = sum(cacheHits);
+		final Map<String, Long> missesByCache = sum(cacheMisses);
+		return ScanReport.builder().bytesRead(bytesRead.sum())
+			.cacheHits(hitsByCache.values().stream().mapToLong(Long::longValue).sum())
+			.cacheHitsByCache(hitsByCache)
+			.cacheMisses(missesByCache.values().stream().mapToLong(Long::longValue).sum())
+			.cacheMissesByCache(missesByCache).classLoadFailures(classLoadFailures.sum())
+			.classesLoaded(classesLoaded.sum()).entriesVisited(entriesVisited.sum())
+			.ioNanos(ioNanos.sum()).loadNanos(loadNanos.sum()).rootNanos(sum(rootNanos)).build();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void rootScanned(final String root, final long nanos)
+	{
+		rootNanos.computeIfAbsent(root, key -> new LongAdder()).add(nanos);
+	}
+
+	/**
+	 * Sums the counters of the given map to an unmodifiable sorted map.
+	 *
+	 * @param counters
+	 *            the counters mapped by their names
+	 * @return the unmodifiable sorted map with the sums
+	 */
+	private static Map<String, Long> sum(final Map<String, LongAdder> counters)
+	{
+		final Map<String, Long> sums = new TreeMap<>();
+		counters.forEach((name, counter) -> sums.put(name, counter.sum()));
+		return Collections.unmodifiableMap(sums);
+	}
+
+}
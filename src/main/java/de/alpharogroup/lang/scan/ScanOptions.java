@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.util.concurrent.ForkJoinPool;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The class {@link ScanOptions} holds the options for scanning the classpath for classes.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ScanOptions
+{
+
+	/**
+	 * The flag if the annotations are read from the bytecode of the class files and only the
+	 * classes are loaded that are annotated with one of the requested annotations. Note that
+	 * inherited annotations of super classes are not visible in the bytecode of a class file.
+	 */
+	boolean bytecodeAnnotationFilter;
+
+	/**
+	 * The flag if symbolic links are followed. A directory that links to one of its parent
+	 * directories is always skipped, so a link cycle is scanned only once.
+	 */
+	@Builder.Default
+	boolean followLinks = true;
+
+	/** The fork join pool that executes the scan. */
+	@Builder.Default
+	ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+	/**
+	 * The flag if the found classes are initialized when they are loaded. The default is false, so
+	 * a scan does not run the static initializers of the scanned classes. If this flag is set an
+	 * error of a static initializer is not swallowed but thrown to the caller.
+	 */
+	boolean initializeClasses;
+
+	/**
+	 * The maximum number of directory levels that are scanned. The value 1 scans only the class
+	 * files of the start directory.
+	 */
+	@Builder.Default
+	int maxDepth = Integer.MAX_VALUE;
+
+	/** The listener for the metrics of the scan. */
+	@Builder.Default
+	ScanListener scanListener = ScanListener.NOOP;
+
+	/**
+	 * Loads the class with the given qualified class name from the given class loader. The class is
+	 * only initialized if the flag {@link #isInitializeClasses()} is set. The load and its duration
+	 * or the failure are reported to the {@link ScanListener}.
+	 *
+	 * @param qualifiedClassname
+	 *            the qualified class name
+	 * @param classLoader
+	 *            the class loader
+	 * @return the class
+	 * @throws ClassNotFoundException
+	 *             occurs if the given class cannot be located by the given class loader
+	 */
+	public Class<?> loadClass(final String qualifiedClassname, final ClassLoader classLoader)
+		throws ClassNotFoundException
+	{
+		final long start = System.nanoTime();
+		final Class<?> loadedClass;
+		try
+		{
+			loadedClass = Class.forName(qualifiedClassname, initializeClasses, classLoader);
+		}
+		catch (final ClassNotFoundException | LinkageError e)
+		{
+			scanListener.classLoadFailed(qualifiedClassname, e);
+			throw e;
+		}
+		scanListener.classLoaded(qualifiedClassname, System.nanoTime() - start);
+		return loadedClass;
+	}
+
+}
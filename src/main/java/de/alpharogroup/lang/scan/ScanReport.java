@@ -0,0 +1,77 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The class {@link ScanReport} is an immutable summary of the metrics of one or more scans, that
+ * is created from {@link ScanMetrics#getReport()}.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ScanReport
+{
+
+	/** The number of bytes of the class files that are read for a bytecode filter. */
+	long bytesRead;
+
+	/** The number of cache hits of all caches. */
+	long cacheHits;
+
+	/**
+	 * The unmodifiable map with the cache names, for instance {@link ScanListener#CLASS_INDEX}
+	 * and {@link ScanListener#SCAN_INDEX}, and the number of hits for each.
+	 */
+	Map<String, Long> cacheHitsByCache;
+
+	/** The number of cache misses of all caches. */
+	long cacheMisses;
+
+	/** The unmodifiable map with the cache names and the number of misses for each. */
+	Map<String, Long> cacheMissesByCache;
+
+	/** The number of classes that could not be loaded. */
+	long classLoadFailures;
+
+	/** The number of loaded classes. */
+	long classesLoaded;
+
+	/** The number of visited class files. */
+	long entriesVisited;
+
+	/** The nanoseconds spent for reading class files. */
+	long ioNanos;
+
+	/** The nanoseconds spent in {@link Class#forName(String, boolean, ClassLoader)}. */
+	long loadNanos;
+
+	/** The unmodifiable map with the scanned classpath roots and the nanoseconds spent for each. */
+	Map<String, Long> rootNanos;
+
+}
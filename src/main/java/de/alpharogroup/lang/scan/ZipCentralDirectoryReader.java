@@ -0,0 +1,412 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.ZipException;
+
+/**
+ * The class {@link ZipCentralDirectoryReader} reads the entry names of a zip, jar, war or ear file
+ * straight from the memory mapped central directory. Only the end of central directory record and
+ * the central directory headers are parsed. The entry names are returned as a reused
+ * {@link CharSequence}, so no object is allocated per entry. Callers that need to keep an entry
+ * name have to call {@link CharSequence#toString()}.
+ */
+public final class ZipCentralDirectoryReader
+{
+
+	/** The signature of a central directory file header. */
+	private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+
+	/** The size of a central directory file header without the variable fields. */
+	private static final int CENTRAL_FILE_HEADER_SIZE = 46;
+
+	/** The signature of the end of central directory record. */
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+	/** The size of the end of central directory record without the comment. */
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+	/** The flag for entry names that are encoded in UTF-8. */
+	private static final int LANGUAGE_ENCODING_FLAG = 1 << 11;
+
+	/** The maximum size of the zip file comment. */
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	/** The signature of the zip64 end of central directory record. */
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+
+	/** The header id of the zip64 extended information extra field. */
+	private static final int ZIP64_EXTENDED_INFORMATION_ID = 0x0001;
+
+	/** The signature of the zip64 end of central directory locator. */
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+	/** The size of the zip64 end of central directory locator. */
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+
+	/**
+	 * Opens the given zip file and maps the central directory. The mapped central directory stays
+	 * valid after the file channel is closed, so the returned reader needs no closing.
+	 *
+	 * @param file
+	 *            the zip file
+	 * @return the new {@link ZipCentralDirectoryReader} that is positioned before the first entry
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ZipCentralDirectoryReader open(final File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			final long fileSize = channel.size();
+			final long tailPosition = Math.max(0,
+				fileSize - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_SIZE);
+			final MappedByteBuffer tail = map(channel, tailPosition, fileSize - tailPosition);
+			final int endPosition = findEndOfCentralDirectory(tail);
+			if (endPosition == -1)
+			{
+				throw new ZipException("End of central directory record not found in " + file);
+			}
+			long entriesCount = tail.getShort(endPosition + 10) & 0xFFFF;
+			long centralDirectorySize = tail.getInt(endPosition + 12) & 0xFFFFFFFFL;
+			long centralDirectoryOffset = tail.getInt(endPosition + 16) & 0xFFFFFFFFL;
+			long endOfCentralDirectory = tailPosition + endPosition;
+			if (entriesCount == 0xFFFF || centralDirectorySize == 0xFFFFFFFFL
+				|| centralDirectoryOffset == 0xFFFFFFFFL)
+			{
+				final long locatorPosition = endOfCentralDirectory - ZIP64_LOCATOR_SIZE;
+				final MappedByteBuffer locator = locatorPosition >= 0
+					? map(channel, locatorPosition, ZIP64_LOCATOR_SIZE)
+					: null;
+				if (locator != null && locator.getInt(0) == ZIP64_LOCATOR_SIGNATURE)
+				{
+					endOfCentralDirectory = locator.getLong(8);
+					final MappedByteBuffer zip64End = map(channel, endOfCentralDirectory, 56);
+					if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+					{
+						throw new ZipException(
+							"Invalid zip64 end of central directory record in " + file);
+					}
+					entriesCount = zip64End.getLong(32);
+					centralDirectorySize = zip64End.getLong(40);
+					centralDirectoryOffset = zip64End.getLong(48);
+				}
+			}
+			// archives with a prepended header (for instance executable jars) have shifted offsets
+			final long centralDirectoryPosition = endOfCentralDirectory - centralDirectorySize;
+			if (centralDirectoryPosition < 0 || centralDirectorySize > Integer.MAX_VALUE)
+			{
+				throw new ZipException("Invalid central directory in " + file);
+			}
+			final MappedByteBuffer centralDirectory = map(channel, centralDirectoryPosition,
+				centralDirectorySize);
+			return new ZipCentralDirectoryReader(centralDirectory, entriesCount);
+		}
+	}
+
+	/**
+	 * Reads the entry names from the central directory of the given zip file and passes every
+	 * entry name to the given consumer.
+	 *
+	 * @param file
+	 *            the zip file
+	 * @param consumer
+	 *            the consumer for the entry names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void readEntryNames(final File file, final Consumer<CharSequence> consumer)
+		throws IOException
+	{
+		final ZipCentralDirectoryReader reader = open(file);
+		while (reader.next())
+		{
+			consumer.accept(reader.getEntryName());
+		}
+	}
+
+	/**
+	 * Searches backwards for the end of central directory record in the given buffer.
+	 *
+	 * @param tail
+	 *            the buffer with the tail of the zip file
+	 * @return the position of the end of central directory record or -1 if not found
+	 */
+	private static int findEndOfCentralDirectory(final MappedByteBuffer tail)
+	{
+		for (int position = tail.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; position >= 0; position--)
+		{
+			if (tail.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+			{
+				return position;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Maps the given region of the given channel in little endian byte order.
+	 *
+	 * @param channel
+	 *            the file channel
+	 * @param position
+	 *            the position of the region
+	 * @param size
+	 *            the size of the region
+	 * @return the mapped buffer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static MappedByteBuffer map(final FileChannel channel, final long position,
+		final long size) throws IOException
+	{
+		final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+			size);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		return buffer;
+	}
+
+	/** The buffer with the central directory. */
+	private final MappedByteBuffer centralDirectory;
+
+	/** The reused name of the current entry. */
+	private final EntryName entryName = new EntryName();
+
+	/** The number of entries. */
+	private final long entriesCount;
+
+	/** The index of the next entry. */
+	private long entryIndex;
+
+	/** The position of the next central directory file header. */
+	private int position;
+
+	/** The position of the central directory file header of the current entry. */
+	private int entryPosition = -1;
+
+	/**
+	 * Instantiates a new {@link ZipCentralDirectoryReader}.
+	 *
+	 * @param centralDirectory
+	 *            the buffer with the central directory
+	 * @param entriesCount
+	 *            the number of entries
+	 */
+	private ZipCentralDirectoryReader(final MappedByteBuffer centralDirectory,
+		final long entriesCount)
+	{
+		this.centralDirectory = centralDirectory;
+		this.entriesCount = entriesCount;
+	}
+
+	/**
+	 * Gets the name of the current entry. The returned {@link CharSequence} is reused and changes
+	 * with the next call of {@link #next()}.
+	 *
+	 * @return the name of the current entry
+	 */
+	public CharSequence getEntryName()
+	{
+		return entryName;
+	}
+
+	/**
+	 * Gets the uncompressed size of the current entry. If the size is stored in the zip64 extended
+	 * information of the entry it is taken from there.
+	 *
+	 * @return the uncompressed size of the current entry or -1 if the size is unknown
+	 */
+	public long getUncompressedSize()
+	{
+		if (entryPosition < 0)
+		{
+			return -1;
+		}
+		final long size = centralDirectory.getInt(entryPosition + 24) & 0xFFFFFFFFL;
+		if (size != 0xFFFFFFFFL)
+		{
+			return size;
+		}
+		final int nameLength = centralDirectory.getShort(entryPosition + 28) & 0xFFFF;
+		final int extraLength = centralDirectory.getShort(entryPosition + 30) & 0xFFFF;
+		int extraPosition = entryPosition + CENTRAL_FILE_HEADER_SIZE + nameLength;
+		final int extraEnd = extraPosition + extraLength;
+		while (extraPosition + 4 <= extraEnd)
+		{
+			final int headerId = centralDirectory.getShort(extraPosition) & 0xFFFF;
+			final int dataSize = centralDirectory.getShort(extraPosition + 2) & 0xFFFF;
+			if (headerId == ZIP64_EXTENDED_INFORMATION_ID && dataSize >= 8)
+			{
+				return centralDirectory.getLong(extraPosition + 4);
+			}
+			extraPosition += 4 + dataSize;
+		}
+		return -1;
+	}
+
+	/**
+	 * Moves to the next entry of the central directory.
+	 *
+	 * @return true, if a next entry exists
+	 * @throws ZipException
+	 *             is thrown if a central directory file header is invalid
+	 */
+	public boolean next() throws ZipException
+	{
+		if (entryIndex >= entriesCount)
+		{
+			return false;
+		}
+		if (centralDirectory.getInt(position) != CENTRAL_FILE_HEADER_SIGNATURE)
+		{
+			throw new ZipException("Invalid central directory file header at " + position);
+		}
+		final int flags = centralDirectory.getShort(position + 8) & 0xFFFF;
+		final int nameLength = centralDirectory.getShort(position + 28) & 0xFFFF;
+		final int extraLength = centralDirectory.getShort(position + 30) & 0xFFFF;
+		final int commentLength = centralDirectory.getShort(position + 32) & 0xFFFF;
+		entryName.decode(centralDirectory, position + CENTRAL_FILE_HEADER_SIZE, nameLength,
+			(flags & LANGUAGE_ENCODING_FLAG) != 0);
+		entryPosition = position;
+		position += CENTRAL_FILE_HEADER_SIZE + nameLength + extraLength + commentLength;
+		entryIndex++;
+		return true;
+	}
+
+	/**
+	 * The class {@link EntryName} is a reused {@link CharSequence} that holds the decoded name of
+	 * the current entry.
+	 */
+	private static final class EntryName implements CharSequence
+	{
+
+		/** The decoded characters. */
+		private char[] chars = new char[256];
+
+		/** The number of decoded characters. */
+		private int length;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public char charAt(final int index)
+		{
+			if (index >= length)
+			{
+				throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+			}
+			return chars[index];
+		}
+
+		/**
+		 * Decodes the entry name with the given length at the given position of the given buffer.
+		 * Entry names without the language encoding flag are decoded as ISO-8859-1.
+		 *
+		 * @param buffer
+		 *            the buffer
+		 * @param position
+		 *            the position of the entry name
+		 * @param nameLength
+		 *            the length of the entry name in bytes
+		 * @param utf8
+		 *            the flag if the entry name is encoded in UTF-8
+		 */
+		private void decode(final MappedByteBuffer buffer, int position, final int nameLength,
+			final boolean utf8)
+		{
+			if (chars.length < nameLength)
+			{
+				chars = Arrays.copyOf(chars, Math.max(nameLength, chars.length * 2));
+			}
+			final int end = position + nameLength;
+			int count = 0;
+			while (position < end)
+			{
+				final int c = buffer.get(position++) & 0xFF;
+				if (c < 0x80 || !utf8)
+				{
+					chars[count++] = (char)c;
+				}
+				else if (c >> 5 == 0x06 && position < end)
+				{
+					chars[count++] = (char)((c & 0x1F) << 6 | buffer.get(position++) & 0x3F);
+				}
+				else if (c >> 4 == 0x0E && position + 1 < end)
+				{
+					chars[count++] = (char)((c & 0x0F) << 12 | (buffer.get(position++) & 0x3F) << 6
+						| buffer.get(position++) & 0x3F);
+				}
+				else
+				{
+					// four byte sequences are not valid in class and package names
+					chars[count++] = '\uFFFD';
+					while (position < end && (buffer.get(position) & 0xC0) == 0x80)
+					{
+						position++;
+					}
+				}
+			}
+			length = count;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int length()
+		{
+			return length;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CharSequence subSequence(final int start, final int end)
+		{
+			return toString().substring(start, end);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString()
+		{
+			return new String(chars, 0, length);
+		}
+
+	}
+
+}
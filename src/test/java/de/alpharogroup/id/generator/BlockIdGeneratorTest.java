@@ -0,0 +1,137 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link BlockIdGenerator}.
+ */
+public class BlockIdGeneratorTest
+{
+
+	/**
+	 * Test method for {@link BlockIdGenerator#getNextId()}
+	 */
+	@Test
+	public void testGetNextId()
+	{
+		final BlockIdGenerator idGenerator = new BlockIdGenerator(100, 4);
+		assertEquals(4, idGenerator.getBlockSize());
+		for (long expected = 100; expected < 110; expected++)
+		{
+			assertEquals(expected, idGenerator.getNextId());
+		}
+		assertEquals(0L, new BlockIdGenerator().getNextId());
+	}
+
+	/**
+	 * Test method for {@link BlockIdGenerator#getNextId()} with concurrent threads
+	 *
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting
+	 */
+	@Test
+	public void testGetNextIdConcurrent() throws InterruptedException
+	{
+		final BlockIdGenerator idGenerator = new BlockIdGenerator(0, 16);
+		final Set<Long> ids = ConcurrentHashMap.newKeySet();
+		final Set<Boolean> monotonic = ConcurrentHashMap.newKeySet();
+		final List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++)
+		{
+			threads.add(new Thread(() -> {
+				long lastId = -1;
+				for (int j = 0; j < 10000; j++)
+				{
+					final long nextId = idGenerator.getNextId();
+					monotonic.add(lastId < nextId);
+					ids.add(nextId);
+					lastId = nextId;
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (final Thread thread : threads)
+		{
+			thread.join();
+		}
+		assertEquals(40000, ids.size());
+		assertEquals(1, monotonic.size());
+		assertTrue(monotonic.contains(true));
+	}
+
+	/**
+	 * Test method for {@link BlockIdGenerator#getNextId()} if all positive ids are reserved
+	 */
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testGetNextIdExhausted()
+	{
+		final BlockIdGenerator idGenerator = new BlockIdGenerator(Long.MAX_VALUE - 2, 4);
+		idGenerator.getNextId();
+	}
+
+	/**
+	 * Test method for {@link BlockIdGenerator} constructor with an invalid block size
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testBlockIdGeneratorInvalidBlockSize()
+	{
+		new BlockIdGenerator(0, 0);
+	}
+
+	/**
+	 * Test method for {@link BlockIdGenerator#fillIds(long[], int, int)} and
+	 * {@link BlockIdGenerator#nextIds(int)}
+	 */
+	@Test
+	public void testFillIds()
+	{
+		final BlockIdGenerator idGenerator = new BlockIdGenerator(0, 4);
+		assertEquals(0L, idGenerator.getNextId());
+		final long[] ids = new long[3];
+		idGenerator.fillIds(ids, 0, 3);
+		assertTrue(Arrays.equals(new long[] { 1, 2, 3 }, ids));
+		// the range is larger than the block size and is reserved at once
+		assertTrue(Arrays.equals(new long[] { 4, 5, 6, 7, 8, 9 },
+			idGenerator.nextIds(6).toArray()));
+		idGenerator.fillIds(ids, 0, 2);
+		assertTrue(Arrays.equals(new long[] { 10, 11, 3 }, ids));
+		// the rest of the block is dropped, so the ids of the thread are still increasing
+		idGenerator.fillIds(ids, 0, 3);
+		assertTrue(Arrays.equals(new long[] { 14, 15, 16 }, ids));
+		assertEquals(17L, idGenerator.getNextId());
+	}
+
+}
@@ -0,0 +1,119 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link CrockfordBase32}.
+ */
+public class CrockfordBase32Test
+{
+
+	/**
+	 * Test method for {@link CrockfordBase32#encode(byte[])} and
+	 * {@link CrockfordBase32#decode(CharSequence)}
+	 */
+	@Test
+	public void testEncodeAndDecode()
+	{
+		assertEquals("", CrockfordBase32.encode(new byte[0]));
+		assertEquals("CR", CrockfordBase32.encode("f".getBytes(StandardCharsets.US_ASCII)));
+		assertEquals("CSQPYRK1E8",
+			CrockfordBase32.encode("foobar".getBytes(StandardCharsets.US_ASCII)));
+		assertEquals("foobar",
+			new String(CrockfordBase32.decode("CSQPYRK1E8"), StandardCharsets.US_ASCII));
+		assertEquals("foobar",
+			new String(CrockfordBase32.decode("csqpy-rk1e8"), StandardCharsets.US_ASCII));
+		for (int length = 0; length < 64; length++)
+		{
+			final byte[] bytes = new byte[length];
+			ThreadLocalRandom.current().nextBytes(bytes);
+			assertTrue(Arrays.equals(bytes, CrockfordBase32.decode(CrockfordBase32.encode(bytes))));
+		}
+	}
+
+	/**
+	 * Test method for {@link CrockfordBase32#decode(char)}
+	 */
+	@Test
+	public void testDecodeChar()
+	{
+		for (int i = 0; i < CrockfordBase32.ALPHABET.length(); i++)
+		{
+			assertEquals(i, CrockfordBase32.decode(CrockfordBase32.ALPHABET.charAt(i)));
+		}
+		assertEquals(0, CrockfordBase32.decode('o'));
+		assertEquals(1, CrockfordBase32.decode('I'));
+		assertEquals(1, CrockfordBase32.decode('l'));
+		assertEquals(31, CrockfordBase32.decode('z'));
+	}
+
+	/**
+	 * Test method for {@link CrockfordBase32#decode(char)} with a character that is not part of
+	 * the alphabet
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testDecodeInvalidChar()
+	{
+		CrockfordBase32.decode('U');
+	}
+
+	/**
+	 * Test method for {@link CrockfordBase32#encode(long, long, char[], int)}
+	 */
+	@Test
+	public void testEncode128Bit()
+	{
+		final char[] chars = new char[CrockfordBase32.ENCODED_128_BIT_LENGTH + 2];
+		CrockfordBase32.encode(0, 0, chars, 1);
+		assertEquals("00000000000000000000000000", new String(chars, 1, 26));
+		CrockfordBase32.encode(-1, -1, chars, 1);
+		assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", new String(chars, 1, 26));
+		// the character 13 holds the lowest bit of the most significant bits
+		CrockfordBase32.encode(1, 0, chars, 1);
+		assertEquals("0000000000000G000000000000", new String(chars, 1, 26));
+		CrockfordBase32.encode(0, 32 | 15L << 60, chars, 1);
+		assertEquals("0000000000000F000000000010", new String(chars, 1, 26));
+	}
+
+	/**
+	 * Test method for {@link CrockfordBase32#encode(long, long, char[], int)} with an array that is
+	 * too small
+	 */
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void testEncode128BitOutOfBounds()
+	{
+		CrockfordBase32.encode(0, 0, new char[26], 1);
+	}
+
+}
@@ -0,0 +1,215 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link HiLoIdGenerator}.
+ */
+public class HiLoIdGeneratorTest
+{
+
+	/** The state file. */
+	private File file;
+
+	/**
+	 * Sets up the state file before every test method.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@BeforeMethod
+	public void setUp() throws IOException
+	{
+		file = new File(Files.createTempDirectory("hilo").toFile(),
+			HiLoIdGenerator.DEFAULT_FILE_NAME);
+	}
+
+	/**
+	 * Deletes the state file after every test method.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@AfterMethod
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(file.toPath());
+		Files.deleteIfExists(file.getParentFile().toPath());
+	}
+
+	/**
+	 * Test method for {@link HiLoIdGenerator#getNextId()} that the generator resumes above the high
+	 * watermark after a restart
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetNextId() throws IOException
+	{
+		try (HiLoIdGenerator idGenerator = new HiLoIdGenerator(file, 4))
+		{
+			assertEquals(0L, idGenerator.getHighWatermark());
+			for (long expected = 0; expected < 10; expected++)
+			{
+				assertEquals(expected, idGenerator.getNextId());
+			}
+			assertEquals(12L, idGenerator.getHighWatermark());
+		}
+		try (HiLoIdGenerator idGenerator = new HiLoIdGenerator(file, 4))
+		{
+			assertEquals(12L, idGenerator.getHighWatermark());
+			assertEquals(12L, idGenerator.getNextId());
+			assertEquals(16L, idGenerator.getHighWatermark());
+		}
+	}
+
+	/**
+	 * Test method for {@link HiLoIdGenerator#getNextId()} with concurrent threads
+	 *
+	 * @throws Exception
+	 *             is thrown if the threads are interrupted or an I/O exception has occurred
+	 */
+	@Test
+	public void testGetNextIdConcurrent() throws Exception
+	{
+		try (HiLoIdGenerator idGenerator = new HiLoIdGenerator(file, 16))
+		{
+			final Set<Long> ids = ConcurrentHashMap.newKeySet();
+			final List<Thread> threads = new ArrayList<>();
+			for (int i = 0; i < 4; i++)
+			{
+				threads.add(new Thread(() -> {
+					for (int j = 0; j < 10000; j++)
+					{
+						ids.add(idGenerator.getNextId());
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			for (final Thread thread : threads)
+			{
+				thread.join();
+			}
+			assertEquals(40000, ids.size());
+			assertEquals(40000L, idGenerator.getHighWatermark());
+		}
+	}
+
+	/**
+	 * Test method for {@link HiLoIdGenerator} constructor with a state file that is locked from
+	 * another generator
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test(expectedExceptions = IOException.class)
+	public void testHiLoIdGeneratorLocked() throws IOException
+	{
+		try (HiLoIdGenerator idGenerator = new HiLoIdGenerator(file, 4))
+		{
+			new HiLoIdGenerator(file, 4);
+		}
+	}
+
+	/**
+	 * Test method for {@link HiLoIdGenerator} constructor with a corrupt state file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test(expectedExceptions = IOException.class)
+	public void testHiLoIdGeneratorCorrupt() throws IOException
+	{
+		Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+		new HiLoIdGenerator(file, 4);
+	}
+
+	/**
+	 * Test method for {@link HiLoIdGenerator#fillIds(long[], int, int)} and
+	 * {@link HiLoIdGenerator#nextIds(int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testFillIds() throws IOException
+	{
+		try (HiLoIdGenerator idGenerator = new HiLoIdGenerator(file, 4))
+		{
+			assertEquals(0L, idGenerator.getNextId());
+			final long[] ids = new long[10];
+			idGenerator.fillIds(ids, 0, 10);
+			assertTrue(Arrays.equals(new long[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }, ids));
+			assertEquals(12L, idGenerator.getHighWatermark());
+			assertTrue(Arrays.equals(new long[] { 11, 12 }, idGenerator.nextIds(2).toArray()));
+			assertEquals(16L, idGenerator.getHighWatermark());
+		}
+	}
+
+	/**
+	 * Test method for {@link HiLoIdGenerator#fillIds(long[], int, int)} with a range over many
+	 * blocks and a state file of a previous generator with another block size
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testFillIdsOverManyBlocks() throws IOException
+	{
+		try (HiLoIdGenerator idGenerator = new HiLoIdGenerator(file, 3))
+		{
+			assertEquals(0L, idGenerator.getNextId());
+			assertEquals(3L, idGenerator.getHighWatermark());
+		}
+		try (HiLoIdGenerator idGenerator = new HiLoIdGenerator(file, 4))
+		{
+			final long[] ids = new long[1000];
+			idGenerator.fillIds(ids, 0, ids.length);
+			assertEquals(3L, ids[0]);
+			assertEquals(1002L, ids[ids.length - 1]);
+			assertEquals(1004L, idGenerator.getHighWatermark());
+			assertEquals(1003L, idGenerator.getNextId());
+			assertEquals(1004L, idGenerator.getHighWatermark());
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the default methods of the interface {@link LongIdGenerator}.
+ */
+public class LongIdGeneratorTest
+{
+
+	/**
+	 * Test method for {@link LongIdGenerator#fillIds(long[], int, int)}
+	 */
+	@Test
+	public void testFillIds()
+	{
+		final AtomicLong counter = new AtomicLong(10);
+		final LongIdGenerator idGenerator = counter::getAndIncrement;
+		final long[] ids = new long[5];
+		idGenerator.fillIds(ids, 1, 3);
+		assertTrue(Arrays.equals(new long[] { 0, 10, 11, 12, 0 }, ids));
+		idGenerator.fillIds(ids, 5, 0);
+		assertEquals(13L, idGenerator.getNextId());
+	}
+
+	/**
+	 * Test method for {@link LongIdGenerator#fillIds(long[], int, int)} with a range that is out of
+	 * bounds
+	 */
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void testFillIdsOutOfBounds()
+	{
+		final LongIdGenerator idGenerator = new AtomicLong()::getAndIncrement;
+		idGenerator.fillIds(new long[5], 3, 3);
+	}
+
+	/**
+	 * Test method for {@link LongIdGenerator#nextIds(int)}
+	 */
+	@Test
+	public void testNextIds()
+	{
+		final LongIdGenerator idGenerator = new AtomicLong(10)::getAndIncrement;
+		assertTrue(Arrays.equals(new long[] { 10, 11, 12 }, idGenerator.nextIds(3).toArray()));
+		assertEquals(0L, idGenerator.nextIds(0).count());
+	}
+
+	/**
+	 * Test method for {@link LongIdGenerator#nextIds(int)} with a negative count
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNextIdsNegativeCount()
+	{
+		final LongIdGenerator idGenerator = new AtomicLong()::getAndIncrement;
+		idGenerator.nextIds(-1);
+	}
+
+}
@@ -0,0 +1,189 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link SnowflakeIdGenerator}.
+ */
+public class SnowflakeIdGeneratorTest
+{
+
+	/**
+	 * Test method for {@link SnowflakeIdGenerator#getNextId()}
+	 */
+	@Test
+	public void testGetNextId()
+	{
+		final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(42);
+		long lastId = -1;
+		for (int i = 0; i < 100000; i++)
+		{
+			final long nextId = idGenerator.getNextId();
+			assertTrue(lastId < nextId);
+			assertEquals(42L, idGenerator.getNodeId(nextId));
+			lastId = nextId;
+		}
+	}
+
+	/**
+	 * Test method for {@link SnowflakeIdGenerator#getNextId()} with concurrent threads
+	 *
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting
+	 */
+	@Test
+	public void testGetNextIdConcurrent() throws InterruptedException
+	{
+		final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1);
+		final Set<Long> ids = ConcurrentHashMap.newKeySet();
+		final List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++)
+		{
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < 50000; j++)
+				{
+					ids.add(idGenerator.getNextId());
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (final Thread thread : threads)
+		{
+			thread.join();
+		}
+		assertEquals(200000, ids.size());
+	}
+
+	/**
+	 * Test method for {@link SnowflakeIdGenerator#getNextId()} with a clock that goes backwards and
+	 * an exhausted sequence
+	 */
+	@Test
+	public void testGetNextIdClockRegressionAndSequenceOverflow()
+	{
+		final AtomicLong clock = new AtomicLong(1000);
+		final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(clock::get, 0, 4, 2, 3);
+		final long first = idGenerator.getNextId();
+		assertEquals(1000L, idGenerator.getTimestamp(first));
+		assertEquals(3L, idGenerator.getNodeId(first));
+		assertEquals(0L, idGenerator.getSequence(first));
+		long lastId = first;
+		for (int i = 1; i < 4; i++)
+		{
+			final long nextId = idGenerator.getNextId();
+			assertTrue(lastId < nextId);
+			assertEquals(1000L, idGenerator.getTimestamp(nextId));
+			assertEquals((long)i, idGenerator.getSequence(nextId));
+			lastId = nextId;
+		}
+		// the sequence is exhausted, so the next millisecond is borrowed
+		long nextId = idGenerator.getNextId();
+		assertTrue(lastId < nextId);
+		assertEquals(1001L, idGenerator.getTimestamp(nextId));
+		assertEquals(0L, idGenerator.getSequence(nextId));
+		lastId = nextId;
+		// the clock goes backwards
+		clock.set(900);
+		nextId = idGenerator.getNextId();
+		assertTrue(lastId < nextId);
+		assertEquals(1001L, idGenerator.getTimestamp(nextId));
+		assertEquals(1L, idGenerator.getSequence(nextId));
+		// the clock catches up
+		clock.set(2000);
+		nextId = idGenerator.getNextId();
+		assertEquals(2000L, idGenerator.getTimestamp(nextId));
+		assertEquals(0L, idGenerator.getSequence(nextId));
+	}
+
+	/**
+	 * Test method for {@link SnowflakeIdGenerator#getNextId()} if the timestamp bits are exhausted
+	 */
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testGetNextIdTimestampOverflow()
+	{
+		new SnowflakeIdGenerator(() -> 1L << 32, 0, 20, 12, 0).getNextId();
+	}
+
+	/**
+	 * Test method for {@link SnowflakeIdGenerator} constructor with a node id that does not fit in
+	 * the node bits
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testSnowflakeIdGeneratorInvalidNodeId()
+	{
+		new SnowflakeIdGenerator(1024);
+	}
+
+	/**
+	 * Test method for {@link SnowflakeIdGenerator} constructor with a layout that leaves no bits
+	 * for the timestamp
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testSnowflakeIdGeneratorInvalidLayout()
+	{
+		new SnowflakeIdGenerator(0, 40, 23, 0);
+	}
+
+	/**
+	 * Test method for {@link SnowflakeIdGenerator#fillIds(long[], int, int)} and
+	 * {@link SnowflakeIdGenerator#nextIds(int)}
+	 */
+	@Test
+	public void testFillIds()
+	{
+		final AtomicLong clock = new AtomicLong(1000);
+		final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(clock::get, 0, 4, 2, 3);
+		final long first = idGenerator.getNextId();
+		final long[] ids = new long[8];
+		idGenerator.fillIds(ids, 1, 6);
+		assertEquals(0L, ids[0]);
+		assertEquals(0L, ids[7]);
+		long lastId = first;
+		for (int i = 1; i < 7; i++)
+		{
+			assertTrue(lastId < ids[i]);
+			assertEquals(3L, idGenerator.getNodeId(ids[i]));
+			assertEquals((long)(i % 4), idGenerator.getSequence(ids[i]));
+			assertEquals(1000L + i / 4, idGenerator.getTimestamp(ids[i]));
+			lastId = ids[i];
+		}
+		final long nextId = idGenerator.nextIds(2).skip(1).findFirst().getAsLong();
+		assertEquals(1002L, idGenerator.getTimestamp(nextId));
+		assertEquals(0L, idGenerator.getSequence(nextId));
+		assertTrue(lastId < idGenerator.getNextId());
+	}
+
+}
@@ -24,10 +24,13 @@
  */
 package de.alpharogroup.id.generator;
 
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import org.testng.annotations.Test;
 
@@ -54,4 +57,16 @@ public class SystemTimeIdGeneratorTest
 		}
 	}
 
+	/**
+	 * Test method for {@link SystemTimeIdGenerator#fillIds(long[], int, int)}
+	 */
+	@Test
+	public void testFillIds()
+	{
+		final long[] ids = new long[1000];
+		SystemTimeIdGenerator.getInstance().fillIds(ids, 0, ids.length);
+		assertEquals((long)ids.length, LongStream.of(ids).distinct().count());
+		assertTrue(LongStream.of(ids).allMatch(id -> id >= 0));
+	}
+
 }
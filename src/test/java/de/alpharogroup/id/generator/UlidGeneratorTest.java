@@ -0,0 +1,112 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link UlidGenerator}.
+ */
+public class UlidGeneratorTest
+{
+
+	/**
+	 * Test method for {@link UlidGenerator#getNextIdAsString()}
+	 */
+	@Test
+	public void testGetNextIdAsString()
+	{
+		final UlidGenerator idGenerator = UlidGenerator.getInstance();
+		String last = idGenerator.getNextIdAsString();
+		for (int i = 0; i < 10000; i++)
+		{
+			final String next = idGenerator.getNextIdAsString();
+			assertEquals(UlidGenerator.STRING_LENGTH, next.length());
+			assertTrue(last.compareTo(next) < 0);
+			last = next;
+		}
+	}
+
+	/**
+	 * Test method for {@link UlidGenerator#getNextId()} with a clock that goes backwards
+	 */
+	@Test
+	public void testGetNextIdClockRegression()
+	{
+		final AtomicLong clock = new AtomicLong(1000);
+		final UlidGenerator idGenerator = new UlidGenerator(clock::get);
+		final UUID first = idGenerator.getNextId();
+		assertEquals(1000L, UlidGenerator.getTimestamp(first));
+		clock.set(900);
+		final UUID next = idGenerator.getNextId();
+		assertEquals(1000L, UlidGenerator.getTimestamp(next));
+		assertTrue(first.getMostSignificantBits() < next.getMostSignificantBits());
+	}
+
+	/**
+	 * Test method for {@link UlidGenerator#parse(CharSequence)} and
+	 * {@link UlidGenerator#toString(UUID)}
+	 */
+	@Test
+	public void testParseAndToString()
+	{
+		final UlidGenerator idGenerator = new UlidGenerator(() -> 1469918176385L);
+		final char[] chars = new char[UlidGenerator.STRING_LENGTH];
+		idGenerator.getNextId(chars, 0);
+		final String ulid = new String(chars);
+		assertTrue(ulid.startsWith("01ARYZ6S41"));
+		final UUID uuid = UlidGenerator.parse(ulid);
+		assertEquals(1469918176385L, UlidGenerator.getTimestamp(uuid));
+		assertEquals(ulid, UlidGenerator.toString(uuid));
+		assertEquals(uuid, UlidGenerator.parse(ulid.toLowerCase()));
+		assertEquals(new UUID(-1, -1), UlidGenerator.parse("7ZZZZZZZZZZZZZZZZZZZZZZZZZ"));
+	}
+
+	/**
+	 * Test method for {@link UlidGenerator#parse(CharSequence)} with a value that does not fit in
+	 * 128 bits
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testParseOverflow()
+	{
+		UlidGenerator.parse("8ZZZZZZZZZZZZZZZZZZZZZZZZZ");
+	}
+
+	/**
+	 * Test method for {@link UlidGenerator#parse(CharSequence)} with a string of a wrong length
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testParseInvalidLength()
+	{
+		UlidGenerator.parse("01ARYZ6S41");
+	}
+
+}
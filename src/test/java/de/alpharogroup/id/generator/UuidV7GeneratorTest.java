@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.id.generator;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link UuidV7Generator}.
+ */
+public class UuidV7GeneratorTest
+{
+
+	/**
+	 * Test method for {@link UuidV7Generator#getNextId()}
+	 */
+	@Test
+	public void testGetNextId()
+	{
+		final UuidV7Generator idGenerator = UuidV7Generator.getInstance();
+		UUID last = idGenerator.getNextId();
+		for (int i = 0; i < 10000; i++)
+		{
+			final UUID next = idGenerator.getNextId();
+			assertEquals(7, next.version());
+			assertEquals(2, next.variant());
+			assertTrue(Long.compareUnsigned(last.getMostSignificantBits(),
+				next.getMostSignificantBits()) < 0);
+			last = next;
+		}
+	}
+
+	/**
+	 * Test method for {@link UuidV7Generator#getNextId()} with a clock that goes backwards and an
+	 * exhausted counter
+	 */
+	@Test
+	public void testGetNextIdClockRegressionAndCounterOverflow()
+	{
+		final AtomicLong clock = new AtomicLong(1000);
+		final UuidV7Generator idGenerator = new UuidV7Generator(clock::get);
+		UUID last = idGenerator.getNextId();
+		assertEquals(1000L, UuidV7Generator.getTimestamp(last));
+		for (int i = 1; i < 4097; i++)
+		{
+			final UUID next = idGenerator.getNextId();
+			assertTrue(last.getMostSignificantBits() < next.getMostSignificantBits());
+			last = next;
+		}
+		// the counter is exhausted, so the next millisecond is borrowed
+		assertEquals(1001L, UuidV7Generator.getTimestamp(last));
+		clock.set(900);
+		final UUID next = idGenerator.getNextId();
+		assertEquals(1001L, UuidV7Generator.getTimestamp(next));
+		assertTrue(last.getMostSignificantBits() < next.getMostSignificantBits());
+	}
+
+	/**
+	 * Test method for {@link UuidV7Generator#getNextId(byte[], int)}
+	 */
+	@Test
+	public void testGetNextIdBytes()
+	{
+		final byte[] bytes = new byte[18];
+		new UuidV7Generator(() -> 0x0123456789ABL).getNextId(bytes, 1);
+		assertEquals((byte)0, bytes[0]);
+		assertEquals((byte)0, bytes[17]);
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, 16);
+		final UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+		assertEquals(0x0123456789ABL, UuidV7Generator.getTimestamp(uuid));
+	}
+
+	/**
+	 * Test method for {@link UuidV7Generator#getNextId(char[], int)} and
+	 * {@link UuidV7Generator#getNextIdAsString()}
+	 */
+	@Test
+	public void testGetNextIdChars()
+	{
+		final UuidV7Generator idGenerator = new UuidV7Generator(() -> 0x0123456789ABL);
+		final char[] chars = new char[UuidV7Generator.STRING_LENGTH];
+		idGenerator.getNextId(chars, 0);
+		final String string = new String(chars);
+		final UUID uuid = UUID.fromString(string);
+		assertEquals(string, uuid.toString());
+		assertEquals(7, uuid.version());
+		assertTrue(string.startsWith("01234567-89ab-7"));
+		final String nextString = idGenerator.getNextIdAsString();
+		assertEquals(UuidV7Generator.STRING_LENGTH, nextString.length());
+		assertTrue(string.compareTo(nextString) < 0);
+	}
+
+	/**
+	 * Test method for {@link UuidV7Generator#getNextId(char[], int)} with an array that is too
+	 * small
+	 */
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void testGetNextIdCharsOutOfBounds()
+	{
+		UuidV7Generator.getInstance().getNextId(new char[UuidV7Generator.STRING_LENGTH - 1], 0);
+	}
+
+}
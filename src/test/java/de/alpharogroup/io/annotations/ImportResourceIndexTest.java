@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.io.annotations;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ImportResourceIndex}.
+ */
+public class ImportResourceIndexTest
+{
+
+	/**
+	 * Test method for {@link ImportResourceIndex#read(ClassLoader)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadClassLoader() throws IOException
+	{
+		final ClassLoader classLoader = new ClassLoader(null)
+		{
+		};
+		assertTrue(ImportResourceIndex.read(classLoader).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link ImportResourceIndex#read(ClassLoader)} with an index file that is
+	 * keyed by its classpath root
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadClassLoaderPerRoot() throws IOException
+	{
+		final Path root = Files.createTempDirectory("import-resources");
+		final File indexFile = root.resolve(ImportResourceIndex.INDEX_RESOURCE_NAME).toFile();
+		indexFile.getParentFile().mkdirs();
+		try (OutputStream outputStream = Files.newOutputStream(indexFile.toPath()))
+		{
+			ImportResourceIndex.write(outputStream,
+				Collections.singletonList("de.alpharogroup.io.OtherPage"));
+		}
+		final URL rootUrl = root.toUri().toURL();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { rootUrl }, null))
+		{
+			final Map<String, Set<String>> indexes = ImportResourceIndex.read(classLoader);
+			assertEquals(1, indexes.size());
+			final String rootKey = indexes.keySet().iterator().next();
+			assertTrue(rootUrl.toExternalForm().startsWith(rootKey));
+			assertEquals(Collections.singleton("de.alpharogroup.io.OtherPage"),
+				indexes.get(rootKey));
+		}
+		finally
+		{
+			indexFile.delete();
+			indexFile.getParentFile().delete();
+			indexFile.getParentFile().getParentFile().delete();
+			root.toFile().delete();
+		}
+	}
+
+	/**
+	 * Test method for {@link ImportResourceIndex#read(java.io.Reader)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadReader() throws IOException
+	{
+		final Set<String> classNames = ImportResourceIndex.read(new StringReader(
+			"# comment\n\nde.alpharogroup.io.OtherPage\n  de.alpharogroup.io.annotations.TestPage  \n"));
+		assertEquals(Arrays.asList("de.alpharogroup.io.OtherPage",
+			"de.alpharogroup.io.annotations.TestPage"), Arrays.asList(classNames.toArray()));
+	}
+
+	/**
+	 * Test method for {@link ImportResourceIndex#write(java.io.OutputStream, java.util.Collection)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testWrite() throws IOException
+	{
+		final List<String> expected = Arrays.asList("de.alpharogroup.io.OtherPage",
+			"de.alpharogroup.io.annotations.TestPage", "de.alpharogroup.io.Outer$Inner");
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ImportResourceIndex.write(outputStream, expected);
+		final String content = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+		assertEquals('#', content.charAt(0));
+		final Set<String> actual = ImportResourceIndex
+			.read(new ByteArrayInputStream(outputStream.toByteArray()));
+		assertEquals(expected, Arrays.asList(actual.toArray()));
+	}
+
+}
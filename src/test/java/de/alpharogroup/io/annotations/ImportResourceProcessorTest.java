@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.io.annotations;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ImportResourceProcessor}.
+ */
+public class ImportResourceProcessorTest
+{
+
+	/**
+	 * Test method for {@link ImportResourceProcessor#process(Set, javax.annotation.processing.RoundEnvironment)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testProcess() throws IOException
+	{
+		final File directory = Files.createTempDirectory("import-resource-processor").toFile();
+		try
+		{
+			final File sourceDirectory = new File(directory, "src/foo");
+			final File outputDirectory = new File(directory, "classes");
+			sourceDirectory.mkdirs();
+			outputDirectory.mkdirs();
+			final File pageFile = new File(sourceDirectory, "Page.java");
+			try (Writer writer = Files.newBufferedWriter(pageFile.toPath()))
+			{
+				writer.write("package foo;\n"
+					+ "@de.alpharogroup.io.annotations.ImportResource(index = 1, resourceName = \"Page.js\", resourceType = \"js\")\n"
+					+ "public class Page {}\n");
+			}
+			final File panelFile = new File(sourceDirectory, "Panel.java");
+			try (Writer writer = Files.newBufferedWriter(panelFile.toPath()))
+			{
+				writer.write("package foo;\n"
+					+ "public class Panel {\n"
+					+ "@de.alpharogroup.io.annotations.ImportResources(resources = {})\n"
+					+ "public static class Inner {}\n}\n");
+			}
+			final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+			final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+			try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null,
+				null, null))
+			{
+				final Iterable<? extends JavaFileObject> sources = fileManager
+					.getJavaFileObjects(pageFile, panelFile);
+				final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager,
+					diagnostics, Arrays.asList("-d", outputDirectory.getAbsolutePath(), "-s",
+						sourceDirectory.getParent(), "-classpath",
+						System.getProperty("java.class.path")),
+					null, sources);
+				task.setProcessors(Collections.singletonList(new ImportResourceProcessor()));
+				assertTrue(task.call());
+			}
+			for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics
+				.getDiagnostics())
+			{
+				assertFalse(diagnostic.toString(), diagnostic.getKind() == Diagnostic.Kind.WARNING
+					|| diagnostic.getKind() == Diagnostic.Kind.MANDATORY_WARNING);
+			}
+			final File index = new File(outputDirectory,
+				ImportResourceIndex.INDEX_RESOURCE_NAME);
+			assertTrue(index.exists());
+			try (InputStream inputStream = Files.newInputStream(index.toPath()))
+			{
+				assertEquals(Arrays.asList("foo.Page", "foo.Panel$Inner"),
+					Arrays.asList(ImportResourceIndex.read(inputStream).toArray()));
+			}
+		}
+		finally
+		{
+			FileUtils.deleteDirectory(directory);
+		}
+	}
+
+}
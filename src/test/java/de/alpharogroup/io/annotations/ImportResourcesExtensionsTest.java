@@ -26,12 +26,27 @@ package de.alpharogroup.io.annotations;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
 import org.meanbean.factories.ObjectCreationException;
 import org.meanbean.test.BeanTestException;
 import org.meanbean.test.BeanTester;
@@ -123,6 +138,203 @@ public class ImportResourcesExtensionsTest
 
 	}
 
+	/**
+	 * Compiles the given source files with the {@link ImportResourceProcessor} to the given output
+	 * directory
+	 *
+	 * @param outputDirectory
+	 *            the output directory
+	 * @param sourceFiles
+	 *            the source files
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static void compile(final File outputDirectory, final File... sourceFiles)
+		throws IOException
+	{
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+			null))
+		{
+			final Iterable<? extends JavaFileObject> sources = fileManager
+				.getJavaFileObjects(sourceFiles);
+			final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+				Arrays.asList("-d", outputDirectory.getAbsolutePath(), "-classpath",
+					System.getProperty("java.class.path")),
+				null, sources);
+			task.setProcessors(Collections.singletonList(new ImportResourceProcessor()));
+			assertTrue(task.call());
+		}
+	}
+
+	/**
+	 * Test for method {@link ImportResourcesExtensions#getImportResources(String)} that the cached
+	 * result of a package is not shared between different context class loaders
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test
+	public void testGetImportResourcesPerClassLoader()
+		throws IOException, ClassNotFoundException, URISyntaxException
+	{
+		final File directory = Files.createTempDirectory("import-resources").toFile();
+		final Thread thread = Thread.currentThread();
+		final ClassLoader contextClassLoader = thread.getContextClassLoader();
+		try
+		{
+			final File sourceDirectory = new File(directory, "src/foo");
+			final File outputDirectory = new File(directory, "classes");
+			sourceDirectory.mkdirs();
+			outputDirectory.mkdirs();
+			final File pageFile = new File(sourceDirectory, "Page.java");
+			try (Writer writer = Files.newBufferedWriter(pageFile.toPath()))
+			{
+				writer.write("package foo;\n"
+					+ "@de.alpharogroup.io.annotations.ImportResource(index = 1, resourceName = \"Page.js\", resourceType = \"js\")\n"
+					+ "public class Page {}\n");
+			}
+			compile(outputDirectory, pageFile);
+			final URL[] urls = { outputDirectory.toURI().toURL() };
+			try (URLClassLoader firstClassLoader = new URLClassLoader(urls, contextClassLoader);
+				URLClassLoader secondClassLoader = new URLClassLoader(urls, contextClassLoader))
+			{
+				thread.setContextClassLoader(firstClassLoader);
+				final Map<Class<?>, ImportResource[]> first = ImportResourcesExtensions
+					.getImportResources("foo");
+				assertEquals(Collections.singleton(firstClassLoader.loadClass("foo.Page")),
+					first.keySet());
+
+				thread.setContextClassLoader(secondClassLoader);
+				final Map<Class<?>, ImportResource[]> second = ImportResourcesExtensions
+					.getImportResources("foo");
+				assertEquals(Collections.singleton(secondClassLoader.loadClass("foo.Page")),
+					second.keySet());
+
+				thread.setContextClassLoader(firstClassLoader);
+				assertSame(first, ImportResourcesExtensions.getImportResources("foo"));
+			}
+		}
+		finally
+		{
+			thread.setContextClassLoader(contextClassLoader);
+			ImportResourcesExtensions.invalidateImportResources();
+			FileUtils.deleteDirectory(directory);
+		}
+	}
+
+	/**
+	 * Test for method {@link ImportResourcesExtensions#getImportResources(String)} that the result
+	 * of a package with an index file is the same as the result of the scan
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test
+	public void testGetImportResourcesIndexedAndScanned()
+		throws IOException, ClassNotFoundException, URISyntaxException
+	{
+		final File directory = Files.createTempDirectory("import-resources").toFile();
+		final Thread thread = Thread.currentThread();
+		final ClassLoader contextClassLoader = thread.getContextClassLoader();
+		try
+		{
+			final File sourceDirectory = new File(directory, "src/foo");
+			final File outputDirectory = new File(directory, "classes");
+			sourceDirectory.mkdirs();
+			outputDirectory.mkdirs();
+			final File pageFile = new File(sourceDirectory, "Page.java");
+			try (Writer writer = Files.newBufferedWriter(pageFile.toPath()))
+			{
+				writer.write("package foo;\n"
+					+ "@de.alpharogroup.io.annotations.ImportResource(index = 1, resourceName = \"Page.js\", resourceType = \"js\")\n"
+					+ "public class Page {}\n");
+			}
+			final File panelFile = new File(sourceDirectory, "Panel.java");
+			try (Writer writer = Files.newBufferedWriter(panelFile.toPath()))
+			{
+				writer.write("package foo;\n" + "public class Panel {\n"
+					+ "@de.alpharogroup.io.annotations.ImportResources(resources = {})\n"
+					+ "public static class Inner {}\n}\n");
+			}
+			compile(outputDirectory, pageFile, panelFile);
+			final File index = new File(outputDirectory,
+				ImportResourceIndex.INDEX_RESOURCE_NAME);
+			assertTrue(index.exists());
+			try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { outputDirectory.toURI().toURL() }, contextClassLoader))
+			{
+				thread.setContextClassLoader(classLoader);
+				ImportResourcesExtensions.invalidateImportResources();
+				final Map<Class<?>, ImportResource[]> scanned = ImportResourcesExtensions
+					.scanImportResources("foo");
+				assertEquals(2, scanned.size());
+				assertTrue(scanned.containsKey(classLoader.loadClass("foo.Panel$Inner")));
+
+				final Map<Class<?>, ImportResource[]> indexed = ImportResourcesExtensions
+					.getImportResources("foo");
+				assertEquals(scanned.keySet(), indexed.keySet());
+				for (final Map.Entry<Class<?>, ImportResource[]> entry : scanned.entrySet())
+				{
+					assertTrue(Arrays.equals(entry.getValue(), indexed.get(entry.getKey())));
+				}
+
+				assertTrue(index.delete());
+				ImportResourcesExtensions.invalidateImportResources("foo");
+				assertEquals(scanned.keySet(),
+					ImportResourcesExtensions.getImportResources("foo").keySet());
+			}
+		}
+		finally
+		{
+			thread.setContextClassLoader(contextClassLoader);
+			ImportResourcesExtensions.invalidateImportResources();
+			FileUtils.deleteDirectory(directory);
+		}
+	}
+
+	/**
+	 * Test for method {@link ImportResourcesExtensions#invalidateImportResources(String)}
+	 * 
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test
+	public void testInvalidateImportResources()
+		throws IOException, ClassNotFoundException, URISyntaxException
+	{
+		final Map<Class<?>, ImportResource[]> resources = ImportResourcesExtensions
+			.getImportResources("de.alpharogroup.io");
+		// the second call is served from the cache
+		assertSame(resources, ImportResourcesExtensions.getImportResources("de.alpharogroup.io"));
+
+		ImportResourcesExtensions.invalidateImportResources("de.alpharogroup.io");
+		final Map<Class<?>, ImportResource[]> rescanned = ImportResourcesExtensions
+			.getImportResources("de.alpharogroup.io");
+		assertNotSame(resources, rescanned);
+		assertEquals(resources.keySet(), rescanned.keySet());
+
+		ImportResourcesExtensions.invalidateImportResources();
+		assertNotSame(rescanned, ImportResourcesExtensions.getImportResources("de.alpharogroup.io"));
+	}
+
+	/**
+	 * Test for method {@link ImportResourcesExtensions#scanImportResources(String)}
+	 * 
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test
+	public void testScanImportResources()
+		throws IOException, ClassNotFoundException, URISyntaxException
+	{
+		final Map<Class<?>, ImportResource[]> resources = ImportResourcesExtensions
+			.scanImportResources("de.alpharogroup.io");
+		assertEquals(3, resources.get(TestPage.class).length);
+		assertEquals(1, resources.get(OtherPage.class).length);
+		assertNotSame(resources, ImportResourcesExtensions.scanImportResources("de.alpharogroup.io"));
+	}
+
 	/**
 	 * Test method for {@link ImportResourcesExtensions}
 	 */
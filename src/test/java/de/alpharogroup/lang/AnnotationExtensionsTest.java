@@ -27,16 +27,30 @@ package de.alpharogroup.lang;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
 import static org.testng.AssertJUnit.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import org.meanbean.factories.ObjectCreationException;
 import org.meanbean.test.BeanTestException;
@@ -46,6 +60,8 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import de.alpharogroup.collections.set.SetFactory;
+import de.alpharogroup.lang.scan.ScanOptions;
+import de.alpharogroup.lang.scan.ScanProgress;
 import de.alpharogroup.test.objects.annotations.AnotherTestAnnotation;
 import de.alpharogroup.test.objects.annotations.TestAnnotation;
 import de.alpharogroup.test.objects.annotations.TestFieldAnnotation;
@@ -141,6 +157,123 @@ public class AnnotationExtensionsTest
 			classes.contains(AnnotationExtensionsTest.class));
 	}
 
+	/**
+	 * Test method for
+	 * {@link AnnotationExtensions#getAllAnnotatedClassesByAnnotation(String, Set)}
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test(enabled = true)
+	public void testGetAllAnnotatedClassesByAnnotation()
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		final Set<Class<? extends Annotation>> annotationClasses = SetFactory
+			.newHashSet(TestAnnotation.class, AnotherTestAnnotation.class);
+		final Map<Class<? extends Annotation>, Set<Class<?>>> classesByAnnotation = AnnotationExtensions
+			.getAllAnnotatedClassesByAnnotation("de.alpharogroup.lang", annotationClasses);
+		assertEquals(annotationClasses, classesByAnnotation.keySet());
+		final Set<Class<?>> classes = classesByAnnotation.get(TestAnnotation.class);
+		assertTrue("Size should be 1 but is " + classes.size() + ".", classes.size() == 1);
+		assertTrue("Set should contain class object AnnotationExtensionsTest.class.",
+			classes.contains(AnnotationExtensionsTest.class));
+		assertTrue(classesByAnnotation.get(AnotherTestAnnotation.class).isEmpty());
+	}
+
+	/**
+	 * Test method for
+	 * {@link AnnotationExtensions#getAllAnnotatedClassesAsync(String, Class, Executor, Consumer)}
+	 *
+	 * @throws InterruptedException
+	 *             is thrown if the current thread was interrupted while waiting
+	 * @throws ExecutionException
+	 *             is thrown if the scan failed
+	 */
+	@Test(enabled = true)
+	public void testGetAllAnnotatedClassesAsync() throws InterruptedException, ExecutionException
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try
+		{
+			final List<ScanProgress> reports = new CopyOnWriteArrayList<>();
+			final Set<Class<?>> classes = AnnotationExtensions.getAllAnnotatedClassesAsync(
+				"de.alpharogroup.lang", TestAnnotation.class, executor, reports::add).get();
+			assertTrue("Size should be 1 but is " + classes.size() + ".", classes.size() == 1);
+			assertTrue("Set should contain class object AnnotationExtensionsTest.class.",
+				classes.contains(AnnotationExtensionsTest.class));
+			assertFalse(reports.isEmpty());
+			final ScanProgress progress = reports.get(reports.size() - 1);
+			assertEquals(1L, progress.getClassesMatched());
+			assertTrue(progress.getEntriesVisited() > 1L);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link AnnotationExtensions#getAllAnnotatedClasses(String, Class, ForkJoinPool)}
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test(enabled = true)
+	public void testGetAllAnnotatedClassesWithForkJoinPool()
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+		try
+		{
+			final Set<Class<?>> classes = AnnotationExtensions
+				.getAllAnnotatedClasses("de.alpharogroup.lang", TestAnnotation.class, forkJoinPool);
+			assertTrue("Size should be 1 but is " + classes.size() + ".", classes.size() == 1);
+			assertTrue("Set should contain class object AnnotationExtensionsTest.class.",
+				classes.contains(AnnotationExtensionsTest.class));
+		}
+		finally
+		{
+			forkJoinPool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link AnnotationExtensions#getAllAnnotatedClasses(String, Class, ScanOptions)} with the
+	 * bytecode annotation filter
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test(enabled = true)
+	public void testGetAllAnnotatedClassesWithBytecodeAnnotationFilter()
+		throws ClassNotFoundException, IOException, URISyntaxException
+	{
+		final ScanOptions scanOptions = ScanOptions.builder().bytecodeAnnotationFilter(true)
+			.build();
+		final Set<Class<?>> classes = AnnotationExtensions
+			.getAllAnnotatedClasses("de.alpharogroup.lang", TestAnnotation.class, scanOptions);
+		assertTrue("Size should be 1 but is " + classes.size() + ".", classes.size() == 1);
+		assertTrue("Set should contain class object AnnotationExtensionsTest.class.",
+			classes.contains(AnnotationExtensionsTest.class));
+	}
+
 	/**
 	 * Test get all annotated classes set.
 	 *
@@ -222,13 +355,98 @@ public class AnnotationExtensionsTest
 		// TODO implement unit test...
 	}
 
+	/**
+	 * Test method for {@link AnnotationExtensions#findAnnotation(Class, Class)}.
+	 */
+	@Test(enabled = true)
+	public void testFindAnnotation()
+	{
+		TestAnnotation actual;
+
+		actual = AnnotationExtensions.findAnnotation(SubAnnotatedClass.class,
+			TestAnnotation.class);
+		assertNotNull(actual);
+
+		actual = AnnotationExtensions.findAnnotation(ClassExtendsAnnotatedInterface.class,
+			TestAnnotation.class);
+		assertNotNull(actual);
+
+		actual = AnnotationExtensions.findAnnotation(String.class, TestAnnotation.class);
+		assertNull(actual);
+	}
+
 	/**
 	 * Test method for {@link AnnotationExtensions#getAnnotation(Class, Class)}.
 	 */
-	@Test(enabled = false)
+	@Test(enabled = true)
 	public void testGetAnnotation()
 	{
-		// TODO implement unit test...
+		TestAnnotation expected;
+		TestAnnotation actual;
+
+		expected = AnnotationExtensions.findAnnotation(SubAnnotatedClass.class,
+			TestAnnotation.class);
+		actual = AnnotationExtensions.getAnnotation(SubAnnotatedClass.class, TestAnnotation.class);
+		assertEquals(expected, actual);
+		// the second call is served from the cache
+		assertSame(actual,
+			AnnotationExtensions.getAnnotation(SubAnnotatedClass.class, TestAnnotation.class));
+
+		expected = AnnotationExtensions.findAnnotation(ClassExtendsAnnotatedInterface.class,
+			TestAnnotation.class);
+		actual = AnnotationExtensions.getAnnotation(ClassExtendsAnnotatedInterface.class,
+			TestAnnotation.class);
+		assertEquals(expected, actual);
+		// missing annotations are cached too
+		actual = AnnotationExtensions.getAnnotation(String.class, TestAnnotation.class);
+		assertNull(actual);
+		actual = AnnotationExtensions.getAnnotation(String.class, TestAnnotation.class);
+		assertNull(actual);
+	}
+
+	/**
+	 * Test method for {@link AnnotationExtensions#getAnnotation(Class, Class)} and
+	 * {@link AnnotationExtensions#findAnnotation(Class, Class)} that meta-annotations are found
+	 * transitively. {@link Documented} is only a meta-annotation of {@link Retention}, that is the
+	 * meta-annotation of {@link Marker}.
+	 */
+	@Test(enabled = true)
+	public void testGetAnnotationWithTransitiveMetaAnnotations()
+	{
+		assertNull(Marker.class.getAnnotation(Documented.class));
+		assertNotNull(Retention.class.getAnnotation(Documented.class));
+
+		assertNotNull(AnnotationExtensions.getAnnotation(MarkedClass.class, Retention.class));
+		assertNotNull(AnnotationExtensions.getAnnotation(MarkedClass.class, Documented.class));
+		assertNotNull(AnnotationExtensions.findAnnotation(MarkedClass.class, Documented.class));
+		assertTrue(AnnotationExtensions.getEffectiveAnnotations(MarkedClass.class)
+			.containsKey(Documented.class));
+	}
+
+	/**
+	 * Test method for {@link AnnotationExtensions#getEffectiveAnnotations(Class)}.
+	 */
+	@Test(enabled = true)
+	public void testGetEffectiveAnnotations()
+	{
+		Map<Class<? extends Annotation>, Annotation> actual;
+
+		actual = AnnotationExtensions.getEffectiveAnnotations(SubAnnotatedClass.class);
+		assertTrue(actual.containsKey(TestAnnotation.class));
+		assertEquals(
+			AnnotationExtensions.findAnnotation(SubAnnotatedClass.class, TestAnnotation.class),
+			actual.get(TestAnnotation.class));
+		// the index is built once per class
+		assertSame(actual, AnnotationExtensions.getEffectiveAnnotations(SubAnnotatedClass.class));
+
+		actual = AnnotationExtensions.getEffectiveAnnotations(ClassExtendsAnnotatedInterface.class);
+		assertTrue(actual.containsKey(TestAnnotation.class));
+
+		actual = AnnotationExtensions.getEffectiveAnnotations(String.class);
+		assertFalse(actual.containsKey(TestAnnotation.class));
+		// meta-annotations of the annotation types are contained
+		actual = AnnotationExtensions.getEffectiveAnnotations(TestAnnotation.class);
+		assertTrue(actual.containsKey(Retention.class));
 	}
 
 	/**
@@ -430,4 +648,20 @@ public class AnnotationExtensionsTest
 	}
 	// ======================================================================================== //
 
+	/**
+	 * The annotation {@link Marker} has only the meta-annotation {@link Retention}.
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Marker
+	{
+	}
+
+	/**
+	 * The class {@link MarkedClass} is annotated with {@link Marker}.
+	 */
+	@Marker
+	static class MarkedClass
+	{
+	}
+
 }
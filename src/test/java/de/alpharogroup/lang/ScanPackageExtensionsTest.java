@@ -24,16 +24,37 @@
  */
 package de.alpharogroup.lang;
 
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
 
+import org.apache.commons.io.FileUtils;
 import org.meanbean.factories.ObjectCreationException;
 import org.meanbean.test.BeanTestException;
 import org.meanbean.test.BeanTester;
 import org.testng.annotations.Test;
 
+import de.alpharogroup.collections.set.SetFactory;
+import de.alpharogroup.lang.scan.ClassCandidate;
+import de.alpharogroup.lang.scan.ClassFilter;
+import de.alpharogroup.lang.scan.ClassScanTask;
+import de.alpharogroup.lang.scan.ClassScanTaskTest;
+import de.alpharogroup.lang.scan.ScanListener;
+
 /**
  * The unit test class for the class {@link ScanPackageExtensions}.
  *
@@ -111,6 +132,147 @@ public class ScanPackageExtensionsTest
 
 	}
 
+	/**
+	 * Test method for {@link ScanPackageExtensions#scanClassNames(String, boolean, boolean, List)}
+	 * with a package that is split in the main and the test classes directory.
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution
+	 */
+	@Test
+	public void testScanClassNamesFromAllRoots() throws Exception
+	{
+		final ClassLoader classLoader = ClassExtensions.getClassLoader();
+		final Set<String> list = ScanPackageExtensions.scanClassNames("de.alpharogroup.lang.scan",
+			false, true, Arrays.asList(classLoader, classLoader));
+		assertTrue("Result should contain classes from the main classes directory.",
+			list.contains(ClassScanTask.class.getName()));
+		assertTrue("Result should contain classes from the test classes directory.",
+			list.contains(ClassScanTaskTest.class.getName()));
+	}
+
+	/**
+	 * Test method for {@link ScanPackageExtensions#streamClassNames(String, boolean, boolean)}
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution
+	 */
+	@Test
+	public void testStreamClassNames() throws Exception
+	{
+		final Set<String> expected = ScanPackageExtensions
+			.scanClassNames("de.alpharogroup.lang.scan", true, true);
+		Set<String> actual = ScanPackageExtensions
+			.streamClassNames("de.alpharogroup.lang.scan", true, true)
+			.collect(Collectors.toSet());
+		assertEquals(expected, actual);
+
+		actual = ScanPackageExtensions.streamClassNames("de.alpharogroup.lang.scan", true, true)
+			.parallel().collect(Collectors.toSet());
+		assertEquals(expected, actual);
+
+		assertEquals(2, ScanPackageExtensions
+			.streamClassNames("de.alpharogroup.lang.scan", true, true).limit(2).count());
+	}
+
+	/**
+	 * Test method for {@link ScanPackageExtensions#scanClassCandidates(String, boolean)}
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution
+	 */
+	@Test
+	public void testScanClassCandidates() throws Exception
+	{
+		final Set<String> expected = ScanPackageExtensions
+			.scanClassNames("de.alpharogroup.lang.scan", true, true);
+		final Set<ClassCandidate> candidates = ScanPackageExtensions
+			.scanClassCandidates("de.alpharogroup.lang.scan", true);
+		final Set<String> actual = candidates.stream().map(ClassCandidate::getClassName)
+			.collect(Collectors.toSet());
+		assertEquals(expected, actual);
+		for (final ClassCandidate candidate : candidates)
+		{
+			assertEquals(candidate.getSize(), (long)candidate.getBytes().length);
+		}
+	}
+
+	/**
+	 * Test method for {@link ScanPackageExtensions#scanClassNames(String, boolean, ClassFilter)}
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution
+	 */
+	@Test
+	public void testScanClassNamesWithClassFilter() throws Exception
+	{
+		Set<String> list = ScanPackageExtensions.scanClassNames("de.alpharogroup.lang", true,
+			ClassFilter.classNameMatches("de.alpharogroup.lang.scan.Class*Test"));
+		assertTrue(list.contains(ClassScanTaskTest.class.getName()));
+		assertFalse(list.contains(ClassScanTask.class.getName()));
+		assertFalse(list.contains(ScanPackageExtensionsTest.class.getName()));
+
+		list = ScanPackageExtensions.scanClassNames("de.alpharogroup.lang.scan", true,
+			ClassFilter.excludeInnerClasses()
+				.and(ClassFilter.extendsClass(RecursiveAction.class.getName())));
+		assertEquals(SetFactory.newHashSet(ClassScanTask.class.getName()), list);
+	}
+
+	/**
+	 * Test method for {@link ScanPackageExtensions#scanClassCandidates(String, boolean, ClassFilter, List, ScanListener)}
+	 * and {@link ScanPackageExtensions#scanClassNames(String, boolean, ClassFilter)} with a corrupt
+	 * class file
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution
+	 */
+	@Test
+	public void testScanClassCandidatesWithCorruptClassFile() throws Exception
+	{
+		final Path root = Files.createTempDirectory("corrupt-class-file");
+		final Thread thread = Thread.currentThread();
+		final ClassLoader contextClassLoader = thread.getContextClassLoader();
+		try
+		{
+			final Path packageDirectory = Files.createDirectories(root.resolve("corrupt"));
+			try (InputStream inputStream = ClassScanTask.class
+				.getResourceAsStream("ClassScanTask.class"))
+			{
+				Files.copy(inputStream, packageDirectory.resolve("Valid.class"));
+			}
+			Files.write(packageDirectory.resolve("Corrupt.class"),
+				"no class file".getBytes(StandardCharsets.UTF_8));
+			final List<String> failedClassNames = new ArrayList<>();
+			final ScanListener scanListener = new ScanListener()
+			{
+				@Override
+				public void classLoadFailed(final String className, final Throwable cause)
+				{
+					failedClassNames.add(className);
+				}
+			};
+			try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { root.toUri().toURL() }, null))
+			{
+				final Set<String> actual = ScanPackageExtensions
+					.scanClassCandidates("corrupt", false, ClassFilter.excludeSyntheticClasses(),
+						Collections.singletonList(classLoader), scanListener)
+					.stream().map(ClassCandidate::getClassName).collect(Collectors.toSet());
+				assertEquals(SetFactory.newHashSet("corrupt.Valid"), actual);
+				assertEquals(Collections.singletonList("corrupt.Corrupt"), failedClassNames);
+
+				thread.setContextClassLoader(classLoader);
+				assertEquals(SetFactory.newHashSet("corrupt.Valid"), ScanPackageExtensions
+					.scanClassNames("corrupt", false, ClassFilter.excludeSyntheticClasses()));
+			}
+		}
+		finally
+		{
+			thread.setContextClassLoader(contextClassLoader);
+			FileUtils.deleteDirectory(root.toFile());
+		}
+	}
+
 	/**
 	 * Test method for {@link ScanPackageExtensions}
 	 */
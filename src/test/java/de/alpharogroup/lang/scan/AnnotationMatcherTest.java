@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link AnnotationMatcher}.
+ */
+public class AnnotationMatcherTest
+{
+
+	/**
+	 * Test interface that is annotated with two annotations.
+	 */
+	@Deprecated
+	@FunctionalInterface
+	interface AnnotatedInterface
+	{
+		void run();
+	}
+
+	/**
+	 * Test method for {@link AnnotationMatcher#match(Class)}
+	 */
+	@Test
+	public void testMatchClass()
+	{
+		final List<Class<? extends Annotation>> annotationClasses = Arrays.asList(Deprecated.class,
+			SuppressWarnings.class, FunctionalInterface.class, Deprecated.class);
+		final AnnotationMatcher annotationMatcher = new AnnotationMatcher(annotationClasses);
+		assertEquals(3, annotationMatcher.size());
+		assertEquals(Deprecated.class, annotationMatcher.getAnnotationClass(0));
+		assertEquals(FunctionalInterface.class, annotationMatcher.getAnnotationClass(2));
+
+		BitSet actual = annotationMatcher.match(AnnotatedInterface.class);
+		assertEquals(2, actual.cardinality());
+		assertTrue(actual.get(0));
+		assertFalse(actual.get(1));
+		assertTrue(actual.get(2));
+
+		actual = annotationMatcher.match(Runnable.class);
+		assertEquals(1, actual.cardinality());
+		assertTrue(actual.get(2));
+
+		actual = annotationMatcher.match(String.class);
+		assertTrue(actual.isEmpty());
+	}
+
+	/**
+	 * Test method for {@link AnnotationMatcher#match(ClassFileInfo)}
+	 */
+	@Test
+	public void testMatchClassFileInfo()
+	{
+		final AnnotationMatcher annotationMatcher = new AnnotationMatcher(
+			Arrays.asList(Deprecated.class, FunctionalInterface.class));
+		final ClassFileInfo classFileInfo = ClassFileInfo.builder()
+			.className(AnnotatedInterface.class.getName())
+			.annotationNames(new HashSet<>(Arrays.asList(
+				FunctionalInterface.class.getName(), SuppressWarnings.class.getName())))
+			.build();
+		final BitSet actual = annotationMatcher.match(classFileInfo);
+		assertEquals(1, actual.cardinality());
+		assertTrue(actual.get(1));
+	}
+
+}
@@ -0,0 +1,234 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link AsyncClassScan}.
+ */
+public class AsyncClassScanTest
+{
+
+	/**
+	 * Gets the directory of this package in the test classes directory.
+	 *
+	 * @return the directory of this package
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	private static File getPackageDirectory() throws URISyntaxException
+	{
+		return new File(AsyncClassScanTest.class.getResource("AsyncClassScanTest.class").toURI())
+			.getParentFile();
+	}
+
+	/**
+	 * Test method for {@link AsyncClassScan#start(java.util.concurrent.Callable, String, Executor)}
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 * @throws InterruptedException
+	 *             is thrown if the current thread was interrupted while waiting
+	 * @throws ExecutionException
+	 *             is thrown if the scan failed
+	 */
+	@Test
+	public void testStart() throws URISyntaxException, InterruptedException, ExecutionException
+	{
+		final List<File> roots = Collections.singletonList(getPackageDirectory());
+		final List<ScanProgress> reports = new CopyOnWriteArrayList<>();
+		final AsyncClassScan asyncClassScan = new AsyncClassScan(null,
+			ScanOptions.builder().build(), AsyncClassScanTest.class.getClassLoader(),
+			reports::add);
+		final CompletableFuture<Set<Class<?>>> future = asyncClassScan.start(() -> roots,
+			"de.alpharogroup.lang.scan", Runnable::run);
+		final Set<Class<?>> classes = future.get();
+		assertTrue(classes.contains(AsyncClassScanTest.class));
+
+		final ScanProgress progress = asyncClassScan.getProgress();
+		assertEquals(1L, progress.getRootsScanned());
+		assertEquals((long)classes.size(), progress.getEntriesVisited());
+		assertEquals((long)classes.size(), progress.getClassesMatched());
+		assertEquals(progress, reports.get(reports.size() - 1));
+	}
+
+	/**
+	 * Test method for {@link AsyncClassScan#start(java.util.concurrent.Callable, String, Executor)}
+	 * with roots that contains the same classes, that are counted only once as matched
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 * @throws InterruptedException
+	 *             is thrown if the current thread was interrupted while waiting
+	 * @throws ExecutionException
+	 *             is thrown if the scan failed
+	 */
+	@Test
+	public void testStartWithDuplicateRoots()
+		throws URISyntaxException, InterruptedException, ExecutionException
+	{
+		final File packageDirectory = getPackageDirectory();
+		final List<File> roots = Arrays.asList(packageDirectory, packageDirectory);
+		final AsyncClassScan asyncClassScan = new AsyncClassScan(null,
+			ScanOptions.builder().build(), AsyncClassScanTest.class.getClassLoader(), null);
+		final Set<Class<?>> classes = asyncClassScan
+			.start(() -> roots, "de.alpharogroup.lang.scan", Runnable::run).get();
+
+		final ScanProgress progress = asyncClassScan.getProgress();
+		assertEquals(2L, progress.getRootsScanned());
+		assertEquals(2L * classes.size(), progress.getEntriesVisited());
+		assertEquals((long)classes.size(), progress.getClassesMatched());
+	}
+
+	/**
+	 * Test method for {@link AsyncClassScan#start(java.util.concurrent.Callable, String, Executor)}
+	 * with a root that fails, that stops the scan of the other roots
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 * @throws InterruptedException
+	 *             is thrown if the current thread was interrupted while waiting
+	 */
+	@Test
+	public void testStartWithFailingRoot()
+		throws IOException, URISyntaxException, InterruptedException
+	{
+		final Path failingRoot = Files.createTempDirectory("async-class-scan");
+		try
+		{
+			Files.write(failingRoot.resolve("Missing.class"), new byte[0]);
+			final List<File> roots = Arrays.asList(failingRoot.toFile(), getPackageDirectory());
+			final Queue<Runnable> tasks = new ArrayDeque<>();
+			final AsyncClassScan asyncClassScan = new AsyncClassScan(null,
+				ScanOptions.builder().build(), AsyncClassScanTest.class.getClassLoader(), null);
+			final CompletableFuture<Set<Class<?>>> future = asyncClassScan.start(() -> roots,
+				"missing", tasks::add);
+			// resolves the roots and scans the failing root
+			tasks.poll().run();
+			tasks.poll().run();
+			assertTrue(future.isCompletedExceptionally());
+			while (!tasks.isEmpty())
+			{
+				tasks.poll().run();
+			}
+			assertEquals(new ScanProgress(0, 1, 0), asyncClassScan.getProgress());
+			try
+			{
+				future.get();
+			}
+			catch (final ExecutionException e)
+			{
+				assertTrue(e.getCause() instanceof ClassNotFoundException);
+				return;
+			}
+			throw new AssertionError("ExecutionException expected");
+		}
+		finally
+		{
+			Files.delete(failingRoot.resolve("Missing.class"));
+			Files.delete(failingRoot);
+		}
+	}
+
+	/**
+	 * Test method for {@link AsyncClassScan#start(java.util.concurrent.Callable, String, Executor)}
+	 * with a future that is cancelled before the scan runs
+	 *
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test
+	public void testStartCancelled() throws URISyntaxException
+	{
+		final List<File> roots = Collections.singletonList(getPackageDirectory());
+		final Queue<Runnable> tasks = new ArrayDeque<>();
+		final AsyncClassScan asyncClassScan = new AsyncClassScan(null,
+			ScanOptions.builder().build(), AsyncClassScanTest.class.getClassLoader(), null);
+		final CompletableFuture<Set<Class<?>>> future = asyncClassScan.start(() -> roots,
+			"de.alpharogroup.lang.scan", tasks::add);
+		assertFalse(future.isDone());
+		assertTrue(future.cancel(true));
+		while (!tasks.isEmpty())
+		{
+			tasks.poll().run();
+		}
+		assertTrue(future.isCancelled());
+		assertEquals(new ScanProgress(0, 0, 0), asyncClassScan.getProgress());
+	}
+
+	/**
+	 * Test method for {@link AsyncClassScan#start(java.util.concurrent.Callable, String, Executor)}
+	 * with roots that cannot be resolved
+	 *
+	 * @throws InterruptedException
+	 *             is thrown if the current thread was interrupted while waiting
+	 */
+	@Test
+	public void testStartWithFailingRoots() throws InterruptedException
+	{
+		final FileNotFoundException exception = new FileNotFoundException();
+		final CompletableFuture<Set<Class<?>>> future = new AsyncClassScan(null,
+			ScanOptions.builder().build(), AsyncClassScanTest.class.getClassLoader(), null)
+				.start(() -> {
+					throw exception;
+				}, "de.alpharogroup.lang.scan", Runnable::run);
+		try
+		{
+			future.get();
+		}
+		catch (final ExecutionException e)
+		{
+			assertSame(exception, e.getCause());
+			return;
+		}
+		throw new AssertionError("ExecutionException expected");
+	}
+
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ClassCandidateScanner}.
+ */
+public class ClassCandidateScannerTest
+{
+
+	/**
+	 * Test method for
+	 * {@link ClassCandidateScanner#scanArchive(File, String, boolean, ClassLoader, java.util.function.Consumer)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testScanArchive() throws IOException
+	{
+		final byte[] bytes;
+		try (InputStream inputStream = ClassCandidateScannerTest.class
+			.getResourceAsStream("ClassCandidateScannerTest.class"))
+		{
+			bytes = IOUtils.toByteArray(inputStream);
+		}
+		final File jarFile = Files.createTempFile("class-candidate-scanner", ".jar").toFile();
+		try
+		{
+			try (OutputStream outputStream = Files.newOutputStream(jarFile.toPath());
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream))
+			{
+				for (final String entryName : Arrays.asList("foo/", "foo/Bar.class",
+					"foo/Bar$Inner.class", "foo/sub/Baz.class", "foo.txt",
+					"BOOT-INF/classes/foo/Boot.class", "META-INF/versions/9/foo/Bar.class"))
+				{
+					jarOutputStream.putNextEntry(new JarEntry(entryName));
+					if (entryName.endsWith(".class"))
+					{
+						jarOutputStream.write(bytes);
+					}
+					jarOutputStream.closeEntry();
+				}
+			}
+			final List<ClassCandidate> candidates = new ArrayList<>();
+			ClassCandidateScanner.scanArchive(jarFile, "foo", false, null, candidates::add);
+			assertEquals(2, candidates.size());
+			assertEquals("foo.Bar", candidates.get(0).getClassName());
+			assertEquals("foo.Boot", candidates.get(1).getClassName());
+			assertEquals("BOOT-INF/classes/foo/Boot.class", candidates.get(1).getResourceName());
+			assertEquals((long)bytes.length, candidates.get(0).getSize());
+			assertTrue(Arrays.equals(bytes, candidates.get(1).getBytes()));
+
+			candidates.clear();
+			ClassCandidateScanner.scanArchive(jarFile, "", true, null, candidates::add);
+			assertEquals(3, candidates.size());
+			assertEquals("foo.sub.Baz", candidates.get(1).getClassName());
+		}
+		finally
+		{
+			jarFile.delete();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link ClassCandidateScanner#scanDirectory(File, String, boolean, ClassLoader, java.util.function.Consumer)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	@Test
+	public void testScanDirectory()
+		throws IOException, URISyntaxException, ClassNotFoundException
+	{
+		final File root = new File(ClassCandidateScannerTest.class.getProtectionDomain()
+			.getCodeSource().getLocation().toURI());
+		final List<ClassCandidate> candidates = new ArrayList<>();
+		ClassCandidateScanner.scanDirectory(root, "de.alpharogroup.lang.scan", false,
+			ClassCandidateScannerTest.class.getClassLoader(), candidates::add);
+		ClassCandidate candidate = null;
+		for (final ClassCandidate current : candidates)
+		{
+			if (current.getClassName().equals(ClassCandidateScannerTest.class.getName()))
+			{
+				candidate = current;
+			}
+		}
+		assertEquals(root, candidate.getSourceRoot());
+		assertEquals("de/alpharogroup/lang/scan/ClassCandidateScannerTest.class",
+			candidate.getResourceName());
+		assertEquals(candidate.getSize(), (long)candidate.getBytes().length);
+		assertEquals(ClassCandidateScannerTest.class, candidate.load());
+	}
+
+}
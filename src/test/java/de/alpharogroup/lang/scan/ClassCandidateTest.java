@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.io.IOException;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ClassCandidate}.
+ */
+public class ClassCandidateTest
+{
+
+	/**
+	 * Test method for {@link ClassCandidate#of(String, ClassLoader)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	@Test
+	public void testOf() throws IOException, ClassNotFoundException
+	{
+		final ClassCandidate candidate = ClassCandidate.of(ClassFileInfo.class.getName(),
+			ClassCandidateTest.class.getClassLoader());
+		assertEquals("de.alpharogroup.lang.scan", candidate.getPackageName());
+		assertEquals("ClassFileInfo", candidate.getSimpleName());
+		assertEquals("de/alpharogroup/lang/scan/ClassFileInfo.class",
+			candidate.getResourceName());
+		assertEquals(-1L, candidate.getSize());
+		assertNull(candidate.getSourceRoot());
+
+		final byte[] bytes = candidate.getBytes();
+		// the bytes are read only once
+		assertSame(bytes, candidate.getBytes());
+		assertEquals(ClassFileInfo.class.getName(),
+			candidate.getClassFileInfo().getClassName());
+		assertSame(ClassFileInfo.class, candidate.load());
+		assertSame(ClassFileInfo.class, candidate.load(true));
+	}
+
+	/**
+	 * Test method for {@link ClassCandidate#getBytes()} with a class that does not exist
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test(expectedExceptions = IOException.class)
+	public void testGetBytesOfMissingClass() throws IOException
+	{
+		ClassCandidate.of("de.alpharogroup.lang.scan.Missing",
+			ClassCandidateTest.class.getClassLoader()).getBytes();
+	}
+
+}
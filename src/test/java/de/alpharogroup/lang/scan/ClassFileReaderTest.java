@@ -0,0 +1,127 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import de.alpharogroup.lang.AnnotationExtensionsTest;
+import de.alpharogroup.test.objects.annotations.TestAnnotation;
+
+/**
+ * The unit test class for the class {@link ClassFileReader}.
+ */
+public class ClassFileReaderTest
+{
+
+	/**
+	 * Reads the bytes of the class file from the given class.
+	 *
+	 * @param clazz
+	 *            the class
+	 * @return the bytes of the class file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static byte[] getClassFileBytes(final Class<?> clazz) throws IOException
+	{
+		try (InputStream inputStream = clazz
+			.getResourceAsStream(clazz.getSimpleName() + ".class"))
+		{
+			return IOUtils.toByteArray(inputStream);
+		}
+	}
+
+	/**
+	 * Test method for {@link ClassFileReader#read(byte[])}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRead() throws IOException
+	{
+		ClassFileInfo classFileInfo = ClassFileReader
+			.read(getClassFileBytes(AnnotationExtensionsTest.class));
+		assertEquals(AnnotationExtensionsTest.class.getName(), classFileInfo.getClassName());
+		assertEquals(Object.class.getName(), classFileInfo.getSuperClassName());
+		assertTrue(classFileInfo.isAnnotationPresent(TestAnnotation.class.getName()));
+
+		classFileInfo = ClassFileReader.read(getClassFileBytes(ClassFileReaderTest.class));
+		assertEquals(ClassFileReaderTest.class.getName(), classFileInfo.getClassName());
+		assertFalse(classFileInfo.isAnnotationPresent(TestAnnotation.class.getName()));
+		assertTrue(classFileInfo.getAnnotationNames().isEmpty());
+
+		classFileInfo = ClassFileReader.read(getClassFileBytes(Object.class));
+		assertNull(classFileInfo.getSuperClassName());
+	}
+
+	/**
+	 * Test method for {@link ClassFileReader#read(byte[])} with bytes that are not a class file
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testReadInvalidBytes()
+	{
+		ClassFileReader.read(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+	}
+
+
+	/**
+	 * Test method for {@link ClassFileReader#read(byte[])} with a malformed annotation descriptor
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testReadMalformedAnnotationDescriptor() throws IOException
+	{
+		final byte[] bytes = getClassFileBytes(AnnotationExtensionsTest.class);
+		final byte[] descriptor = ("L" + TestAnnotation.class.getName().replace('.', '/') + ";")
+			.getBytes(StandardCharsets.UTF_8);
+		int index = -1;
+		for (int i = 0; i <= bytes.length - descriptor.length && index < 0; i++)
+		{
+			if (Arrays.equals(descriptor, Arrays.copyOfRange(bytes, i, i + descriptor.length)))
+			{
+				index = i;
+			}
+		}
+		assertTrue(index >= 0);
+		// replace the leading 'L' of the descriptor, so it is no object type descriptor
+		bytes[index] = 'X';
+		ClassFileReader.read(bytes);
+	}
+
+}
@@ -0,0 +1,163 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ClassFileWalker}.
+ */
+public class ClassFileWalkerTest
+{
+
+	/** The package directory of the package a. */
+	private Path packageDirectory;
+
+	/** The temporary root directory. */
+	private Path root;
+
+	/**
+	 * Sets up method will be invoked before every unit test method in this class. Creates the
+	 * package directories a, a.b and a.b.c with a class file in each one, a text file in the
+	 * package a, the directory other with a class file and in the package a.b a symbolic link to
+	 * the package a and in the package a a symbolic link to the directory other.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@BeforeMethod
+	protected void setUp() throws IOException
+	{
+		root = Files.createTempDirectory("class-file-walker");
+		packageDirectory = Files.createDirectories(root.resolve("a"));
+		final Path subPackageDirectory = Files.createDirectories(packageDirectory.resolve("b"));
+		final Path subSubPackageDirectory = Files
+			.createDirectories(subPackageDirectory.resolve("c"));
+		final Path otherDirectory = Files.createDirectories(root.resolve("other"));
+		Files.createFile(packageDirectory.resolve("A.class"));
+		Files.createFile(packageDirectory.resolve("readme.txt"));
+		Files.createFile(subPackageDirectory.resolve("B.class"));
+		Files.createFile(subSubPackageDirectory.resolve("C.class"));
+		Files.createFile(otherDirectory.resolve("O.class"));
+		Files.createSymbolicLink(subPackageDirectory.resolve("loop"), packageDirectory);
+		Files.createSymbolicLink(packageDirectory.resolve("link"), otherDirectory);
+	}
+
+	/**
+	 * Tear down method will be invoked after every unit test method in this class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@AfterMethod
+	protected void tearDown() throws IOException
+	{
+		try (Stream<Path> paths = Files.walk(root))
+		{
+			for (final Path path : paths.sorted(Comparator.reverseOrder())
+				.collect(Collectors.toList()))
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link ClassFileWalker#walk(Path, String, ClassFileWalker.ClassFileVisitor)}
+	 */
+	@Test
+	public void testWalk()
+	{
+		final Set<String> actual = new HashSet<>();
+		ClassFileWalker.of(true).walk(packageDirectory, "a", (packageName, file, attributes) -> {
+			assertTrue(attributes.isRegularFile());
+			assertEquals(0L, attributes.size());
+			actual.add(ClassFileWalker.getQualifiedClassName(packageName, file));
+		});
+		// the symbolic link loop a.b.loop is skipped
+		assertEquals(new HashSet<>(Arrays.asList("a.A", "a.b.B", "a.b.c.C", "a.link.O")), actual);
+	}
+
+	/**
+	 * Test method for {@link ClassFileWalker#getClassNames(Path, String)}
+	 */
+	@Test
+	public void testGetClassNames()
+	{
+		List<String> actual = ClassFileWalker.of(false).getClassNames(packageDirectory, "a");
+		assertEquals(Arrays.asList("a.A"), actual);
+
+		actual = ClassFileWalker.builder().maxDepth(2).build().getClassNames(packageDirectory,
+			"a");
+		assertEquals(new HashSet<>(Arrays.asList("a.A", "a.b.B", "a.link.O")),
+			new HashSet<>(actual));
+
+		actual = ClassFileWalker.builder().skipPackage(packageName -> packageName.equals("a.b"))
+			.build().getClassNames(packageDirectory, "a");
+		assertEquals(new HashSet<>(Arrays.asList("a.A", "a.link.O")), new HashSet<>(actual));
+
+		actual = ClassFileWalker.builder().followLinks(false).build()
+			.getClassNames(packageDirectory, "a");
+		assertEquals(new HashSet<>(Arrays.asList("a.A", "a.b.B", "a.b.c.C")),
+			new HashSet<>(actual));
+
+		actual = ClassFileWalker.of(true).getClassNames(root, "");
+		assertTrue(actual.contains("other.O"));
+		assertTrue(actual.contains("a.b.c.C"));
+
+		actual = ClassFileWalker.of(true).getClassNames(root.resolve("missing"), "missing");
+		assertTrue(actual.isEmpty());
+	}
+
+	/**
+	 * Test method for {@link ClassFileWalker#getSimpleClassName(Path)} and
+	 * {@link ClassFileWalker#getQualifiedClassName(String, Path)}
+	 */
+	@Test
+	public void testGetClassName()
+	{
+		final Path file = packageDirectory.resolve("A.class");
+		assertEquals("A", ClassFileWalker.getSimpleClassName(file));
+		assertEquals("a.A", ClassFileWalker.getQualifiedClassName("a", file));
+		assertEquals("A", ClassFileWalker.getQualifiedClassName("", file));
+	}
+
+}
@@ -0,0 +1,197 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ClassFilter}.
+ */
+public class ClassFilterTest
+{
+
+	/**
+	 * Creates a new {@link ClassFileInfo} with the given values.
+	 *
+	 * @param className
+	 *            the qualified class name
+	 * @param accessFlags
+	 *            the access flags
+	 * @param superClassName
+	 *            the qualified name of the super class
+	 * @param interfaceName
+	 *            the qualified name of the implemented interface
+	 * @return the new {@link ClassFileInfo}
+	 */
+	private static ClassFileInfo newClassFileInfo(final String className, final int accessFlags,
+		final String superClassName, final String interfaceName)
+	{
+		return ClassFileInfo.builder().className(className).accessFlags(accessFlags)
+			.superClassName(superClassName)
+			.interfaceNames(Collections.singletonList(interfaceName))
+			.annotationNames(Collections.emptySet()).build();
+	}
+
+	/**
+	 * Test method for {@link ClassFilter#classNameMatches(String)}
+	 */
+	@Test
+	public void testClassNameMatches()
+	{
+		ClassFilter classFilter = ClassFilter.classNameMatches("de.alpharogroup.*.*Test");
+		assertFalse(classFilter.isBytecodeRequired());
+		assertTrue(classFilter.acceptClassName("de.alpharogroup.lang.ClassFilterTest"));
+		assertFalse(classFilter.acceptClassName("de.alpharogroup.lang.scan.ClassFilterTest"));
+		assertFalse(classFilter.acceptClassName("de.alpharogroup.lang.ClassFilter"));
+
+		classFilter = ClassFilter.classNameMatches("de.alpharogroup.**.*Test");
+		assertTrue(classFilter.acceptClassName("de.alpharogroup.lang.scan.ClassFilterTest"));
+
+		classFilter = ClassFilter.classNameMatches("de.?.A$B");
+		assertTrue(classFilter.acceptClassName("de.x.A$B"));
+		assertFalse(classFilter.acceptClassName("de.xy.A$B"));
+		assertFalse(classFilter.acceptClassName("de.x.AB"));
+	}
+
+	/**
+	 * Test method for {@link ClassFilter#classNameMatchesRegex(String)}
+	 */
+	@Test
+	public void testClassNameMatchesRegex()
+	{
+		final ClassFilter classFilter = ClassFilter.classNameMatchesRegex(".*\\.[A-Z]+");
+		assertTrue(classFilter.acceptClassName("de.alpharogroup.ABC"));
+		assertFalse(classFilter.acceptClassName("de.alpharogroup.Abc"));
+	}
+
+	/**
+	 * Test method for {@link ClassFilter#excludeInnerClasses()} and
+	 * {@link ClassFilter#inPackage(String)}
+	 */
+	@Test
+	public void testClassNameFilters()
+	{
+		assertTrue(ClassFilter.excludeInnerClasses().acceptClassName("de.A"));
+		assertFalse(ClassFilter.excludeInnerClasses().acceptClassName("de.A$1"));
+
+		final ClassFilter classFilter = ClassFilter.inPackage("de.alpharogroup");
+		assertTrue(classFilter.acceptClassName("de.alpharogroup.A"));
+		assertTrue(classFilter.acceptClassName("de.alpharogroup.lang.A"));
+		assertFalse(classFilter.acceptClassName("de.alpharogroupx.A"));
+		assertTrue(ClassFilter.inPackage("").acceptClassName("A"));
+		assertTrue(ClassFilter.all().acceptClassName("A"));
+	}
+
+	/**
+	 * Test method for the bytecode filters {@link ClassFilter#extendsClass(String)},
+	 * {@link ClassFilter#implementsInterface(String)}, {@link ClassFilter#withModifiers(int)} and
+	 * {@link ClassFilter#excludeSyntheticClasses()}
+	 */
+	@Test
+	public void testBytecodeFilters()
+	{
+		final ClassFileInfo info = newClassFileInfo("de.A", Modifier.PUBLIC | Modifier.ABSTRACT,
+			"de.Base", Serializable.class.getName());
+		final ClassFilter classFilter = ClassFilter.extendsClass("de.Base");
+		assertTrue(classFilter.isBytecodeRequired());
+		assertTrue(classFilter.acceptClassName("de.A"));
+		assertTrue(classFilter.accept(info));
+		assertFalse(ClassFilter.extendsClass("java.lang.Object").accept(info));
+		assertTrue(ClassFilter.implementsInterface(Serializable.class.getName()).accept(info));
+		assertFalse(ClassFilter.implementsInterface(Runnable.class.getName()).accept(info));
+		assertTrue(ClassFilter.withModifiers(Modifier.PUBLIC | Modifier.ABSTRACT).accept(info));
+		assertFalse(ClassFilter.withModifiers(Modifier.FINAL).accept(info));
+		assertTrue(ClassFilter.excludeSyntheticClasses().accept(info));
+		assertFalse(ClassFilter.excludeSyntheticClasses()
+			.accept(newClassFileInfo("de.A$1", 0x1000, "java.lang.Object", "de.I")));
+	}
+
+	/**
+	 * Test method for {@link ClassFilter#and(ClassFilter)}, {@link ClassFilter#or(ClassFilter)}
+	 * and {@link ClassFilter#negate()}
+	 */
+	@Test
+	public void testComposition()
+	{
+		final ClassFileInfo info = newClassFileInfo("de.A", Modifier.PUBLIC, "de.Base",
+			"de.I");
+		final ClassFilter inDe = ClassFilter.inPackage("de");
+		final ClassFilter extendsBase = ClassFilter.extendsClass("de.Base");
+
+		ClassFilter classFilter = inDe.and(extendsBase);
+		assertTrue(classFilter.isBytecodeRequired());
+		assertFalse(classFilter.acceptClassName("org.A"));
+		assertTrue(classFilter.acceptClassName("de.A"));
+		assertTrue(classFilter.accept(info));
+
+		classFilter = ClassFilter.inPackage("org").or(extendsBase);
+		assertTrue(classFilter.acceptClassName("de.A"));
+		assertTrue(classFilter.accept(info));
+		assertFalse(ClassFilter.inPackage("org").or(ClassFilter.extendsClass("de.Other"))
+			.accept(info));
+
+		classFilter = inDe.negate();
+		assertFalse(classFilter.isBytecodeRequired());
+		assertFalse(classFilter.acceptClassName("de.A"));
+		assertTrue(classFilter.acceptClassName("org.A"));
+
+		// the class names of a negated bytecode filter cannot be rejected
+		classFilter = inDe.and(extendsBase).negate();
+		assertTrue(classFilter.acceptClassName("de.A"));
+		assertTrue(classFilter.acceptClassName("org.A"));
+		assertFalse(classFilter.accept(info));
+	}
+
+	/**
+	 * Test method for {@link ClassFilter#accept(ClassCandidate)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testAcceptClassCandidate() throws IOException
+	{
+		final ClassLoader classLoader = ClassFilterTest.class.getClassLoader();
+		final ClassCandidate candidate = ClassCandidate.of(ClassFilterTest.class.getName(),
+			classLoader);
+		assertTrue(ClassFilter.extendsClass(Object.class.getName()).accept(candidate));
+		assertFalse(ClassFilter.withModifiers(Modifier.FINAL).accept(candidate));
+
+		// the class file of a missing class is not read, because its name is rejected before
+		final ClassCandidate missing = ClassCandidate.of("de.alpharogroup.lang.scan.Missing",
+			classLoader);
+		assertFalse(ClassFilter.excludeInnerClasses().negate()
+			.and(ClassFilter.extendsClass(Object.class.getName())).accept(missing));
+	}
+
+}
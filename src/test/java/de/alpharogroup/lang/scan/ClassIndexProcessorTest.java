@@ -0,0 +1,260 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import de.alpharogroup.lang.ScanPackageExtensions;
+
+/**
+ * The unit test class for the class {@link ClassIndexProcessor}.
+ */
+public class ClassIndexProcessorTest
+{
+
+	/**
+	 * Compiles the given source files with the {@link ClassIndexProcessor}.
+	 *
+	 * @param outputDirectory
+	 *            the output directory
+	 * @param sourceFiles
+	 *            the source files
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static void compile(final File outputDirectory, final File... sourceFiles)
+		throws IOException
+	{
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+			null))
+		{
+			final Iterable<? extends JavaFileObject> sources = fileManager
+				.getJavaFileObjects(sourceFiles);
+			final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+				Arrays.asList("-d", outputDirectory.getAbsolutePath(), "-classpath",
+					outputDirectory.getAbsolutePath()),
+				null, sources);
+			task.setProcessors(Collections.singletonList(new ClassIndexProcessor()));
+			assertTrue(task.call());
+		}
+	}
+
+	/**
+	 * Writes the files of the given directory in the given jar file.
+	 *
+	 * @param directory
+	 *            the directory
+	 * @param jarFile
+	 *            the jar file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static void jar(final File directory, final File jarFile) throws IOException
+	{
+		final Path root = directory.toPath();
+		try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile.toPath()));
+			Stream<Path> paths = Files.walk(root))
+		{
+			for (final Path path : (Iterable<Path>)paths.sorted()::iterator)
+			{
+				if (path.equals(root))
+				{
+					continue;
+				}
+				final String name = root.relativize(path).toString().replace(File.separatorChar,
+					'/');
+				if (Files.isDirectory(path))
+				{
+					out.putNextEntry(new JarEntry(name + '/'));
+				}
+				else
+				{
+					out.putNextEntry(new JarEntry(name));
+					Files.copy(path, out);
+				}
+				out.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * Scans the class names of the given package recursive in the given classpath root.
+	 *
+	 * @param root
+	 *            the directory or jar file of the classpath root
+	 * @param packageName
+	 *            the package name
+	 * @return the class names
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static Set<String> scanClassNames(final File root, final String packageName)
+		throws IOException
+	{
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toURI().toURL() },
+			null))
+		{
+			return ScanPackageExtensions.scanClassNames(packageName, true, true,
+				Collections.singletonList(classLoader));
+		}
+	}
+
+	/**
+	 * Writes the given source to the given file.
+	 *
+	 * @param file
+	 *            the file
+	 * @param source
+	 *            the source
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static void write(final File file, final String source) throws IOException
+	{
+		try (Writer writer = Files.newBufferedWriter(file.toPath()))
+		{
+			writer.write(source);
+		}
+	}
+
+	/**
+	 * Test method for {@link ClassIndexProcessor#process(Set, javax.annotation.processing.RoundEnvironment)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testProcess() throws IOException
+	{
+		final File directory = Files.createTempDirectory("class-index-processor").toFile();
+		try
+		{
+			final File sourceDirectory = new File(directory, "src");
+			final File outputDirectory = new File(directory, "classes");
+			sourceDirectory.mkdirs();
+			outputDirectory.mkdirs();
+			final File fooFile = new File(sourceDirectory, "Foo.java");
+			write(fooFile, "package foo;\npublic class Foo { public static class Inner {} }\n");
+			final File barFile = new File(sourceDirectory, "Bar.java");
+			write(barFile, "package foo.bar;\ninterface Bar {}\n");
+			compile(outputDirectory, fooFile, barFile);
+
+			final File index = new File(outputDirectory, ClassIndex.INDEX_RESOURCE_NAME);
+			assertTrue(index.exists());
+			try (InputStream inputStream = Files.newInputStream(index.toPath()))
+			{
+				assertEquals(Arrays.asList("foo.Foo", "foo.Foo$Inner", "foo.bar.Bar"), Arrays.asList(
+					ClassIndex.read(inputStream).getClassNames("foo", true, true).toArray()));
+			}
+
+			// an incremental compilation keeps the classes of the previous index
+			final File bazFile = new File(sourceDirectory, "Baz.java");
+			write(bazFile, "package foo;\npublic class Baz {}\n");
+			compile(outputDirectory, bazFile);
+			try (InputStream inputStream = Files.newInputStream(index.toPath()))
+			{
+				assertEquals(
+					Arrays.asList("foo.Baz", "foo.Foo", "foo.Foo$Inner", "foo.bar.Bar"),
+					Arrays.asList(ClassIndex.read(inputStream).getClassNames("foo", true, true)
+						.toArray()));
+			}
+		}
+		finally
+		{
+			FileUtils.deleteDirectory(directory);
+		}
+	}
+
+
+	/**
+	 * Test method for {@link ClassIndexProcessor} that the scanned class names of a directory and
+	 * of a jar file are the same with and without the index
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testScanClassNamesWithAndWithoutIndex() throws IOException
+	{
+		final File directory = Files.createTempDirectory("class-index-processor").toFile();
+		try
+		{
+			final File sourceDirectory = new File(directory, "src");
+			final File outputDirectory = new File(directory, "classes");
+			sourceDirectory.mkdirs();
+			outputDirectory.mkdirs();
+			final File fooFile = new File(sourceDirectory, "Foo.java");
+			write(fooFile, "package foo;\npublic class Foo { public static class Inner "
+				+ "{ interface Member {} } enum Kind {} }\n");
+			compile(outputDirectory, fooFile);
+			final File indexedJar = new File(directory, "indexed.jar");
+			jar(outputDirectory, indexedJar);
+
+			final Set<String> indexedClassNames = scanClassNames(outputDirectory, "foo");
+			final Set<String> indexedJarClassNames = scanClassNames(indexedJar, "foo");
+			final File index = new File(outputDirectory, ClassIndex.INDEX_RESOURCE_NAME);
+			assertTrue(index.delete());
+			final File jar = new File(directory, "plain.jar");
+			jar(outputDirectory, jar);
+
+			final Set<String> scannedClassNames = scanClassNames(outputDirectory, "foo");
+			assertEquals(new HashSet<>(Arrays.asList("foo.Foo", "foo.Foo$Inner",
+				"foo.Foo$Inner$Member", "foo.Foo$Kind")), scannedClassNames);
+			assertEquals(scannedClassNames, indexedClassNames);
+			assertEquals(scanClassNames(jar, "foo"), indexedJarClassNames);
+		}
+		finally
+		{
+			FileUtils.deleteDirectory(directory);
+		}
+	}
+
+}
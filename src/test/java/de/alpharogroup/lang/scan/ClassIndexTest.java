@@ -0,0 +1,125 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ClassIndex}.
+ */
+public class ClassIndexTest
+{
+
+	/**
+	 * Factory method for create a new {@link ClassIndex} with some classes.
+	 *
+	 * @return the new {@link ClassIndex}
+	 */
+	private static ClassIndex newClassIndex()
+	{
+		final ClassIndex classIndex = new ClassIndex();
+		classIndex.add("foo.Bar");
+		classIndex.add("foo.Baz");
+		classIndex.add("foo.sub.Qux");
+		classIndex.add("foobar.Other");
+		classIndex.add("Main");
+		return classIndex;
+	}
+
+	/**
+	 * Test method for {@link ClassIndex#getClassNames(String, boolean, boolean)}
+	 */
+	@Test
+	public void testGetClassNames()
+	{
+		final ClassIndex classIndex = newClassIndex();
+		assertEquals(Arrays.asList("foo.Bar", "foo.Baz"),
+			Arrays.asList(classIndex.getClassNames("foo", false, true).toArray()));
+		assertEquals(Arrays.asList("foo.Bar", "foo.Baz", "foo.sub.Qux"),
+			Arrays.asList(classIndex.getClassNames("foo", true, true).toArray()));
+		assertEquals(Arrays.asList("Bar", "Baz", "Qux"),
+			Arrays.asList(classIndex.getClassNames("foo", true, false).toArray()));
+		assertEquals(Collections.singletonList("Main"),
+			Arrays.asList(classIndex.getClassNames("", false, true).toArray()));
+		assertEquals(5, classIndex.getClassNames("", true, true).size());
+		assertTrue(classIndex.getClassNames("bar", true, true).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link ClassIndex#getRootKey(URL, String)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetRootKey() throws IOException
+	{
+		final String expected = "jar:file:/tmp/foo.jar!";
+		assertEquals(expected, ClassIndex.getRootKey(
+			new URL("jar:file:/tmp/foo.jar!/" + ClassIndex.INDEX_RESOURCE_NAME),
+			ClassIndex.INDEX_RESOURCE_NAME));
+		assertEquals(expected, ClassIndex.getRootKey(new URL("jar:file:/tmp/foo.jar!/foo/sub/"),
+			"foo/sub"));
+		assertEquals("file:/tmp/classes",
+			ClassIndex.getRootKey(new URL("file:/tmp/classes/foo/sub"), "foo/sub"));
+		assertNull(ClassIndex.getRootKey(new URL("file:/tmp/classes/foo"), "bar"));
+	}
+
+	/**
+	 * Test method for {@link ClassIndex#write(java.io.OutputStream)} and
+	 * {@link ClassIndex#read(java.io.InputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException
+	{
+		final ClassIndex expected = newClassIndex();
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		expected.write(outputStream);
+		final List<String> lines = Arrays
+			.asList(new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n"));
+		assertTrue(lines.contains("foo=Bar,Baz"));
+		assertTrue(lines.contains("=Main"));
+		final ClassIndex actual = ClassIndex
+			.read(new ByteArrayInputStream(outputStream.toByteArray()));
+		assertEquals(expected.getPackages(), actual.getPackages());
+	}
+
+}
@@ -0,0 +1,156 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ClassNameSpliterator}.
+ */
+public class ClassNameSpliteratorTest
+{
+
+	/** The temporary directory for the test. */
+	private File directory;
+
+	/** The jar file for the test. */
+	private File jarFile;
+
+	/**
+	 * Sets up method will be invoked before every unit test method in this class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@BeforeMethod
+	protected void setUp() throws IOException
+	{
+		directory = Files.createTempDirectory("class-name-spliterator").toFile();
+		final File packageDirectory = new File(directory, "de/alpharogroup");
+		new File(packageDirectory, "sub").mkdirs();
+		new File(packageDirectory, "Foo.class").createNewFile();
+		new File(packageDirectory, "Bar.class").createNewFile();
+		new File(packageDirectory, "sub/Baz.class").createNewFile();
+		new File(packageDirectory, "foo.properties").createNewFile();
+
+		jarFile = new File(directory, "test.jar");
+		try (OutputStream outputStream = Files.newOutputStream(jarFile.toPath());
+			JarOutputStream jarOutputStream = new JarOutputStream(outputStream))
+		{
+			for (final String entryName : Arrays.asList("de/alpharogroup/Jar.class",
+				"de/alpharogroup/Jar$1.class", "de/alpharogroup/sub/SubJar.class",
+				"de/alpharogroupx/Other.class"))
+			{
+				jarOutputStream.putNextEntry(new JarEntry(entryName));
+				jarOutputStream.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * Tear down method will be invoked after every unit test method in this class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@AfterMethod
+	protected void tearDown() throws IOException
+	{
+		FileUtils.deleteDirectory(directory);
+	}
+
+	/**
+	 * Collects the class names of a new {@link ClassNameSpliterator} with the test directory and
+	 * jar file.
+	 *
+	 * @param recursive
+	 *            the recursive flag
+	 * @param qualifiedClassnames
+	 *            the flag if the class names should be qualified class names
+	 * @param parallel
+	 *            the flag if the stream should be parallel
+	 * @return the class names
+	 */
+	private Set<String> collect(final boolean recursive, final boolean qualifiedClassnames,
+		final boolean parallel)
+	{
+		final ClassNameSpliterator spliterator = new ClassNameSpliterator(recursive,
+			qualifiedClassnames)
+				.addDirectory(new File(directory, "de/alpharogroup"), "de.alpharogroup")
+				.addArchive(jarFile, "de.alpharogroup");
+		return StreamSupport.stream(spliterator, parallel).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Test method for {@link ClassNameSpliterator#tryAdvance(java.util.function.Consumer)}
+	 */
+	@Test
+	public void testTryAdvance()
+	{
+		Set<String> expected;
+		Set<String> actual;
+
+		actual = collect(false, true, false);
+		expected = new HashSet<>(Arrays.asList("de.alpharogroup.Foo", "de.alpharogroup.Bar",
+			"de.alpharogroup.Jar"));
+		assertEquals(expected, actual);
+
+		actual = collect(true, true, false);
+		expected = new HashSet<>(Arrays.asList("de.alpharogroup.Foo", "de.alpharogroup.Bar",
+			"de.alpharogroup.sub.Baz", "de.alpharogroup.Jar", "de.alpharogroup.sub.SubJar"));
+		assertEquals(expected, actual);
+
+		actual = collect(true, false, false);
+		expected = new HashSet<>(Arrays.asList("Foo", "Bar", "Baz", "Jar", "SubJar"));
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link ClassNameSpliterator#trySplit()}
+	 */
+	@Test
+	public void testTrySplit()
+	{
+		assertEquals(collect(true, true, false), collect(true, true, true));
+	}
+
+}
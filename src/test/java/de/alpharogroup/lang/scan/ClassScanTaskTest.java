@@ -0,0 +1,158 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import de.alpharogroup.collections.set.SetFactory;
+import de.alpharogroup.lang.ClassExtensions;
+import de.alpharogroup.lang.thread.ThreadDataBean;
+import de.alpharogroup.lang.thread.ThreadExtensions;
+import de.alpharogroup.test.objects.annotations.TestAnnotation;
+
+/**
+ * The unit test class for the class {@link ClassScanTask}.
+ */
+public class ClassScanTaskTest
+{
+
+	/**
+	 * Test method for {@link ClassScanTask#compute()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws URISyntaxException
+	 *             is thrown if a string could not be parsed as a URI reference.
+	 */
+	@Test
+	public void testCompute() throws IOException, URISyntaxException
+	{
+		final String packagePath = "de.alpharogroup.lang.thread";
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+		try
+		{
+			Set<Class<?>> foundClasses = ConcurrentHashMap.newKeySet();
+			for (final File directory : ClassExtensions.getDirectoriesFromResources(packagePath,
+				true))
+			{
+				forkJoinPool.invoke(new ClassScanTask(directory, packagePath, null,
+					ClassExtensions.getClassLoader(), foundClasses));
+			}
+			assertTrue(foundClasses.contains(ThreadExtensions.class));
+			assertTrue(foundClasses.contains(ThreadDataBean.class));
+
+			final Set<Class<? extends Annotation>> annotationClasses = SetFactory
+				.newHashSet(TestAnnotation.class);
+			foundClasses = ConcurrentHashMap.newKeySet();
+			for (final File directory : ClassExtensions.getDirectoriesFromResources(packagePath,
+				true))
+			{
+				forkJoinPool.invoke(new ClassScanTask(directory, packagePath, annotationClasses,
+					ClassExtensions.getClassLoader(), foundClasses));
+			}
+			assertFalse(foundClasses.contains(ThreadExtensions.class));
+			assertTrue(foundClasses.isEmpty());
+		}
+		finally
+		{
+			forkJoinPool.shutdown();
+		}
+	}
+
+
+	/**
+	 * Test method for {@link ClassScanTask#compute()} with a symbolic link to a parent directory
+	 * and a maximum depth
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testComputeWithSymbolicLinkCycle() throws IOException
+	{
+		final Path root = Files.createTempDirectory("class-scan-task");
+		try
+		{
+			final String packagePath = "de.alpharogroup.lang.scan";
+			final Path directory = root.resolve(packagePath.replace('.', '/'));
+			Files.createDirectories(directory.resolve("sub"));
+			try (InputStream inputStream = ScanIndex.class
+				.getResourceAsStream("ScanIndex.class"))
+			{
+				Files.copy(inputStream, directory.resolve("ScanIndex.class"));
+			}
+			// a class in the sub directory that cannot be loaded with this package name
+			try (InputStream inputStream = ScanIndex.class
+				.getResourceAsStream("ScanIndex.class"))
+			{
+				Files.copy(inputStream, directory.resolve("sub/ScanIndex.class"));
+			}
+			try
+			{
+				Files.createSymbolicLink(directory.resolve("loop"), Paths.get(".."));
+			}
+			catch (final UnsupportedOperationException | IOException e)
+			{
+				throw new SkipException("Symbolic links are not supported: " + e);
+			}
+			final ScanOptions scanOptions = ScanOptions.builder().maxDepth(1).build();
+			Set<Class<?>> foundClasses = ConcurrentHashMap.newKeySet();
+			ForkJoinPool.commonPool().invoke(new ClassScanTask(directory.toFile(), packagePath,
+				null, scanOptions, ClassExtensions.getClassLoader(), foundClasses));
+			assertEquals(Collections.singleton(ScanIndex.class), foundClasses);
+
+			// the link cycle is skipped
+			Files.delete(directory.resolve("sub/ScanIndex.class"));
+			foundClasses = ConcurrentHashMap.newKeySet();
+			ForkJoinPool.commonPool().invoke(new ClassScanTask(directory.toFile(), packagePath,
+				null, ClassExtensions.getClassLoader(), foundClasses));
+			assertEquals(Collections.singleton(ScanIndex.class), foundClasses);
+		}
+		finally
+		{
+			FileUtils.deleteDirectory(root.toFile());
+		}
+	}
+
+}
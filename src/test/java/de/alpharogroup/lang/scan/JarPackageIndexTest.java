@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link JarPackageIndex}.
+ */
+public class JarPackageIndexTest
+{
+
+	/** The entry names of the test jar. */
+	private static final String[] ENTRY_NAMES = { "de/alpharogroup/Foo.class",
+			"de/alpharogroup/Foo$1.class", "de/alpharogroup/foo.properties",
+			"de/alpharogroup/lang/Bar.class", "de/alpharogroup/lang/sub/Baz.class",
+			"de/alpharogroup/language/Other.class" };
+
+	/** The index for the tests. */
+	private JarPackageIndex index;
+
+	/**
+	 * Sets up method will be invoked before every unit test method in this class.
+	 */
+	@BeforeMethod
+	protected void setUp()
+	{
+		index = new JarPackageIndex();
+		for (final String entryName : ENTRY_NAMES)
+		{
+			index.add(entryName);
+		}
+	}
+
+	/**
+	 * Test method for {@link JarPackageIndex#getClassNames(String, boolean, boolean)}
+	 */
+	@Test
+	public void testGetClassNames()
+	{
+		Set<String> expected;
+		Set<String> actual;
+
+		actual = index.getClassNames("de.alpharogroup", false, true);
+		expected = new LinkedHashSet<>(Arrays.asList("de.alpharogroup.Foo"));
+		assertEquals(expected, actual);
+
+		actual = index.getClassNames("de.alpharogroup.lang", false, true);
+		expected = new LinkedHashSet<>(Arrays.asList("de.alpharogroup.lang.Bar"));
+		assertEquals(expected, actual);
+
+		actual = index.getClassNames("de.alpharogroup.lang", true, true);
+		expected = new LinkedHashSet<>(
+			Arrays.asList("de.alpharogroup.lang.Bar", "de.alpharogroup.lang.sub.Baz"));
+		assertEquals(expected, actual);
+
+		actual = index.getClassNames("de.alpharogroup.lang", true, false);
+		expected = new LinkedHashSet<>(Arrays.asList("Bar", "Baz"));
+		assertEquals(expected, actual);
+
+		actual = index.getClassNames("de.alpharogroup.unknown", true, true);
+		assertTrue(actual.isEmpty());
+	}
+
+	/**
+	 * Test method for {@link JarPackageIndex#getClassNames(String, boolean, boolean, ScanListener)}
+	 * that the visited class files are reported and not the found class names
+	 */
+	@Test
+	public void testGetClassNamesReportsEntriesVisited()
+	{
+		ScanMetrics scanMetrics = new ScanMetrics();
+		index.getClassNames("de.alpharogroup", false, true, scanMetrics);
+		assertEquals(2L, scanMetrics.getReport().getEntriesVisited());
+
+		scanMetrics = new ScanMetrics();
+		index.getClassNames("de.alpharogroup", true, true, scanMetrics);
+		assertEquals(5L, scanMetrics.getReport().getEntriesVisited());
+
+		scanMetrics = new ScanMetrics();
+		index.getClassNames("de.alpharogroup.unknown", true, true, scanMetrics);
+		assertEquals(0L, scanMetrics.getReport().getEntriesVisited());
+	}
+
+	/**
+	 * Test method for {@link JarPackageIndex#add(CharSequence)} with the class root prefix of a
+	 * spring boot jar
+	 */
+	@Test
+	public void testAddWithClassRootPrefix()
+	{
+		index.add("BOOT-INF/classes/de/alpharogroup/boot/Application.class");
+		index.add("BOOT-INF/lib/");
+		final Set<String> actual = index.getClassNames("de.alpharogroup.boot", false, true);
+		final Set<String> expected = new LinkedHashSet<>(
+			Arrays.asList("de.alpharogroup.boot.Application"));
+		assertEquals(expected, actual);
+		assertTrue(index.getClassNames("BOOT-INF", true, true).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link JarPackageIndex#of(File)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testOf() throws IOException
+	{
+		final File jarFile = Files.createTempFile("jar-package-index", ".jar").toFile();
+		try
+		{
+			try (OutputStream outputStream = Files.newOutputStream(jarFile.toPath());
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream))
+			{
+				for (final String entryName : ENTRY_NAMES)
+				{
+					jarOutputStream.putNextEntry(new JarEntry(entryName));
+					jarOutputStream.closeEntry();
+				}
+			}
+			final JarPackageIndex jarPackageIndex = JarPackageIndex.of(jarFile);
+			assertEquals(index.getClassNames("de.alpharogroup", true, true),
+				jarPackageIndex.getClassNames("de.alpharogroup", true, true));
+		}
+		finally
+		{
+			jarFile.delete();
+		}
+	}
+
+}
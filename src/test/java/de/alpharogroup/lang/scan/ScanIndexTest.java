@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import de.alpharogroup.collections.set.SetFactory;
+
+/**
+ * The unit test class for the class {@link ScanIndex}.
+ */
+public class ScanIndexTest
+{
+
+	/** The temporary directory for the test. */
+	private File directory;
+
+	/**
+	 * Sets up method will be invoked before every unit test method in this class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@BeforeMethod
+	protected void setUp() throws IOException
+	{
+		directory = Files.createTempDirectory("scan-index").toFile();
+	}
+
+	/**
+	 * Tear down method will be invoked after every unit test method in this class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@AfterMethod
+	protected void tearDown() throws IOException
+	{
+		FileUtils.deleteDirectory(directory);
+	}
+
+	/**
+	 * Test method for {@link ScanIndex#ScanIndex(File)} with a corrupt or truncated index file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testLoadCorrupt() throws IOException
+	{
+		final File packageDirectory = new File(directory, "classes");
+		packageDirectory.mkdirs();
+		final File indexFile = new File(directory, ScanIndex.DEFAULT_FILE_NAME);
+		final String key = ScanIndex.newKey(packageDirectory, "de.alpharogroup", true, true);
+		final ScanIndex scanIndex = new ScanIndex(indexFile);
+		scanIndex.put(key, Collections.singletonList(packageDirectory),
+			SetFactory.newHashSet("de.alpharogroup.Foo", "de.alpharogroup.Bar"));
+		scanIndex.store();
+		final byte[] bytes = Files.readAllBytes(indexFile.toPath());
+		assertNotNull(new ScanIndex(indexFile).get(key));
+
+		// truncated file
+		Files.write(indexFile.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+		assertNull(new ScanIndex(indexFile).get(key));
+
+		// negative and huge entries count
+		for (final int count : new int[] { -1, Integer.MAX_VALUE })
+		{
+			final byte[] corrupt = bytes.clone();
+			ByteBuffer.wrap(corrupt).putInt(8, count);
+			Files.write(indexFile.toPath(), corrupt);
+			assertNull(new ScanIndex(indexFile).get(key));
+		}
+
+		// string length that exceeds the file
+		final byte[] corrupt = bytes.clone();
+		ByteBuffer.wrap(corrupt).putShort(12, (short)0xFFFF);
+		Files.write(indexFile.toPath(), corrupt);
+		assertNull(new ScanIndex(indexFile).get(key));
+	}
+
+	/**
+	 * Test method for {@link ScanIndex#get(String)}, {@link ScanIndex#put(String, List, Set)} and
+	 * {@link ScanIndex#store()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testPutStoreAndGet() throws IOException
+	{
+		final File packageDirectory = new File(directory, "classes");
+		packageDirectory.mkdirs();
+		packageDirectory.setLastModified(1000000L);
+		final File indexFile = new File(directory, ScanIndex.DEFAULT_FILE_NAME);
+		final String key = ScanIndex.newKey(packageDirectory, "de.alpharogroup", true, true);
+		final Set<String> classNames = new LinkedHashSet<>(
+			Arrays.asList("de.alpharogroup.Foo", "de.alpharogroup.Bar"));
+
+		ScanIndex scanIndex = new ScanIndex(indexFile);
+		assertNull(scanIndex.get(key));
+		scanIndex.put(key, Collections.singletonList(packageDirectory), classNames);
+		assertEquals(classNames, scanIndex.get(key));
+		scanIndex.store();
+
+		scanIndex = new ScanIndex(indexFile);
+		assertNotNull(scanIndex.get(key));
+		assertEquals(classNames, scanIndex.get(key));
+		// a changed directory invalidates the entry
+		packageDirectory.setLastModified(2000000L);
+		assertNull(scanIndex.get(key));
+	}
+
+	/**
+	 * Test method for {@link ScanIndex#invalidate()}
+	 */
+	@Test
+	public void testInvalidate()
+	{
+		final ScanIndex scanIndex = new ScanIndex(new File(directory, ScanIndex.DEFAULT_FILE_NAME));
+		final String key = ScanIndex.newKey(directory, "de.alpharogroup", false, true);
+		scanIndex.put(key, Collections.singletonList(directory),
+			SetFactory.newHashSet("de.alpharogroup.Foo"));
+		assertNotNull(scanIndex.get(key));
+		scanIndex.invalidate();
+		assertNull(scanIndex.get(key));
+	}
+
+}
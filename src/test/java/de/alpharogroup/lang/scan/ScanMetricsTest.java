@@ -0,0 +1,122 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ScanMetrics}.
+ */
+public class ScanMetricsTest
+{
+
+	/**
+	 * Test method for {@link ScanMetrics#getReport()}
+	 */
+	@Test
+	public void testGetReport()
+	{
+		final ScanMetrics scanMetrics = new ScanMetrics();
+		ScanReport report = scanMetrics.getReport();
+		assertEquals(0L, report.getEntriesVisited());
+		assertTrue(report.getRootNanos().isEmpty());
+		assertTrue(report.getCacheHitsByCache().isEmpty());
+
+		scanMetrics.bytesRead(100, 10);
+		scanMetrics.bytesRead(50, 5);
+		scanMetrics.cacheHit(ScanListener.CLASS_INDEX);
+		scanMetrics.cacheMiss(ScanListener.SCAN_INDEX);
+		scanMetrics.cacheMiss(ScanListener.SCAN_INDEX);
+		scanMetrics.classLoaded("foo.Bar", 7);
+		scanMetrics.classLoadFailed("foo.Baz", new ClassNotFoundException("foo.Baz"));
+		scanMetrics.entriesVisited(3);
+		scanMetrics.entriesVisited(4);
+		scanMetrics.rootScanned("/classes", 20);
+		scanMetrics.rootScanned("/classes", 22);
+		scanMetrics.rootScanned("/lib/foo.jar", 30);
+
+		report = scanMetrics.getReport();
+		assertEquals(150L, report.getBytesRead());
+		assertEquals(15L, report.getIoNanos());
+		assertEquals(1L, report.getCacheHits());
+		assertEquals(2L, report.getCacheMisses());
+		assertEquals(Collections.singletonMap(ScanListener.CLASS_INDEX, 1L),
+			report.getCacheHitsByCache());
+		assertEquals(Collections.singletonMap(ScanListener.SCAN_INDEX, 2L),
+			report.getCacheMissesByCache());
+		assertEquals(1L, report.getClassesLoaded());
+		assertEquals(7L, report.getLoadNanos());
+		assertEquals(1L, report.getClassLoadFailures());
+		assertEquals(7L, report.getEntriesVisited());
+		assertEquals(2, report.getRootNanos().size());
+		assertEquals(Long.valueOf(42), report.getRootNanos().get("/classes"));
+		assertEquals(Long.valueOf(30), report.getRootNanos().get("/lib/foo.jar"));
+	}
+
+	/**
+	 * Test method for {@link ScanMetrics#getReport()} that the root timings of the report are not
+	 * modifiable
+	 */
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testGetReportRootNanosUnmodifiable()
+	{
+		final ScanMetrics scanMetrics = new ScanMetrics();
+		scanMetrics.rootScanned("/classes", 1);
+		final Map<String, Long> rootNanos = scanMetrics.getReport().getRootNanos();
+		rootNanos.put("/other", 2L);
+	}
+
+	/**
+	 * Test method for {@link ScanOptions#loadClass(String, ClassLoader)} with a {@link ScanMetrics}
+	 * as {@link ScanListener}
+	 */
+	@Test
+	public void testLoadClassReportsToScanMetrics()
+	{
+		final ScanMetrics scanMetrics = new ScanMetrics();
+		final ScanOptions scanOptions = ScanOptions.builder().scanListener(scanMetrics).build();
+		final ClassLoader classLoader = ScanMetricsTest.class.getClassLoader();
+		try
+		{
+			scanOptions.loadClass(ScanMetrics.class.getName(), classLoader);
+			scanOptions.loadClass("de.alpharogroup.lang.scan.NotExisting", classLoader);
+		}
+		catch (final ClassNotFoundException e)
+		{
+			final ScanReport report = scanMetrics.getReport();
+			assertEquals(1L, report.getClassesLoaded());
+			assertEquals(1L, report.getClassLoadFailures());
+			return;
+		}
+		throw new AssertionError("ClassNotFoundException expected");
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ScanOptions}.
+ */
+public class ScanOptionsTest
+{
+
+	/** The flag that is set from the static initializer of {@link InitializedClass}. */
+	static volatile boolean initialized;
+
+	/**
+	 * The class {@link InitializedClass} sets the flag {@link ScanOptionsTest#initialized} in its
+	 * static initializer.
+	 */
+	static class InitializedClass
+	{
+		static
+		{
+			initialized = true;
+		}
+	}
+
+	/**
+	 * The class {@link FailingClass} throws an exception in its static initializer.
+	 */
+	static class FailingClass
+	{
+		static
+		{
+			if (true)
+			{
+				throw new IllegalStateException("static initializer failed");
+			}
+		}
+	}
+
+	/**
+	 * Test method for the default values of {@link ScanOptions}
+	 */
+	@Test
+	public void testDefaults()
+	{
+		final ScanOptions scanOptions = ScanOptions.builder().build();
+		assertFalse(scanOptions.isInitializeClasses());
+		assertFalse(scanOptions.isBytecodeAnnotationFilter());
+		assertSame(ForkJoinPool.commonPool(), scanOptions.getForkJoinPool());
+		assertTrue(scanOptions.isFollowLinks());
+		assertEquals(Integer.MAX_VALUE, scanOptions.getMaxDepth());
+		assertTrue(scanOptions.toBuilder().initializeClasses(true).build().isInitializeClasses());
+	}
+
+	/**
+	 * Test method for {@link ScanOptions#loadClass(String, ClassLoader)}
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	@Test
+	public void testLoadClass() throws ClassNotFoundException
+	{
+		final ClassLoader classLoader = ScanOptionsTest.class.getClassLoader();
+		final String className = InitializedClass.class.getName();
+		Class<?> loaded = ScanOptions.builder().build().loadClass(className, classLoader);
+		assertEquals(className, loaded.getName());
+		assertFalse(initialized);
+		loaded = ScanOptions.builder().initializeClasses(true).build().loadClass(className,
+			classLoader);
+		assertEquals(className, loaded.getName());
+		assertTrue(initialized);
+	}
+
+	/**
+	 * Test method for {@link ScanOptions#loadClass(String, ClassLoader)} with a class that has a
+	 * failing static initializer
+	 *
+	 * @throws ClassNotFoundException
+	 *             occurs if a given class cannot be located by the specified class loader
+	 */
+	@Test
+	public void testLoadClassWithFailingInitializer() throws ClassNotFoundException
+	{
+		final ClassLoader classLoader = ScanOptionsTest.class.getClassLoader();
+		final String className = ScanOptionsTest.class.getName() + "$FailingClass";
+		assertEquals(className,
+			ScanOptions.builder().build().loadClass(className, classLoader).getName());
+		try
+		{
+			ScanOptions.builder().initializeClasses(true).build().loadClass(className,
+				classLoader);
+		}
+		catch (final ExceptionInInitializerError e)
+		{
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			return;
+		}
+		throw new AssertionError("ExceptionInInitializerError expected");
+	}
+
+}
@@ -0,0 +1,139 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.alpharogroup.lang.scan;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipException;
+
+import org.testng.annotations.Test;
+
+/**
+ * The unit test class for the class {@link ZipCentralDirectoryReader}.
+ */
+public class ZipCentralDirectoryReaderTest
+{
+
+	/**
+	 * Test method for {@link ZipCentralDirectoryReader#readEntryNames(File, Consumer)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadEntryNames() throws IOException
+	{
+		final List<String> expected = Arrays.asList("de/", "de/alpharogroup/",
+			"de/alpharogroup/Foo.class", "de/alpharogroup/Umlautä.class");
+		final File jarFile = Files.createTempFile("zip-central-directory", ".jar").toFile();
+		try
+		{
+			try (OutputStream outputStream = Files.newOutputStream(jarFile.toPath());
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream))
+			{
+				jarOutputStream.setComment("some comment");
+				for (final String entryName : expected)
+				{
+					jarOutputStream.putNextEntry(new JarEntry(entryName));
+					jarOutputStream.closeEntry();
+				}
+			}
+			final List<String> actual = new ArrayList<>();
+			ZipCentralDirectoryReader.readEntryNames(jarFile,
+				entryName -> actual.add(entryName.toString()));
+			assertEquals(expected, actual);
+		}
+		finally
+		{
+			jarFile.delete();
+		}
+	}
+
+	/**
+	 * Test method for {@link ZipCentralDirectoryReader#getUncompressedSize()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testGetUncompressedSize() throws IOException
+	{
+		final byte[] content = new byte[1000];
+		final File jarFile = Files.createTempFile("zip-central-directory", ".jar").toFile();
+		try
+		{
+			try (OutputStream outputStream = Files.newOutputStream(jarFile.toPath());
+				JarOutputStream jarOutputStream = new JarOutputStream(outputStream))
+			{
+				jarOutputStream.putNextEntry(new JarEntry("de/alpharogroup/Foo.class"));
+				jarOutputStream.write(content);
+				jarOutputStream.closeEntry();
+			}
+			final ZipCentralDirectoryReader reader = ZipCentralDirectoryReader.open(jarFile);
+			assertEquals(-1L, reader.getUncompressedSize());
+			assertTrue(reader.next());
+			assertEquals((long)content.length, reader.getUncompressedSize());
+		}
+		finally
+		{
+			jarFile.delete();
+		}
+	}
+
+	/**
+	 * Test method for {@link ZipCentralDirectoryReader#readEntryNames(File, Consumer)}
+	 * with a file that is not a zip file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test(expectedExceptions = ZipException.class)
+	public void testReadEntryNamesFromInvalidFile() throws IOException
+	{
+		final File file = Files.createTempFile("zip-central-directory", ".txt").toFile();
+		try
+		{
+			Files.write(file.toPath(), "no zip file content".getBytes("UTF-8"));
+			ZipCentralDirectoryReader.readEntryNames(file, entryName -> {
+			});
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+
+}